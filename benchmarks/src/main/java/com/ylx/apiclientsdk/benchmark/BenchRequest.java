@@ -0,0 +1,20 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.annotation.ApiRequest;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+/**
+ * 标注了@ApiRequest的请求，参数由编译期生成的BenchRequestParamsWriter写入
+ *
+ * @author ylx
+ */
+@ApiRequest(path = "/bench", method = RequestMethodEnum.GET)
+public class BenchRequest extends BaseRequest<BenchParams, ResultResponse> {
+
+    @Override
+    public Class<ResultResponse> getResponseClass() {
+        return ResultResponse.class;
+    }
+}
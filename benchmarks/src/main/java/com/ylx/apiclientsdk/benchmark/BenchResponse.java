@@ -0,0 +1,56 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.annotation.TypedResponse;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+import java.util.List;
+
+/**
+ * 按字段绑定的响应类，用于与Map模式的解析对比
+ *
+ * @author ylx
+ */
+@TypedResponse
+public class BenchResponse extends ResultResponse {
+    private int code;
+    private String message;
+    private List<Item> items;
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * 响应中的数组元素
+     */
+    public static class Item {
+        private long id;
+        private String name;
+        private double score;
+        private boolean active;
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.google.gson.JsonParser;
+import com.ylx.apiclientsdk.codec.MsgPackCodec;
+import com.ylx.apiclientsdk.codec.ResponseDecoder;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应解析的基准测试，对应BaseService.res中从响应流解析响应对象的步骤
+ * map为未标注@TypedResponse的Map模式，typed为按字段绑定；msgpack前缀的方法解析内容相同的MessagePack响应体
+ *
+ * @author ylx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private byte[] body;
+    private byte[] msgpackBody;
+
+    @Setup
+    public void setup() {
+        body = Payloads.responseBody(size);
+        msgpackBody = MsgPackCodec.encode(JsonParser.parseString(new String(body, StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public ResultResponse map() throws Exception {
+        return ResponseDecoder.decode(ResultResponse.class,
+                new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public BenchResponse typed() throws Exception {
+        return ResponseDecoder.decode(BenchResponse.class,
+                new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public ResultResponse msgpackMap() throws Exception {
+        return MsgPackCodec.INSTANCE.decode(ResultResponse.class, new ByteArrayInputStream(msgpackBody));
+    }
+
+    @Benchmark
+    public BenchResponse msgpackTyped() throws Exception {
+        return MsgPackCodec.INSTANCE.decode(BenchResponse.class, new ByteArrayInputStream(msgpackBody));
+    }
+}
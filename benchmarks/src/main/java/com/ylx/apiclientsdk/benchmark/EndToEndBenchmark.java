@@ -0,0 +1,80 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import com.ylx.apiclientsdk.service.impl.ApiServiceImpl;
+import com.ylx.apiclientsdk.transport.PooledTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端基准测试：参数转换、签名、URL拼接、经连接池发送到进程内网关桩（校验签名）并解析响应
+ *
+ * @author ylx
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private StubGateway gateway;
+    private PooledTransport transport;
+    private ApiServiceImpl service;
+    private BenchParams[] params;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        StubGatewayConfig gatewayConfig = new StubGatewayConfig().credential("benchAccessKey", "benchSecretKey");
+        gatewayConfig.setResponseBody(Payloads.responseBody(size));
+        gateway = new StubGateway(gatewayConfig);
+        transport = new PooledTransport();
+        service = new ApiServiceImpl();
+        service.setGatewayHost(gateway.getHost());
+        service.setApiClient(new ApiClient("benchAccessKey", "benchSecretKey"));
+        service.setTransport(transport);
+        params = new BenchParams[Payloads.VARIANTS];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = Payloads.params(size, i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        transport.close();
+        gateway.close();
+    }
+
+    /**
+     * 每个线程独立的参数下标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+    }
+
+    @Benchmark
+    public ResultResponse request(Cursor cursor) throws Exception {
+        BenchRequest request = new BenchRequest();
+        request.setRequestParams(params[cursor.index++ & (Payloads.VARIANTS - 1)]);
+        return service.request(request);
+    }
+}
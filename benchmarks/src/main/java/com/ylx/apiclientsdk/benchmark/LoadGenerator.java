@@ -0,0 +1,185 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.codec.CodecConfig;
+import com.ylx.apiclientsdk.codec.CodecNegotiator;
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.metrics.LatencyHistogram;
+import com.ylx.apiclientsdk.model.enums.CodecTypeEnum;
+import com.ylx.apiclientsdk.model.request.IpInfoRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import com.ylx.apiclientsdk.resilience.RetryConfig;
+import com.ylx.apiclientsdk.resilience.RetryingTransport;
+import com.ylx.apiclientsdk.resilience.RouteGuardConfig;
+import com.ylx.apiclientsdk.resilience.RouteGuards;
+import com.ylx.apiclientsdk.service.impl.ApiServiceImpl;
+import com.ylx.apiclientsdk.transport.Http2Transport;
+import com.ylx.apiclientsdk.transport.PoolConfig;
+import com.ylx.apiclientsdk.transport.PooledTransport;
+import com.ylx.apiclientsdk.transport.Transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 负载生成器
+ *
+ * 启动进程内的网关桩，由N个并发调用方持续通过ApiServiceImpl调用/ipInfo，预热结束后开始统计，
+ * 输出吞吐量、p50/p99/p999耗时、各类失败次数以及网关桩侧的签名校验结果。
+ *
+ * 用法：java -cp target/benchmarks.jar com.ylx.apiclientsdk.benchmark.LoadGenerator [--参数=值 ...]
+ * <ul>
+ *     <li>--concurrency 并发调用方个数，默认16</li>
+ *     <li>--duration 统计时长（秒），默认10</li>
+ *     <li>--warmup 预热时长（秒），默认2</li>
+ *     <li>--latency / --jitter 网关桩的固定延迟与随机延迟上限（毫秒），默认0</li>
+ *     <li>--errorRate 网关桩注入错误的比例，默认0</li>
+ *     <li>--errorStatus 注入错误的状态码，默认503</li>
+ *     <li>--items 响应中items数组的元素个数，默认1</li>
+ *     <li>--transport 传输实现（pooled/http2），默认pooled</li>
+ *     <li>--retry 是否启用重试层，默认false</li>
+ *     <li>--routeGuard 是否启用路由级并发限制与熔断，默认false</li>
+ *     <li>--codec 客户端首选的报文编码（json/msgpack），默认json</li>
+ *     <li>--stubMsgpack 网关桩是否支持MessagePack，默认true</li>
+ * </ul>
+ *
+ * @author ylx
+ */
+public class LoadGenerator {
+    private static final String ACCESS_KEY = "loadAccessKey";
+    private static final String SECRET_KEY = "loadSecretKey";
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "10")));
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "2")));
+
+        StubGatewayConfig gatewayConfig = new StubGatewayConfig().credential(ACCESS_KEY, SECRET_KEY);
+        gatewayConfig.setLatency(Long.parseLong(options.getOrDefault("latency", "0")));
+        gatewayConfig.setLatencyJitter(Long.parseLong(options.getOrDefault("jitter", "0")));
+        gatewayConfig.setErrorRate(Double.parseDouble(options.getOrDefault("errorRate", "0")));
+        gatewayConfig.setErrorStatus(Integer.parseInt(options.getOrDefault("errorStatus", "503")));
+        gatewayConfig.setItemCount(Integer.parseInt(options.getOrDefault("items", "1")));
+        gatewayConfig.setMsgpack(Boolean.parseBoolean(options.getOrDefault("stubMsgpack", "true")));
+
+        try (StubGateway gateway = new StubGateway(gatewayConfig)) {
+            Transport base;
+            if ("http2".equalsIgnoreCase(options.getOrDefault("transport", "pooled"))) {
+                base = new Http2Transport();
+            } else {
+                PoolConfig poolConfig = new PoolConfig();
+                poolConfig.setMaxTotal(Math.max(poolConfig.getMaxTotal(), concurrency));
+                poolConfig.setMaxPerRoute(Math.max(poolConfig.getMaxPerRoute(), concurrency));
+                base = new PooledTransport(poolConfig);
+            }
+            Transport transport = Boolean.parseBoolean(options.getOrDefault("retry", "false"))
+                    ? new RetryingTransport(base, new RetryConfig()) : base;
+            ApiServiceImpl service = new ApiServiceImpl();
+            service.setGatewayHost(gateway.getHost());
+            service.setApiClient(new ApiClient(ACCESS_KEY, SECRET_KEY));
+            service.setTransport(transport);
+            CodecConfig codecConfig = new CodecConfig();
+            codecConfig.setType(CodecTypeEnum.valueOf(options.getOrDefault("codec", "json").toUpperCase()));
+            service.setCodecNegotiator(new CodecNegotiator(codecConfig));
+            if (Boolean.parseBoolean(options.getOrDefault("routeGuard", "false"))) {
+                RouteGuardConfig guardConfig = new RouteGuardConfig();
+                guardConfig.setEnabled(true);
+                service.setRouteGuards(new RouteGuards(guardConfig));
+            }
+            try {
+                run(service, gateway, concurrency, warmup, duration);
+            } finally {
+                close(transport);
+            }
+        }
+    }
+
+    private static void run(ApiServiceImpl service, StubGateway gateway, int concurrency, long warmup, long duration)
+            throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errorResponses = new LongAdder();
+        ConcurrentMap<Integer, LongAdder> exceptions = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        long measureStart = start + warmup;
+        long end = measureStart + duration;
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        IpInfoRequest request = new IpInfoRequest();
+                        IpInfoRequest params = new IpInfoRequest();
+                        params.setIp("8.8.8.8");
+                        request.setRequestParams(params);
+                        boolean measured = now >= measureStart;
+                        try {
+                            ResultResponse response = service.request(request);
+                            if (measured && response.getData().containsKey("errorMessage")) {
+                                errorResponses.increment();
+                            }
+                        } catch (ApiException e) {
+                            if (measured) {
+                                exceptions.computeIfAbsent(e.getCode(), code -> new LongAdder()).increment();
+                            }
+                        }
+                        if (measured) {
+                            histogram.record(System.nanoTime() - now);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-caller-" + i);
+            caller.setDaemon(true);
+            caller.start();
+        }
+        done.await();
+
+        long total = histogram.getCount();
+        double seconds = duration / 1e9;
+        System.out.printf("concurrency=%d duration=%.1fs requests=%d throughput=%.1f req/s%n",
+                concurrency, seconds, total, total / seconds);
+        System.out.printf("latency(ms) mean=%.3f p50=%.3f p99=%.3f p999=%.3f%n",
+                histogram.getMean() / 1e6, histogram.getPercentile(0.5) / 1e6,
+                histogram.getPercentile(0.99) / 1e6, histogram.getPercentile(0.999) / 1e6);
+        System.out.printf("error responses=%d exceptions=%s%n", errorResponses.sum(), snapshot(exceptions));
+        System.out.printf("gateway requests=%d signFailures=%d injectedErrors=%d msgpackResponses=%d%n",
+                gateway.getRequests(), gateway.getSignFailures(), gateway.getInjectedErrors(), gateway.getMsgpackRequests());
+    }
+
+    private static Map<Integer, Long> snapshot(ConcurrentMap<Integer, LongAdder> counters) {
+        Map<Integer, Long> result = new HashMap<>();
+        counters.forEach((code, counter) -> result.put(code, counter.sum()));
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("参数格式应为--名称=值: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static void close(Transport transport) throws IOException {
+        if (transport instanceof Closeable) {
+            ((Closeable) transport).close();
+        }
+    }
+}
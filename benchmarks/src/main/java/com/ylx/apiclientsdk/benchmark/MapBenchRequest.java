@@ -0,0 +1,27 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+/**
+ * 未标注@ApiRequest的请求，参数经过JSON转换为Map，用于与生成的编码器对比
+ *
+ * @author ylx
+ */
+public class MapBenchRequest extends BaseRequest<BenchParams, ResultResponse> {
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public String getPath() {
+        return "/bench";
+    }
+
+    @Override
+    public Class<ResultResponse> getResponseClass() {
+        return ResultResponse.class;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BaseRequest.setRequestParams的基准测试
+ * generated为标注了@ApiRequest、使用生成编码器的请求；map为经过JSON转换为Map的请求
+ *
+ * @author ylx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParamsBenchmark {
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private BenchParams[] params;
+    private int index;
+
+    @Setup
+    public void setup() {
+        params = new BenchParams[Payloads.VARIANTS];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = Payloads.params(size, i);
+        }
+    }
+
+    private BenchParams next() {
+        return params[index++ & (Payloads.VARIANTS - 1)];
+    }
+
+    @Benchmark
+    public BenchRequest generated() {
+        BenchRequest request = new BenchRequest();
+        request.setRequestParams(next());
+        return request;
+    }
+
+    @Benchmark
+    public MapBenchRequest map() {
+        MapBenchRequest request = new MapBenchRequest();
+        request.setRequestParams(next());
+        return request;
+    }
+}
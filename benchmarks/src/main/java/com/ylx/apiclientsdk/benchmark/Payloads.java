@@ -0,0 +1,101 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基准测试负载
+ * small/medium/large分别对应常见的小请求、中等请求和大请求
+ *
+ * @author ylx
+ */
+public final class Payloads {
+    /**
+     * 同一规模下生成的不同负载个数，轮流使用以避开签名记忆等缓存
+     */
+    public static final int VARIANTS = 256;
+
+    private Payloads() {
+    }
+
+    /**
+     * 请求参数中description的长度
+     */
+    public static int descriptionLength(String size) {
+        switch (size) {
+            case "small":
+                return 16;
+            case "medium":
+                return 512;
+            case "large":
+                return 16 * 1024;
+            default:
+                throw new IllegalArgumentException("未知的负载规模: " + size);
+        }
+    }
+
+    /**
+     * 响应中数组元素的个数
+     */
+    public static int itemCount(String size) {
+        switch (size) {
+            case "small":
+                return 1;
+            case "medium":
+                return 50;
+            case "large":
+                return 2_000;
+            default:
+                throw new IllegalArgumentException("未知的负载规模: " + size);
+        }
+    }
+
+    /**
+     * 生成请求参数
+     *
+     * @param size 负载规模
+     * @param variant 变体序号，不同序号的参数内容不同
+     * @return 请求参数
+     */
+    public static BenchParams params(String size, int variant) {
+        BenchParams params = new BenchParams();
+        params.setName("user" + variant);
+        params.setId(1_000_000L + variant);
+        params.setPage(variant % 10);
+        params.setActive(variant % 2 == 0);
+        params.setScore(variant / 3.0);
+        params.setDescription(text(descriptionLength(size), variant));
+        return params;
+    }
+
+    /**
+     * 生成响应体
+     *
+     * @param size 负载规模
+     * @return UTF-8编码的JSON响应体
+     */
+    public static byte[] responseBody(String size) {
+        int count = itemCount(size);
+        StringBuilder sb = new StringBuilder(64 + count * 64);
+        sb.append("{\"code\":0,\"message\":\"ok\",\"items\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item").append(i)
+                    .append("\",\"score\":").append(i * 0.5)
+                    .append(",\"active\":").append(i % 2 == 0)
+                    .append('}');
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(int length, int variant) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + (i + variant) % 26));
+        }
+        return sb.toString();
+    }
+}
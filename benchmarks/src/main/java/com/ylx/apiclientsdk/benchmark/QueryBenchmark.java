@@ -0,0 +1,66 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET请求URL拼接的基准测试，与BaseService.splicingGetRequest的步骤一致：
+ * 网关地址、路径与请求对象写入的查询字符串
+ *
+ * @author ylx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    private static final String GATEWAY_HOST = "http://localhost:8090/api";
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private BenchRequest[] generated;
+    private MapBenchRequest[] map;
+    private int index;
+
+    @Setup
+    public void setup() {
+        generated = new BenchRequest[Payloads.VARIANTS];
+        map = new MapBenchRequest[Payloads.VARIANTS];
+        for (int i = 0; i < Payloads.VARIANTS; i++) {
+            generated[i] = new BenchRequest();
+            generated[i].setRequestParams(Payloads.params(size, i));
+            map[i] = new MapBenchRequest();
+            map[i].setRequestParams(Payloads.params(size, i));
+        }
+    }
+
+    @Benchmark
+    public String generated() {
+        BenchRequest request = generated[index++ & (Payloads.VARIANTS - 1)];
+        StringBuilder url = new StringBuilder(GATEWAY_HOST).append(request.getPath()).append('?');
+        request.writeQuery(url);
+        return url.toString();
+    }
+
+    @Benchmark
+    public String map() {
+        MapBenchRequest request = map[index++ & (Payloads.VARIANTS - 1)];
+        StringBuilder url = new StringBuilder(GATEWAY_HOST).append(request.getPath()).append('?');
+        request.writeQuery(url);
+        return url.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.ylx.apiclientsdk.client.Credential;
+import com.ylx.apiclientsdk.util.SignUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 签名的基准测试，对应BaseService.getHeaders中的摘要与签名步骤
+ * 负载轮流使用VARIANTS个不同内容，memoized使用固定内容以测量签名记忆命中时的开销
+ *
+ * @author ylx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignBenchmark {
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private final Credential credential = new Credential("benchAccessKey", "benchSecretKey");
+    private byte[][] bodies;
+    private int index;
+
+    @Setup
+    public void setup() {
+        bodies = new byte[Payloads.VARIANTS][];
+        for (int i = 0; i < bodies.length; i++) {
+            BenchRequest request = new BenchRequest();
+            request.setRequestParams(Payloads.params(size, i));
+            StringBuilder sb = new StringBuilder();
+            request.writeJson(sb);
+            bodies[i] = sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public String sign() {
+        byte[] body = bodies[index++ & (Payloads.VARIANTS - 1)];
+        return SignUtils.genSign(SignUtils.md5Hex(body), credential);
+    }
+
+    @Benchmark
+    public String memoized() {
+        return SignUtils.genSign(SignUtils.md5Hex(bodies[0]), credential);
+    }
+
+    @Benchmark
+    public String legacy() {
+        byte[] body = bodies[index++ & (Payloads.VARIANTS - 1)];
+        return SignUtils.genSign(SignUtils.md5Hex(body), "benchSecretKey");
+    }
+}
@@ -0,0 +1,286 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ylx.apiclientsdk.codec.MsgPackCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 进程内的网关桩
+ *
+ * 按网关的规则校验accessKey/body/sign/timestamp请求头：body必须等于实际收到内容（GET为原始查询字符串，POST为请求体）的MD5，
+ * sign必须等于SHA256(body + "." + secretKey)，timestamp必须在允许的偏差之内；校验失败返回403。
+ * 校验通过后按配置注入延迟和错误，并返回/ipInfo风格的JSON响应。签名算法独立实现，不依赖SDK的SignUtils。
+ * gzip压缩的请求体先解压再校验（签名针对逻辑请求体），请求声明接受gzip时压缩响应体。
+ * 开启msgpack时，Accept中声明了MessagePack的请求得到内容相同的MessagePack响应；关闭时MessagePack请求体返回415、
+ * 并忽略Accept始终返回JSON，用于验证客户端的协商回退
+ *
+ * @author ylx
+ */
+public class StubGateway implements AutoCloseable {
+    static {
+        // JDK内置HttpServer默认开启Nagle算法，响应头与响应体分两次写出时会与客户端的延迟确认叠加出约40ms的等待
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String JSON = "application/json;charset=UTF-8";
+    private static final String MSGPACK = "application/x-msgpack";
+
+    private final StubGatewayConfig config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] responseBody;
+    private final byte[] gzipResponseBody;
+    private final byte[] msgpackResponseBody;
+    private final byte[] gzipMsgpackResponseBody;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder signFailures = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder msgpackRequests = new LongAdder();
+
+    /**
+     * 在随机端口上启动
+     *
+     * @param config 配置
+     * @throws IOException 如果启动失败
+     */
+    public StubGateway(StubGatewayConfig config) throws IOException {
+        this.config = config;
+        this.responseBody = config.getResponseBody() != null ? config.getResponseBody() : ipInfoBody(config.getItemCount());
+        this.gzipResponseBody = gzip(responseBody);
+        this.msgpackResponseBody = MsgPackCodec.encode(JsonParser.parseString(new String(responseBody, StandardCharsets.UTF_8)));
+        this.gzipMsgpackResponseBody = gzip(msgpackResponseBody);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // 注入的延迟会占用处理线程，使用不限数量的线程池避免延迟在服务端排队
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        boolean gzipped = contentEncoding != null && "gzip".equalsIgnoreCase(contentEncoding.trim());
+        byte[] body = readFully(gzipped ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.startsWith(MSGPACK)) {
+            if (!config.isMsgpack()) {
+                respond(exchange, 415, JSON, error(41500, "不支持的Content-Type"));
+                return;
+            }
+            // 确认请求体是合法的MessagePack
+            try {
+                MsgPackCodec.read(new ByteArrayInputStream(body));
+            } catch (IOException e) {
+                respond(exchange, 400, JSON, error(40000, "请求体不是合法的MessagePack"));
+                return;
+            }
+        }
+        if (config.isVerifySign()) {
+            String failure = verify(exchange, body);
+            if (failure != null) {
+                signFailures.increment();
+                respond(exchange, 403, JSON, error(40300, failure));
+                return;
+            }
+        }
+        sleep(config.getLatency() + (config.getLatencyJitter() > 0
+                ? ThreadLocalRandom.current().nextLong(config.getLatencyJitter() + 1) : 0));
+        if (config.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getErrorRate()) {
+            injectedErrors.increment();
+            respond(exchange, config.getErrorStatus(), JSON, error(config.getErrorStatus() * 100, "注入的错误"));
+            return;
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        boolean msgpack = config.isMsgpack() && accept != null && accept.contains(MSGPACK);
+        if (msgpack) {
+            msgpackRequests.increment();
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (config.isCompressResponses() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            respond(exchange, 200, msgpack ? MSGPACK : JSON, msgpack ? gzipMsgpackResponseBody : gzipResponseBody);
+            return;
+        }
+        respond(exchange, 200, msgpack ? MSGPACK : JSON, msgpack ? msgpackResponseBody : responseBody);
+    }
+
+    /**
+     * 校验签名请求头
+     *
+     * @return 校验失败的原因，通过时返回null
+     */
+    private String verify(HttpExchange exchange, byte[] body) {
+        String accessKey = exchange.getRequestHeaders().getFirst("accessKey");
+        String bodyDigest = exchange.getRequestHeaders().getFirst("body");
+        String sign = exchange.getRequestHeaders().getFirst("sign");
+        String timestamp = exchange.getRequestHeaders().getFirst("timestamp");
+        if (accessKey == null || bodyDigest == null || sign == null || timestamp == null) {
+            return "缺少签名请求头";
+        }
+        String secretKey = config.getCredentials().get(accessKey);
+        if (secretKey == null) {
+            return "accessKey不存在";
+        }
+        try {
+            long seconds = Long.parseLong(timestamp);
+            if (Math.abs(System.currentTimeMillis() / 1000 - seconds) > config.getTimestampWindow()) {
+                return "时间戳已过期";
+            }
+        } catch (NumberFormatException e) {
+            return "时间戳格式错误";
+        }
+        byte[] payload;
+        if ("GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            String query = exchange.getRequestURI().getRawQuery();
+            payload = query == null ? new byte[0] : query.getBytes(StandardCharsets.UTF_8);
+        } else {
+            payload = body;
+        }
+        if (!hex("MD5", payload).equals(bodyDigest)) {
+            return "body摘要不匹配";
+        }
+        if (!hex("SHA-256", (bodyDigest + "." + secretKey).getBytes(StandardCharsets.UTF_8)).equals(sign)) {
+            return "签名不匹配";
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] error(int code, String message) {
+        return ("{\"code\":" + code + ",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 生成/ipInfo风格的响应体
+     *
+     * @param itemCount items数组的元素个数
+     * @return UTF-8编码的JSON响应体
+     */
+    public static byte[] ipInfoBody(int itemCount) {
+        StringBuilder sb = new StringBuilder(96 + itemCount * 64);
+        sb.append("{\"ip\":\"8.8.8.8\",\"country\":\"US\",\"city\":\"Mountain View\",\"items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item").append(i)
+                    .append("\",\"score\":").append(i * 0.5).append('}');
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = input.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String hex(String algorithm, byte[] payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance(algorithm).digest(payload);
+            char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX_DIGITS[(digest[i] >>> 4) & 0x0F];
+                chars[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0F];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取网关地址
+     *
+     * @return 形如http://127.0.0.1:port的地址
+     */
+    public String getHost() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 获取收到的请求数
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * 获取签名校验失败的请求数
+     */
+    public long getSignFailures() {
+        return signFailures.sum();
+    }
+
+    /**
+     * 获取注入错误的请求数
+     */
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    /**
+     * 获取以MessagePack响应的请求数
+     */
+    public long getMsgpackRequests() {
+        return msgpackRequests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,156 @@
+package com.ylx.apiclientsdk.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 网关桩配置
+ *
+ * @author ylx
+ */
+public class StubGatewayConfig {
+    /**
+     * 合法的accessKey及其secretKey
+     */
+    private Map<String, String> credentials = new HashMap<>();
+    /**
+     * 是否校验签名请求头
+     */
+    private boolean verifySign = true;
+    /**
+     * 时间戳允许的偏差（秒）
+     */
+    private long timestampWindow = 300;
+    /**
+     * 固定的处理延迟（毫秒）
+     */
+    private long latency = 0;
+    /**
+     * 在固定延迟之上附加的随机延迟上限（毫秒）
+     */
+    private long latencyJitter = 0;
+    /**
+     * 注入错误响应的比例，取值范围[0, 1]
+     */
+    private double errorRate = 0;
+    /**
+     * 注入错误时返回的状态码
+     */
+    private int errorStatus = 503;
+    /**
+     * 响应中items数组的元素个数，决定响应体大小
+     */
+    private int itemCount = 1;
+    /**
+     * 固定的响应体，设置后忽略itemCount
+     */
+    private byte[] responseBody;
+    /**
+     * 请求声明接受gzip时是否压缩响应体
+     */
+    private boolean compressResponses = true;
+    /**
+     * 是否支持MessagePack：支持时按Accept返回MessagePack响应并接受MessagePack请求体，不支持时对MessagePack请求体返回415
+     */
+    private boolean msgpack = true;
+
+    /**
+     * 添加一组合法的密钥
+     *
+     * @param accessKey 访问密钥
+     * @param secretKey 私密密钥
+     * @return 当前配置
+     */
+    public StubGatewayConfig credential(String accessKey, String secretKey) {
+        credentials.put(accessKey, secretKey);
+        return this;
+    }
+
+    public Map<String, String> getCredentials() {
+        return credentials;
+    }
+
+    public void setCredentials(Map<String, String> credentials) {
+        this.credentials = credentials;
+    }
+
+    public boolean isVerifySign() {
+        return verifySign;
+    }
+
+    public void setVerifySign(boolean verifySign) {
+        this.verifySign = verifySign;
+    }
+
+    public long getTimestampWindow() {
+        return timestampWindow;
+    }
+
+    public void setTimestampWindow(long timestampWindow) {
+        this.timestampWindow = timestampWindow;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+
+    public void setLatency(long latency) {
+        this.latency = latency;
+    }
+
+    public long getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    public void setLatencyJitter(long latencyJitter) {
+        this.latencyJitter = latencyJitter;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public void setErrorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public boolean isCompressResponses() {
+        return compressResponses;
+    }
+
+    public void setCompressResponses(boolean compressResponses) {
+        this.compressResponses = compressResponses;
+    }
+
+    public boolean isMsgpack() {
+        return msgpack;
+    }
+
+    public void setMsgpack(boolean msgpack) {
+        this.msgpack = msgpack;
+    }
+
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+}
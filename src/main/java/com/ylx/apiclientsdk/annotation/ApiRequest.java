@@ -0,0 +1,52 @@
+package com.ylx.apiclientsdk.annotation;
+
+import com.ylx.apiclientsdk.model.enums.CodecTypeEnum;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明请求类的路由信息
+ *
+ * 标注在BaseRequest的子类上，编译期由ApiRequestProcessor为其请求参数类型生成无反射的参数编码器
+ * （类名为请求类名 + ParamsWriter），运行时BaseRequest的getMethod/getPath默认读取该注解
+ *
+ * @author ylx
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ApiRequest {
+
+    /**
+     * 请求路径，例如 /ipInfo
+     *
+     * @return 请求路径
+     */
+    String path();
+
+    /**
+     * 请求方法
+     *
+     * @return 请求方法
+     */
+    RequestMethodEnum method() default RequestMethodEnum.GET;
+
+    /**
+     * 报文编码，默认使用客户端配置的首选编码
+     *
+     * @return 报文编码
+     */
+    CodecTypeEnum codec() default CodecTypeEnum.DEFAULT;
+
+    /**
+     * 总超时（毫秒），覆盖发送请求、重试等待和读取响应体的全过程，0表示使用客户端配置的总超时
+     *
+     * @return 总超时（毫秒）
+     */
+    long timeout() default 0;
+}
@@ -0,0 +1,28 @@
+package com.ylx.apiclientsdk.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在GET请求类上，表示该请求的响应可以被客户端缓存
+ *
+ * 只有在服务上配置了ResponseCache时才会生效；相同accessKey、路径和参数的请求在有效期内直接使用缓存，
+ * 并发的相同请求只会向网关发送一次
+ *
+ * @author ylx
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheableRequest {
+
+    /**
+     * 响应的缓存时间（毫秒），响应头中的Cache-Control: max-age优先；小于等于0时使用ResponseCache的默认值
+     *
+     * @return 缓存时间
+     */
+    long ttl() default 0;
+}
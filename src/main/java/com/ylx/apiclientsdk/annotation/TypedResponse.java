@@ -0,0 +1,21 @@
+package com.ylx.apiclientsdk.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在ResultResponse的子类上，表示响应体直接按字段绑定到该类
+ *
+ * 未标注的响应类保持原有的Map模式：响应体解析为Map<String, Object>放入data，数字统一为Double；
+ * 标注后响应体中的字段直接解析到子类的同名字段上，数字按字段类型解析，不再经过中间Map
+ *
+ * @author ylx
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TypedResponse {
+}
@@ -0,0 +1,88 @@
+package com.ylx.apiclientsdk.async;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步请求线程池工厂
+ *
+ * @author ylx
+ */
+@Slf4j
+public class ApiExecutors {
+
+    private ApiExecutors() {
+    }
+
+    /**
+     * 共享定时调度器的延迟加载持有者
+     */
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService INSTANCE = newScheduler();
+
+        private static ScheduledExecutorService newScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, namedDaemonThreadFactory("api-client-scheduler-"));
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    /**
+     * 获取共享的定时调度器
+     * 只用于把延迟到期的任务转交给请求线程池，本身不执行请求，一个线程即可
+     *
+     * @return 定时调度器
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+    /**
+     * 根据配置创建有界队列的线程池，配置了virtualThreads且运行时支持时创建虚拟线程池
+     * 核心线程数等于最大线程数并允许核心线程超时回收，使线程数先增长到上限再排队
+     * （ThreadPoolExecutor只有在队列满时才会创建非核心线程）；
+     * 队列满时抛出RejectedExecutionException，由调用方转换为失败的Future，避免无限堆积请求
+     *
+     * @param config 线程池配置
+     * @return 线程池
+     */
+    public static ExecutorService newExecutor(ExecutorConfig config) {
+        if (config.isVirtualThreads()) {
+            if (VirtualThreads.isSupported()) {
+                return VirtualThreads.newExecutor(config.getThreadNamePrefix());
+            }
+            log.warn("虚拟线程需要Java 21及以上版本，回退为有界线程池");
+        }
+        int max = Math.max(1, config.getMaxPoolSize());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(max, max,
+                config.getKeepAlive(), TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                namedDaemonThreadFactory(config.getThreadNamePrefix()),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 创建守护线程工厂，SDK的后台线程不应阻止JVM退出
+     *
+     * @param prefix 线程名前缀
+     * @return 线程工厂
+     */
+    public static ThreadFactory namedDaemonThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.ylx.apiclientsdk.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * 支持真正取消的CompletableFuture
+ * CompletableFuture.cancel只会改变自身状态，这里同时取消线程池中的任务：
+ * 排队中的任务会被移出执行计划，执行中的任务会收到中断
+ *
+ * @param <T> 结果类型
+ * @author ylx
+ */
+public class CancellableFuture<T> extends CompletableFuture<T> {
+    // 线程池中对应的任务
+    private volatile Future<?> task;
+
+    /**
+     * 绑定线程池中的任务，如果在绑定前已被取消，则立即取消该任务
+     *
+     * @param task 线程池中的任务
+     */
+    public void setTask(Future<?> task) {
+        this.task = task;
+        if (isCancelled()) {
+            task.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        Future<?> current = task;
+        if (cancelled && current != null) {
+            current.cancel(true);
+        }
+        return cancelled;
+    }
+}
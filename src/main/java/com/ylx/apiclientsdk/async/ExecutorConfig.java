@@ -0,0 +1,33 @@
+package com.ylx.apiclientsdk.async;
+
+import lombok.Data;
+
+/**
+ * 异步请求线程池配置
+ *
+ * @author ylx
+ */
+@Data
+public class ExecutorConfig {
+    /**
+     * 最大线程数，线程在达到该数量之前优先新建，空闲超过keepAlive后回收
+     */
+    private int maxPoolSize = 64;
+    /**
+     * 等待队列容量，队列满且线程数达到上限时，新的异步请求会直接失败
+     */
+    private int queueCapacity = 1024;
+    /**
+     * 非核心线程的空闲存活时间（毫秒）
+     */
+    private long keepAlive = 60_000;
+    /**
+     * 线程名前缀
+     */
+    private String threadNamePrefix = "api-client-async-";
+    /**
+     * 是否使用虚拟线程（需要Java 21及以上）：每个异步请求和批量工作任务一个虚拟线程，
+     * maxPoolSize和queueCapacity不再生效；运行时不支持时回退为上述有界线程池
+     */
+    private boolean virtualThreads = false;
+}
@@ -0,0 +1,104 @@
+package com.ylx.apiclientsdk.async;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持（Java 21及以上）
+ *
+ * SDK以Java 8为编译目标，虚拟线程相关的API在类加载时通过MethodHandle查找，低版本运行时isSupported返回false。
+ * 同步请求路径在虚拟线程上阻塞时不会固定（pin）载体线程：
+ * 连接池的等待由PooledTransport在进入HttpClient之前用Semaphore完成（httpcore的lease在synchronized块内等待），
+ * 签名摘要在虚拟线程上不使用ThreadLocal缓存，限流、重试退避、缓存合并等待都基于park而不是监视器
+ *
+ * @author ylx
+ */
+public final class VirtualThreads {
+    // Thread.isVirtual()，不支持时为null
+    private static final MethodHandle IS_VIRTUAL;
+    // Thread.ofVirtual()
+    private static final Method OF_VIRTUAL;
+    // Thread.Builder.name(String, long)
+    private static final Method BUILDER_NAME;
+    // Thread.Builder.factory()
+    private static final Method BUILDER_FACTORY;
+    // Executors.newThreadPerTaskExecutor(ThreadFactory)
+    private static final Method NEW_EXECUTOR;
+
+    static {
+        MethodHandle isVirtual = null;
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newExecutor = null;
+        try {
+            isVirtual = MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            builderName = builder.getMethod("name", String.class, long.class);
+            builderFactory = builder.getMethod("factory");
+            newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            isVirtual = null;
+        }
+        IS_VIRTUAL = isVirtual;
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_EXECUTOR = newExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return Java 21及以上返回true
+     */
+    public static boolean isSupported() {
+        return IS_VIRTUAL != null;
+    }
+
+    /**
+     * 当前线程是否为虚拟线程
+     *
+     * @return 是否为虚拟线程，运行时不支持时返回false
+     */
+    public static boolean isVirtual() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池
+     * 没有线程数上限和等待队列，并发请求数由routeGuard、rateLimit和连接池限制
+     *
+     * @param prefix 线程名前缀
+     * @return 线程池
+     * @throws UnsupportedOperationException 运行时不支持虚拟线程
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("虚拟线程需要Java 21及以上版本");
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 1L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程池失败", e);
+        }
+    }
+}
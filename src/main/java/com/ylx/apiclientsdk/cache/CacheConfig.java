@@ -0,0 +1,28 @@
+package com.ylx.apiclientsdk.cache;
+
+import lombok.Data;
+
+/**
+ * 响应缓存配置
+ *
+ * @author ylx
+ */
+@Data
+public class CacheConfig {
+    /**
+     * 是否启用响应缓存，启用后只对标注了@CacheableRequest的GET请求生效
+     */
+    private boolean enabled = false;
+    /**
+     * 最多缓存的响应数，超出后按W-TinyLFU策略淘汰
+     */
+    private long maximumSize = 10_000;
+    /**
+     * 默认缓存时间（毫秒），响应头和注解都没有指定时使用
+     */
+    private long defaultTtl = 60_000;
+    /**
+     * 带ETag的响应过期后继续保留的时间（毫秒），在此期间使用If-None-Match向网关验证
+     */
+    private long revalidateWindow = 300_000;
+}
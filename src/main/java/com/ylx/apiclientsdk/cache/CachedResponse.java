@@ -0,0 +1,67 @@
+package com.ylx.apiclientsdk.cache;
+
+/**
+ * 一次HTTP交换的原始结果，用于缓存和在合并的并发请求之间共享
+ * 响应体保存原始字节，每个调用方各自解码，互不影响
+ *
+ * @author ylx
+ */
+public final class CachedResponse {
+    private final int status;
+    private final byte[] body;
+    private final String contentType;
+    private final String etag;
+    private final String cacheControl;
+    // 新鲜期截止时间（毫秒时间戳）
+    private volatile long freshUntil;
+
+    public CachedResponse(int status, byte[] body, String contentType, String etag, String cacheControl) {
+        this.status = status;
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.cacheControl = cacheControl;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * 获取响应体，调用方不得修改返回的数组
+     *
+     * @return 响应体字节
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * 获取响应的Content-Type，用于选择解码方式
+     *
+     * @return Content-Type，网关未返回时为null
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    long getFreshUntil() {
+        return freshUntil;
+    }
+
+    void setFreshUntil(long freshUntil) {
+        this.freshUntil = freshUntil;
+    }
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+}
@@ -0,0 +1,340 @@
+package com.ylx.apiclientsdk.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ylx.apiclientsdk.annotation.CacheableRequest;
+import com.ylx.apiclientsdk.transport.Deadline;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 幂等GET请求的客户端响应缓存
+ *
+ * 容量有上限（Caffeine，W-TinyLFU淘汰），每个条目的新鲜期由Cache-Control: max-age、请求类上的注解或默认值决定；
+ * no-store的响应不缓存，no-cache的响应每次使用前都要验证。带ETag的条目过期后仍保留一段时间，
+ * 再次请求时携带If-None-Match，网关返回304时直接续期。相同key的并发请求只有一个会真正发往网关，
+ * 其余请求在各自的截止时间内等待并共享它的结果
+ *
+ * @author ylx
+ */
+public class ResponseCache {
+    private final CacheConfig config;
+    private final Cache<String, CachedResponse> cache;
+    // 正在向网关请求的key，用于合并并发的相同请求
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    // 每个请求类的缓存时间，未标注@CacheableRequest的类为-1
+    private final ClassValue<Long> ttlByClass = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            CacheableRequest cacheable = type.getAnnotation(CacheableRequest.class);
+            if (cacheable == null) {
+                return -1L;
+            }
+            return cacheable.ttl() > 0 ? cacheable.ttl() : config.getDefaultTtl();
+        }
+    };
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public ResponseCache(CacheConfig config) {
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return retention(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return retention(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 获取请求类的缓存时间
+     *
+     * @param requestClass 请求类
+     * @return 缓存时间（毫秒），请求类不可缓存时返回-1
+     */
+    public long ttlOf(Class<?> requestClass) {
+        return ttlByClass.get(requestClass);
+    }
+
+    /**
+     * 生成缓存key：accessKey、请求方法和URL，查询参数按字典序排列，参数顺序不同的相同请求共用缓存
+     *
+     * @param accessKey 访问密钥，不同租户的响应互不共享
+     * @param method 请求方法
+     * @param url 完整的请求地址
+     * @return 缓存key
+     */
+    public static String key(String accessKey, String method, String url) {
+        int queryStart = url.indexOf('?');
+        StringBuilder sb = new StringBuilder(accessKey.length() + method.length() + url.length() + 2)
+                .append(accessKey).append(' ').append(method).append(' ');
+        if (queryStart < 0) {
+            return sb.append(url).toString();
+        }
+        String[] pairs = url.substring(queryStart + 1).split("&");
+        Arrays.sort(pairs);
+        sb.append(url, 0, queryStart + 1);
+        for (int i = 0; i < pairs.length; i++) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append(pairs[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 获取响应，优先使用新鲜的缓存，否则（合并并发请求后）向网关请求
+     *
+     * 发起请求的调用只因自己的截止时间到期或被取消而失败时，等待它的调用不共享这个失败，
+     * 而是重新由其中一个发起请求；网关返回的错误和其他异常由所有等待的调用共享
+     *
+     * @param key 缓存key
+     * @param ttl 默认缓存时间（毫秒）
+     * @param deadline 调用的截止时间，等待合并的请求不超过该时间，为null时不限制
+     * @param upstream 向网关请求的方法
+     * @return 响应结果，可能来自缓存
+     * @throws SocketTimeoutException 等待合并的请求超过截止时间
+     * @throws Exception 向网关请求失败
+     */
+    public CachedResponse get(String key, long ttl, Deadline deadline, Upstream upstream) throws Exception {
+        boolean coalesced = false;
+        while (true) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+                hitCount.increment();
+                return cached;
+            }
+            CompletableFuture<CachedResponse> future = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                return lead(key, cached, ttl, deadline, upstream, future);
+            }
+            // 已有相同的请求在进行中，等待它的结果
+            if (!coalesced) {
+                coalescedCount.increment();
+                coalesced = true;
+            }
+            try {
+                return await(existing, deadline);
+            } catch (LeaderAbortedException e) {
+                // 发起请求的调用自己放弃了，移除它留下的结果后重新发起
+                inFlight.remove(key, existing);
+            }
+        }
+    }
+
+    private CachedResponse lead(String key, CachedResponse stale, long ttl, Deadline deadline, Upstream upstream,
+                                CompletableFuture<CachedResponse> future) throws Exception {
+        try {
+            CachedResponse result = fetch(key, stale, ttl, upstream);
+            future.complete(result);
+            return result;
+        } catch (Exception e) {
+            future.completeExceptionally(isAborted(e, deadline) ? new LeaderAbortedException(e) : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 异常是否只是因为本次调用被取消、被中断或到达了自己的截止时间
+     */
+    private static boolean isAborted(Exception e, Deadline deadline) {
+        if (deadline != null && (deadline.isCancelled() || deadline.isExpired())) {
+            return true;
+        }
+        return e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException);
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> existing, Deadline deadline) throws Exception {
+        try {
+            if (deadline == null || !deadline.hasLimit()) {
+                return existing.get();
+            }
+            return existing.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (TimeoutException e) {
+            throw new SocketTimeoutException("等待相同请求的结果超过截止时间");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待相同请求的结果被中断");
+        }
+    }
+
+    private CachedResponse fetch(String key, CachedResponse stale, long ttl, Upstream upstream) throws Exception {
+        String etag = stale != null ? stale.getEtag() : null;
+        CachedResponse fetched = upstream.call(etag);
+        if (fetched.getStatus() == 304 && stale != null) {
+            revalidatedCount.increment();
+            // 网关确认缓存仍然有效，按新的响应头续期
+            String cacheControl = fetched.getCacheControl() != null ? fetched.getCacheControl() : stale.getCacheControl();
+            stale.setFreshUntil(freshUntil(cacheControl, ttl));
+            cache.put(key, stale);
+            return stale;
+        }
+        missCount.increment();
+        if (fetched.getStatus() == 200 && !hasDirective(fetched.getCacheControl(), "no-store")) {
+            fetched.setFreshUntil(freshUntil(fetched.getCacheControl(), ttl));
+            cache.put(key, fetched);
+        }
+        return fetched;
+    }
+
+    /**
+     * 计算新鲜期截止时间：no-cache立即过期，max-age优先于默认缓存时间
+     */
+    private long freshUntil(String cacheControl, long ttl) {
+        long now = System.currentTimeMillis();
+        if (hasDirective(cacheControl, "no-cache")) {
+            return now;
+        }
+        long maxAge = maxAge(cacheControl);
+        return now + (maxAge >= 0 ? TimeUnit.SECONDS.toMillis(maxAge) : ttl);
+    }
+
+    /**
+     * 条目在Caffeine中的保留时间（纳秒）：新鲜期，加上带ETag时的验证窗口
+     */
+    private long retention(CachedResponse value) {
+        long millis = Math.max(0, value.getFreshUntil() - System.currentTimeMillis());
+        if (value.getEtag() != null) {
+            millis += config.getRevalidateWindow();
+        }
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            if (part.trim().equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long maxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim();
+            if (directive.regionMatches(true, 0, "max-age=", 0, 8)) {
+                try {
+                    return Long.parseLong(directive.substring(8).trim());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 新鲜缓存命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 未命中（向网关请求并得到完整响应）的次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 网关返回304、缓存被验证后续期的次数
+     *
+     * @return 验证次数
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    /**
+     * 被合并到进行中请求的次数
+     *
+     * @return 合并次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 当前缓存的条目数（近似值）
+     *
+     * @return 条目数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 向网关请求的方法
+     */
+    @FunctionalInterface
+    public interface Upstream {
+
+        /**
+         * 执行一次请求并读取完整响应
+         *
+         * @param ifNoneMatch 需要验证的ETag，为null时发送普通请求
+         * @return 响应结果
+         * @throws Exception 请求失败
+         */
+        CachedResponse call(String ifNoneMatch) throws Exception;
+    }
+
+    /**
+     * 发起请求的调用因自己的截止时间或取消而失败，等待它的调用应当重新发起请求
+     */
+    private static final class LeaderAbortedException extends Exception {
+        LeaderAbortedException(Exception cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+}
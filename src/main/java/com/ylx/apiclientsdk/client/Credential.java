@@ -0,0 +1,83 @@
+package com.ylx.apiclientsdk.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 单次调用使用的不可变凭证
+ * 由ApiClient派生，包含签名所需的预计算数据，可以在多个线程之间安全共享
+ *
+ * @author ylx
+ */
+public final class Credential {
+    private final String accessKey;
+    private final String secretKey;
+    // 签名内容中拼接在摘要之后的部分（"." + secretKey）的UTF-8字节，预先编码避免每次签名重复拼接
+    private final byte[] signSuffix;
+    // 签名记忆表：签名只取决于body摘要和密钥，与时间戳无关，相同body可以直接复用签名；
+    // 采用固定大小的直接映射表，冲突时直接覆盖，读写无锁且内存有上限
+    private final AtomicReferenceArray<SignEntry> signMemo = new AtomicReferenceArray<>(SIGN_MEMO_SIZE);
+    private static final int SIGN_MEMO_SIZE = 64;
+
+    public Credential(String accessKey, String secretKey) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.signSuffix = ("." + secretKey).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取已记录的签名
+     *
+     * @param body 请求体摘要
+     * @return 已记录的签名，不存在时返回null
+     */
+    public String getMemoizedSign(String body) {
+        SignEntry entry = signMemo.get(slot(body));
+        return entry != null && entry.body.equals(body) ? entry.sign : null;
+    }
+
+    /**
+     * 记录签名
+     *
+     * @param body 请求体摘要
+     * @param sign 签名
+     */
+    public void memoizeSign(String body, String sign) {
+        signMemo.set(slot(body), new SignEntry(body, sign));
+    }
+
+    private static int slot(String body) {
+        int h = body.hashCode();
+        return (h ^ (h >>> 16)) & (SIGN_MEMO_SIZE - 1);
+    }
+
+    public String getAccessKey() {
+        return accessKey;
+    }
+
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    /**
+     * 获取签名后缀字节，调用方不得修改返回的数组
+     *
+     * @return "." + secretKey 的UTF-8字节
+     */
+    public byte[] getSignSuffix() {
+        return signSuffix;
+    }
+
+    /**
+     * 签名记忆表中的一项
+     */
+    private static final class SignEntry {
+        private final String body;
+        private final String sign;
+
+        SignEntry(String body, String sign) {
+            this.body = body;
+            this.sign = sign;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ylx.apiclientsdk.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 凭证缓存
+ * 以accessKey为键缓存派生后的Credential，容量有上限，读取无锁，适合单个JVM服务大量租户的场景；
+ * 命中时会校验secretKey，密钥轮换后自动重新派生
+ *
+ * @author ylx
+ */
+public class CredentialCache {
+    /**
+     * 默认最多缓存的租户数
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<String, Credential> cache;
+
+    public CredentialCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CredentialCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * 获取ApiClient对应的凭证
+     *
+     * @param apiClient 客户端，accessKey和secretKey均不能为空
+     * @return 不可变的凭证
+     */
+    public Credential get(ApiClient apiClient) {
+        String accessKey = apiClient.getAccessKey();
+        String secretKey = apiClient.getSecretKey();
+        Credential credential = cache.getIfPresent(accessKey);
+        if (credential == null || !credential.getSecretKey().equals(secretKey)) {
+            credential = new Credential(accessKey, secretKey);
+            cache.put(accessKey, credential);
+        }
+        return credential;
+    }
+
+    /**
+     * 获取当前缓存的凭证数量（近似值）
+     *
+     * @return 缓存数量
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
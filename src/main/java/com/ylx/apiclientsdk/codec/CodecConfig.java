@@ -0,0 +1,21 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.ylx.apiclientsdk.model.enums.CodecTypeEnum;
+import lombok.Data;
+
+/**
+ * 报文编码配置
+ *
+ * @author ylx
+ */
+@Data
+public class CodecConfig {
+    /**
+     * 首选的报文编码，默认json；设为msgpack时通过Accept/Content-Type与网关协商，网关不支持时回退为JSON
+     */
+    private CodecTypeEnum type = CodecTypeEnum.JSON;
+    /**
+     * 接口被判定为不支持二进制编码后，经过该时间（毫秒）再重新尝试协商
+     */
+    private long fallbackTtl = 600000;
+}
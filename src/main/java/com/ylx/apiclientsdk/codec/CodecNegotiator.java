@@ -0,0 +1,137 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.ylx.apiclientsdk.model.enums.CodecTypeEnum;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 报文编码协商
+ *
+ * 按请求类上@ApiRequest指定的编码或配置的首选编码选择请求使用的编码。使用二进制编码时：
+ * GET请求在Accept中优先声明二进制编码，POST请求体直接以二进制编码发送；响应始终按Content-Type选择解码方式，
+ * 网关忽略Accept返回JSON时照常解析。网关以415/406拒绝二进制请求，或对二进制请求返回JSON时，
+ * 该接口在fallbackTtl内改用JSON，被拒绝的请求以JSON重新发送一次
+ *
+ * @author ylx
+ */
+@Slf4j
+public class CodecNegotiator {
+    private static final boolean MSGPACK_PRESENT = isPresent("org.msgpack.core.MessagePack");
+
+    private final CodecConfig config;
+    // 不支持二进制编码的接口，值为重新尝试协商的时间（毫秒时间戳）
+    private final ConcurrentMap<String, Long> jsonOnly = new ConcurrentHashMap<>();
+
+    public CodecNegotiator() {
+        this(new CodecConfig());
+    }
+
+    public CodecNegotiator(CodecConfig config) {
+        this.config = config;
+        if (config.getType() == CodecTypeEnum.MSGPACK && !MSGPACK_PRESENT) {
+            log.warn("classpath中缺少msgpack-core，报文编码回退为JSON");
+        }
+    }
+
+    /**
+     * 获取JSON编码
+     *
+     * @return JSON编码
+     */
+    public static WireCodec json() {
+        return JsonCodec.INSTANCE;
+    }
+
+    /**
+     * 选择请求使用的编码
+     *
+     * @param request 请求对象
+     * @param path 解析后的请求路径，调用方从路由中取得，与熔断和指标使用同一分组key
+     * @return 请求使用的编码
+     */
+    public WireCodec select(BaseRequest<?, ?> request, String path) {
+        CodecTypeEnum type = request.getCodec();
+        if (type == null || type == CodecTypeEnum.DEFAULT) {
+            type = config.getType();
+        }
+        if (type != CodecTypeEnum.MSGPACK || !MSGPACK_PRESENT) {
+            return JsonCodec.INSTANCE;
+        }
+        Long retryAt = jsonOnly.get(path);
+        if (retryAt != null) {
+            if (System.currentTimeMillis() < retryAt) {
+                return JsonCodec.INSTANCE;
+            }
+            jsonOnly.remove(path, retryAt);
+        }
+        return MsgPackHolder.INSTANCE;
+    }
+
+    /**
+     * 写入协商用的请求头：使用二进制编码时在Accept中优先声明它，JSON作为备选
+     *
+     * @param codec 请求使用的编码
+     * @param headers 请求头
+     */
+    public void accept(WireCodec codec, Map<String, String> headers) {
+        if (codec != JsonCodec.INSTANCE) {
+            headers.put("Accept", codec.getMediaType() + ", application/json;q=0.5");
+        }
+    }
+
+    /**
+     * 按响应的Content-Type选择解码方式，未知的类型按JSON解析
+     *
+     * @param contentType 响应的Content-Type
+     * @return 解码使用的编码
+     */
+    public WireCodec forResponse(String contentType) {
+        if (MSGPACK_PRESENT && contentType != null && MsgPackHolder.INSTANCE.matches(contentType)) {
+            return MsgPackHolder.INSTANCE;
+        }
+        return JsonCodec.INSTANCE;
+    }
+
+    /**
+     * 根据网关的响应判断接口是否支持请求使用的编码
+     *
+     * @param path 解析后的请求路径
+     * @param codec 请求使用的编码
+     * @param response 网关的响应
+     * @return 网关是否拒绝了该编码（415/406），为true时调用方应以JSON重新发送
+     */
+    public boolean rejected(String path, WireCodec codec, TransportResponse response) {
+        if (codec == JsonCodec.INSTANCE) {
+            return false;
+        }
+        int status = response.getStatus();
+        boolean rejected = status == 415 || status == 406;
+        if (rejected || (status == 200 && !codec.matches(response.getHeader("Content-Type")))) {
+            if (jsonOnly.put(path, System.currentTimeMillis() + config.getFallbackTtl()) == null) {
+                log.info("接口{}不支持{}，回退为JSON", path, codec.getMediaType());
+            }
+        }
+        return rejected;
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, CodecNegotiator.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * MessagePack编码的延迟加载持有者，避免在没有msgpack-core时加载MsgPackCodec
+     */
+    private static class MsgPackHolder {
+        private static final WireCodec INSTANCE = MsgPackCodec.INSTANCE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ylx.apiclientsdk.codec;
+
+import lombok.Data;
+
+import java.util.zip.Deflater;
+
+/**
+ * 请求与响应压缩配置
+ *
+ * @author ylx
+ */
+@Data
+public class CompressionConfig {
+    /**
+     * 是否声明接受gzip响应（Accept-Encoding），收到的gzip响应以流的方式解压
+     */
+    private boolean responseDecompression = true;
+    /**
+     * 是否压缩请求体，需要网关支持Content-Encoding: gzip的请求
+     */
+    private boolean requestCompression = false;
+    /**
+     * 请求体达到该字节数时才压缩，过小的请求体压缩收益不足以抵消开销
+     */
+    private int requestThreshold = 2048;
+    /**
+     * 压缩级别，-1为默认级别，1最快，9压缩率最高
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+}
@@ -0,0 +1,201 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.ylx.apiclientsdk.transport.TransportResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 请求与响应体的gzip压缩
+ *
+ * 签名始终针对压缩前的逻辑内容计算，压缩只发生在签名之后、发送之前；
+ * 响应按Content-Encoding以流的方式解压，不会把压缩后的响应体整体读入内存。
+ * 同时统计压缩前后的收发字节数
+ *
+ * @author ylx
+ */
+public class ContentCompression {
+    private static final String GZIP = "gzip";
+
+    private final CompressionConfig config;
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();
+
+    public ContentCompression() {
+        this(new CompressionConfig());
+    }
+
+    public ContentCompression(CompressionConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 按配置压缩请求体，并设置对应的请求头
+     *
+     * @param body 已签名的逻辑请求体
+     * @param headers 请求头，压缩时会加入Content-Encoding
+     * @return 实际发送的请求体
+     */
+    public byte[] encodeRequest(byte[] body, Map<String, String> headers) {
+        requestBytes.add(body.length);
+        byte[] wire = body;
+        if (config.isRequestCompression() && body.length >= config.getRequestThreshold()) {
+            byte[] compressed = gzip(body, config.getLevel());
+            // 压缩后反而更大时（如已压缩过的内容）直接发送原文
+            if (compressed.length < body.length) {
+                headers.put("Content-Encoding", GZIP);
+                wire = compressed;
+            }
+        }
+        requestWireBytes.add(wire.length);
+        return wire;
+    }
+
+    /**
+     * 按配置加入Accept-Encoding请求头
+     *
+     * @param headers 请求头
+     */
+    public void acceptEncoding(Map<String, String> headers) {
+        if (config.isResponseDecompression()) {
+            headers.put("Accept-Encoding", GZIP);
+        }
+    }
+
+    /**
+     * 获取解压后的响应体
+     *
+     * 204、304及空响应体即使带有Content-Encoding: gzip也没有gzip头，直接返回原响应体。
+     * 读取完毕后调用方需要关闭返回的流以释放解压使用的Inflater（本地内存）；
+     * 关闭它不会关闭原响应体，连接仍由TransportResponse.close按传输实现的策略释放
+     *
+     * @param response 传输层响应
+     * @return 逻辑响应体输入流
+     * @throws IOException 读取或解压失败
+     */
+    public InputStream decodeResponse(TransportResponse response) throws IOException {
+        InputStream wire = new CountingStream(new DetachedStream(response.getBody()), responseWireBytes);
+        String encoding = response.getHeader("Content-Encoding");
+        int status = response.getStatus();
+        if (encoding != null && GZIP.equalsIgnoreCase(encoding.trim()) && status != 204 && status != 304) {
+            PushbackInputStream body = new PushbackInputStream(wire, 1);
+            int first = body.read();
+            if (first < 0) {
+                return new CountingStream(body, responseBytes);
+            }
+            body.unread(first);
+            return new CountingStream(new GZIPInputStream(body, 8192), responseBytes);
+        }
+        return new CountingStream(wire, responseBytes);
+    }
+
+    private static byte[] gzip(byte[] body, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new LevelGzipOutputStream(out, level)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            // 写入内存流不会发生IO异常
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 获取压缩前的请求体字节数
+     */
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    /**
+     * 获取实际发送的请求体字节数
+     */
+    public long getRequestWireBytes() {
+        return requestWireBytes.sum();
+    }
+
+    /**
+     * 获取解压后读取的响应体字节数
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    /**
+     * 获取实际收到的响应体字节数
+     */
+    public long getResponseWireBytes() {
+        return responseWireBytes.sum();
+    }
+
+    /**
+     * 可以指定压缩级别的GZIPOutputStream
+     */
+    private static final class LevelGzipOutputStream extends GZIPOutputStream {
+        LevelGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * 把读取的字节数累加到共享计数器的输入流
+     */
+    private static final class CountingStream extends FilterInputStream {
+        private final LongAdder counter;
+
+        CountingStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.add(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * 关闭时不关闭原响应体的输入流
+     */
+    private static final class DetachedStream extends FilterInputStream {
+
+        DetachedStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // 原响应体由TransportResponse.close释放
+        }
+    }
+}
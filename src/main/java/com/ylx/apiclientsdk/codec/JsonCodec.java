@@ -0,0 +1,53 @@
+package com.ylx.apiclientsdk.codec;
+
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.json.JSONUtil;
+import com.ylx.apiclientsdk.exception.ErrorResponse;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON报文编码，所有网关都支持，也是协商失败时的回退编码
+ *
+ * @author ylx
+ */
+public final class JsonCodec implements WireCodec {
+    static final JsonCodec INSTANCE = new JsonCodec();
+
+    private static final String MEDIA_TYPE = "application/json";
+
+    private JsonCodec() {
+    }
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public boolean matches(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, MEDIA_TYPE, 0, MEDIA_TYPE.length());
+    }
+
+    @Override
+    public byte[] encodeRequest(BaseRequest<?, ?> request) {
+        StringBuilder json = new StringBuilder(128);
+        request.writeJson(json);
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <T extends ResultResponse> T decode(Class<T> clazz, InputStream body) throws IOException, ReflectiveOperationException {
+        return ResponseDecoder.decode(clazz, new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ErrorResponse decodeError(InputStream body) {
+        return JSONUtil.toBean(IoUtil.read(body, StandardCharsets.UTF_8), ErrorResponse.class);
+    }
+}
@@ -0,0 +1,280 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.ylx.apiclientsdk.exception.ErrorResponse;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MessagePack报文编码
+ *
+ * 数值以定长的二进制形式传输，不需要逐字符解析，数值密集的响应体积更小、解码更快。
+ * 内容模型与JSON相同（对象、数组、字符串、数值、布尔、null），请求参数先按JSON写出再转为MessagePack。
+ * Map模式直接解码为Map/List，数值与Gson一致统一为Double，因此ResultResponse.data的结构与使用JSON时一致；
+ * 标注了@TypedResponse的响应类先解码为JSON树，再由同一个TypeAdapter绑定。bin类型按Base64字符串处理，不支持扩展类型
+ *
+ * msgpack-core是可选依赖，只有classpath中存在时才会加载本类
+ *
+ * @author ylx
+ */
+public final class MsgPackCodec implements WireCodec {
+    public static final MsgPackCodec INSTANCE = new MsgPackCodec();
+
+    private static final String MEDIA_TYPE = "application/x-msgpack";
+    // 部分网关使用的另一个媒体类型
+    private static final String VND_MEDIA_TYPE = "application/vnd.msgpack";
+
+    private MsgPackCodec() {
+    }
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public boolean matches(String contentType) {
+        return contentType != null
+                && (contentType.regionMatches(true, 0, MEDIA_TYPE, 0, MEDIA_TYPE.length())
+                || contentType.regionMatches(true, 0, VND_MEDIA_TYPE, 0, VND_MEDIA_TYPE.length()));
+    }
+
+    @Override
+    public byte[] encodeRequest(BaseRequest<?, ?> request) {
+        StringBuilder json = new StringBuilder(128);
+        request.writeJson(json);
+        return encode(JsonParser.parseString(json.toString()));
+    }
+
+    /**
+     * 把JSON树编码为MessagePack
+     *
+     * @param tree JSON树
+     * @return MessagePack字节
+     */
+    public static byte[] encode(JsonElement tree) {
+        try (MessageBufferPacker packer = MessagePack.newDefaultBufferPacker()) {
+            pack(packer, tree);
+            return packer.toByteArray();
+        } catch (IOException e) {
+            // 写入内存缓冲区不会发生IO异常
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T extends ResultResponse> T decode(Class<T> clazz, InputStream body) throws IOException, ReflectiveOperationException {
+        if (ResponseDecoder.isTyped(clazz)) {
+            return ResponseDecoder.decode(clazz, read(body));
+        }
+        T rsp = ResponseDecoder.newInstance(clazz);
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(body)) {
+            if (!unpacker.hasNext()) {
+                return rsp;
+            }
+            if (unpacker.getNextFormat().getValueType() != ValueType.MAP) {
+                throw new IOException("MessagePack响应体必须是对象");
+            }
+            rsp.setData(unpackMap(unpacker));
+        }
+        return rsp;
+    }
+
+    @Override
+    public ErrorResponse decodeError(InputStream body) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse();
+        JsonElement tree = read(body);
+        if (tree != null && tree.isJsonObject()) {
+            JsonObject object = tree.getAsJsonObject();
+            JsonElement message = object.get("message");
+            JsonElement code = object.get("code");
+            if (message != null && message.isJsonPrimitive()) {
+                errorResponse.setMessage(message.getAsString());
+            }
+            if (code != null && code.isJsonPrimitive() && code.getAsJsonPrimitive().isNumber()) {
+                errorResponse.setCode(code.getAsInt());
+            }
+        }
+        return errorResponse;
+    }
+
+    /**
+     * 把MessagePack响应体读取为JSON树
+     *
+     * @param body 响应体
+     * @return JSON树，响应体为空时返回null
+     * @throws IOException 读取或解析失败
+     */
+    public static JsonElement read(InputStream body) throws IOException {
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(body)) {
+            if (!unpacker.hasNext()) {
+                return null;
+            }
+            return unpack(unpacker);
+        }
+    }
+
+    private static void pack(MessagePacker packer, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            packer.packNil();
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            packer.packMapHeader(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                packer.packString(entry.getKey());
+                pack(packer, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            packer.packArrayHeader(array.size());
+            for (JsonElement item : array) {
+                pack(packer, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                packer.packBoolean(primitive.getAsBoolean());
+            } else if (primitive.isNumber()) {
+                packNumber(packer, primitive.getAsString());
+            } else {
+                packer.packString(primitive.getAsString());
+            }
+        }
+    }
+
+    /**
+     * 整数按最短的整数格式写入，其余数值写为float64
+     */
+    private static void packNumber(MessagePacker packer, String number) throws IOException {
+        boolean integral = number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0;
+        if (integral) {
+            // 18位以内的整数一定在long范围内，不需要借助BigInteger
+            if (number.length() <= 18) {
+                packer.packLong(Long.parseLong(number));
+                return;
+            }
+            BigInteger value = new BigInteger(number);
+            if (value.bitLength() < 64 || (value.signum() > 0 && value.bitLength() == 64)) {
+                packer.packBigInteger(value);
+                return;
+            }
+        }
+        packer.packDouble(new BigDecimal(number).doubleValue());
+    }
+
+    /**
+     * 按Map模式解码一个对象
+     */
+    private static Map<String, Object> unpackMap(MessageUnpacker unpacker) throws IOException {
+        int size = unpacker.unpackMapHeader();
+        Map<String, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(unpackKey(unpacker), unpackObject(unpacker));
+        }
+        return map;
+    }
+
+    /**
+     * 按Map模式解码一个值，数值统一为Double，与Gson的Map模式一致
+     */
+    private static Object unpackObject(MessageUnpacker unpacker) throws IOException {
+        MessageFormat format = unpacker.getNextFormat();
+        switch (format.getValueType()) {
+            case NIL:
+                unpacker.unpackNil();
+                return null;
+            case BOOLEAN:
+                return unpacker.unpackBoolean();
+            case INTEGER:
+                if (format == MessageFormat.UINT64) {
+                    return unpacker.unpackBigInteger().doubleValue();
+                }
+                return (double) unpacker.unpackLong();
+            case FLOAT:
+                return unpacker.unpackDouble();
+            case STRING:
+                return unpacker.unpackString();
+            case BINARY:
+                return Base64.getEncoder().encodeToString(unpacker.readPayload(unpacker.unpackBinaryHeader()));
+            case ARRAY:
+                int length = unpacker.unpackArrayHeader();
+                List<Object> list = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    list.add(unpackObject(unpacker));
+                }
+                return list;
+            case MAP:
+                return unpackMap(unpacker);
+            default:
+                throw new IOException("不支持的MessagePack类型：" + format);
+        }
+    }
+
+    private static String unpackKey(MessageUnpacker unpacker) throws IOException {
+        if (unpacker.getNextFormat().getValueType() != ValueType.STRING) {
+            throw new IOException("MessagePack对象的键必须是字符串");
+        }
+        return unpacker.unpackString();
+    }
+
+    private static JsonElement unpack(MessageUnpacker unpacker) throws IOException {
+        MessageFormat format = unpacker.getNextFormat();
+        switch (format.getValueType()) {
+            case NIL:
+                unpacker.unpackNil();
+                return JsonNull.INSTANCE;
+            case BOOLEAN:
+                return new JsonPrimitive(unpacker.unpackBoolean());
+            case INTEGER:
+                if (format == MessageFormat.UINT64) {
+                    return new JsonPrimitive(unpacker.unpackBigInteger());
+                }
+                return new JsonPrimitive(unpacker.unpackLong());
+            case FLOAT:
+                return new JsonPrimitive(unpacker.unpackDouble());
+            case STRING:
+                return new JsonPrimitive(unpacker.unpackString());
+            case BINARY:
+                byte[] bytes = unpacker.readPayload(unpacker.unpackBinaryHeader());
+                return new JsonPrimitive(Base64.getEncoder().encodeToString(bytes));
+            case ARRAY:
+                int length = unpacker.unpackArrayHeader();
+                JsonArray array = new JsonArray(length);
+                for (int i = 0; i < length; i++) {
+                    array.add(unpack(unpacker));
+                }
+                return array;
+            case MAP:
+                int size = unpacker.unpackMapHeader();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    object.add(unpackKey(unpacker), unpack(unpacker));
+                }
+                return object;
+            default:
+                throw new IOException("不支持的MessagePack类型：" + format);
+        }
+    }
+}
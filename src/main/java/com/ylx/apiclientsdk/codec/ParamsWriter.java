@@ -0,0 +1,29 @@
+package com.ylx.apiclientsdk.codec;
+
+/**
+ * 请求参数编码器
+ * 由ApiRequestProcessor在编译期为标注了@ApiRequest的请求类生成，直接读取参数对象的属性写入查询字符串或JSON请求体，
+ * 不经过中间Map，也不使用反射
+ *
+ * @param <O> 请求参数的类型
+ * @author ylx
+ */
+public interface ParamsWriter<O> {
+
+    /**
+     * 将参数以key=value&key=value的形式写入查询字符串，参数名和值经过百分号编码，值为null的参数会被忽略
+     *
+     * @param params 请求参数对象
+     * @param sb 目标缓冲区
+     * @return 是否写入了至少一个参数
+     */
+    boolean writeQuery(O params, StringBuilder sb);
+
+    /**
+     * 将参数以JSON对象的形式写入请求体，值为null的参数会被忽略
+     *
+     * @param params 请求参数对象
+     * @param sb 目标缓冲区
+     */
+    void writeJson(O params, StringBuilder sb);
+}
@@ -0,0 +1,268 @@
+package com.ylx.apiclientsdk.codec;
+
+import cn.hutool.json.JSONUtil;
+import com.ylx.apiclientsdk.annotation.ApiRequest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 参数编码器的查找与生成代码使用的写入方法
+ *
+ * @author ylx
+ */
+public final class ParamsWriters {
+    /**
+     * 生成的编码器类名后缀
+     */
+    public static final String SUFFIX = "ParamsWriter";
+
+    // 每个请求类只查找一次生成的编码器，未生成时缓存为null
+    private static final ClassValue<ParamsWriter<?>> WRITERS = new ClassValue<ParamsWriter<?>>() {
+        @Override
+        protected ParamsWriter<?> computeValue(Class<?> type) {
+            if (!type.isAnnotationPresent(ApiRequest.class)) {
+                return null;
+            }
+            try {
+                Class<?> writerClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+                return (ParamsWriter<?>) writerClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    };
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    // 需要编码的参数名（Map形式的参数）的编码结果，数量有上限，超出后不再缓存
+    private static final int MAX_ENCODED_KEYS = 1024;
+    private static final ConcurrentMap<String, String> ENCODED_KEYS = new ConcurrentHashMap<>();
+
+    private ParamsWriters() {
+    }
+
+    /**
+     * 查找请求类对应的编码器
+     *
+     * @param requestClass 请求类
+     * @param <O> 请求参数的类型
+     * @return 生成的编码器，没有时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <O> ParamsWriter<O> lookup(Class<?> requestClass) {
+        return (ParamsWriter<O>) WRITERS.get(requestClass);
+    }
+
+    // ------------------------- 查询字符串 -------------------------
+
+    /**
+     * 按RFC 3986对参数名做百分号编码，生成的编码器在类初始化时调用一次并保存结果
+     *
+     * @param key 参数名
+     * @return 编码后的参数名，不需要编码时返回原字符串
+     */
+    public static String queryKey(String key) {
+        if (!needsEncoding(key)) {
+            return key;
+        }
+        String encoded = ENCODED_KEYS.get(key);
+        if (encoded == null) {
+            encoded = percentEncode(new StringBuilder(key.length() * 3), key).toString();
+            if (ENCODED_KEYS.size() < MAX_ENCODED_KEYS) {
+                ENCODED_KEYS.putIfAbsent(key, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    /*
+     * 以下方法的key均为queryKey编码后的参数名；字符串、字符和对象的值按UTF-8做百分号编码，
+     * 空格编码为%20，&、=、+等保留字符都会被编码。整数、布尔以及浮点数的字符串形式只包含不需要编码的字符，直接写入
+     */
+
+    public static boolean query(StringBuilder sb, boolean first, String key, String value) {
+        percentEncode(separator(sb, first).append(key).append('='), value);
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, long value) {
+        separator(sb, first).append(key).append('=').append(value);
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, double value) {
+        separator(sb, first).append(key).append('=').append(value);
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, float value) {
+        separator(sb, first).append(key).append('=').append(value);
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, boolean value) {
+        separator(sb, first).append(key).append('=').append(value);
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, char value) {
+        percentEncode(separator(sb, first).append(key).append('='), String.valueOf(value));
+        return false;
+    }
+
+    public static boolean query(StringBuilder sb, boolean first, String key, Object value) {
+        separator(sb, first).append(key).append('=');
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            percentEncode(sb, String.valueOf(value));
+        }
+        return false;
+    }
+
+    private static StringBuilder separator(StringBuilder sb, boolean first) {
+        return first ? sb : sb.append('&');
+    }
+
+    private static boolean needsEncoding(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (!isUnreserved(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * RFC 3986的非保留字符：字母、数字和-._~
+     */
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    /**
+     * 把字符串按UTF-8做百分号编码后写入缓冲区，逐字符处理，不生成中间的字节数组；
+     * 不成对的代理字符与String.getBytes一样按?处理
+     */
+    private static StringBuilder percentEncode(StringBuilder sb, String s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (isUnreserved(c)) {
+                sb.append(c);
+            } else if (c < 0x80) {
+                appendByte(sb, c);
+            } else if (c < 0x800) {
+                appendByte(sb, 0xC0 | (c >> 6));
+                appendByte(sb, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                appendByte(sb, 0xF0 | (codePoint >> 18));
+                appendByte(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendByte(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(sb, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                appendByte(sb, '?');
+            } else {
+                appendByte(sb, 0xE0 | (c >> 12));
+                appendByte(sb, 0x80 | ((c >> 6) & 0x3F));
+                appendByte(sb, 0x80 | (c & 0x3F));
+            }
+        }
+        return sb;
+    }
+
+    private static void appendByte(StringBuilder sb, int b) {
+        sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    // ------------------------- JSON -------------------------
+
+    public static boolean json(StringBuilder sb, boolean first, String key, String value) {
+        jsonString(jsonKey(sb, first, key), value);
+        return false;
+    }
+
+    public static boolean json(StringBuilder sb, boolean first, String key, long value) {
+        jsonKey(sb, first, key).append(value);
+        return false;
+    }
+
+    public static boolean json(StringBuilder sb, boolean first, String key, double value) {
+        jsonKey(sb, first, key).append(value);
+        return false;
+    }
+
+    public static boolean json(StringBuilder sb, boolean first, String key, float value) {
+        jsonKey(sb, first, key).append(value);
+        return false;
+    }
+
+    public static boolean json(StringBuilder sb, boolean first, String key, boolean value) {
+        jsonKey(sb, first, key).append(value);
+        return false;
+    }
+
+    public static boolean json(StringBuilder sb, boolean first, String key, char value) {
+        jsonString(jsonKey(sb, first, key), String.valueOf(value));
+        return false;
+    }
+
+    /**
+     * 写入非基本类型的值：数字和布尔直接写入，字符串和枚举按字符串写入，其他类型交给hutool序列化
+     */
+    public static boolean json(StringBuilder sb, boolean first, String key, Object value) {
+        jsonKey(sb, first, key);
+        if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum) {
+            jsonString(sb, value.toString());
+        } else {
+            sb.append(JSONUtil.toJsonStr(value));
+        }
+        return false;
+    }
+
+    private static StringBuilder jsonKey(StringBuilder sb, boolean first, String key) {
+        if (!first) {
+            sb.append(',');
+        }
+        return sb.append('"').append(key).append("\":");
+    }
+
+    /**
+     * 写入带转义的JSON字符串
+     */
+    private static void jsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,202 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.ylx.apiclientsdk.annotation.TypedResponse;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * 响应解码器
+ * 每个响应类只解析一次构造器和Gson TypeAdapter并缓存，解码时直接从响应流读取
+ *
+ * @author ylx
+ */
+public final class ResponseDecoder {
+    // Gson实例是线程安全的，全局共享，内部会缓存各类型的TypeAdapter
+    private static final Gson GSON = new Gson();
+    // Map模式使用的类型
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {
+    }.getType();
+    // Map模式使用的TypeAdapter
+    private static final TypeAdapter<Map<String, Object>> MAP_ADAPTER =
+            GSON.getAdapter(new TypeToken<Map<String, Object>>() {
+            });
+
+    // 每个响应类的绑定信息
+    private static final ClassValue<Binding<?>> BINDINGS = new ClassValue<Binding<?>>() {
+        @Override
+        protected Binding<?> computeValue(Class<?> type) {
+            return new Binding<>(type);
+        }
+    };
+
+    private ResponseDecoder() {
+    }
+
+    /**
+     * 获取共享的Gson实例
+     *
+     * @return Gson实例
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * 从响应流解码响应对象
+     * 标注了@TypedResponse的响应类按字段绑定，否则按Map模式放入data
+     *
+     * @param clazz 响应类
+     * @param reader 响应体
+     * @param <T> 响应类型
+     * @return 响应对象
+     * @throws IOException 读取或解析失败
+     * @throws ReflectiveOperationException 响应类无法实例化
+     */
+    public static <T extends ResultResponse> T decode(Class<T> clazz, Reader reader) throws IOException, ReflectiveOperationException {
+        Binding<T> binding = binding(clazz);
+        // 与Gson.fromJson保持一致：宽松解析，空响应体得到空的响应对象
+        JsonReader jsonReader = newJsonReader(reader);
+        try {
+            jsonReader.peek();
+        } catch (EOFException e) {
+            return binding.newInstance();
+        }
+        if (binding.typedAdapter != null) {
+            T rsp = binding.typedAdapter.read(jsonReader);
+            return rsp != null ? rsp : binding.newInstance();
+        }
+        T rsp = binding.newInstance();
+        Map<String, Object> data = MAP_ADAPTER.read(jsonReader);
+        if (data != null) {
+            rsp.setData(data);
+        }
+        return rsp;
+    }
+
+    /**
+     * 从已解析的JSON树解码响应对象，绑定规则与decode一致，供二进制编码复用
+     *
+     * @param clazz 响应类
+     * @param tree 响应内容，为null或JSON null时得到空的响应对象
+     * @param <T> 响应类型
+     * @return 响应对象
+     * @throws ReflectiveOperationException 响应类无法实例化
+     */
+    public static <T extends ResultResponse> T decode(Class<T> clazz, JsonElement tree) throws ReflectiveOperationException {
+        Binding<T> binding = binding(clazz);
+        if (tree == null || tree.isJsonNull()) {
+            return binding.newInstance();
+        }
+        if (binding.typedAdapter != null) {
+            T rsp = binding.typedAdapter.fromJsonTree(tree);
+            return rsp != null ? rsp : binding.newInstance();
+        }
+        T rsp = binding.newInstance();
+        Map<String, Object> data = MAP_ADAPTER.fromJsonTree(tree);
+        if (data != null) {
+            rsp.setData(data);
+        }
+        return rsp;
+    }
+
+    /**
+     * 创建流式读取使用的JSON读取器，解析规则与decode一致
+     *
+     * @param reader 响应体
+     * @return JSON读取器
+     */
+    public static JsonReader newJsonReader(Reader reader) {
+        JsonReader jsonReader = GSON.newJsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /**
+     * 获取元素类型的TypeAdapter，Gson内部按类型缓存
+     *
+     * @param type 元素类型，传入Map.class时按Map模式解析
+     * @param <E> 元素类型
+     * @return TypeAdapter
+     */
+    public static <E> TypeAdapter<E> adapter(Class<E> type) {
+        return GSON.getAdapter(type);
+    }
+
+    /**
+     * 解码为Map，与原有Map模式的结果一致
+     *
+     * @param body 响应体
+     * @return 解析后的Map
+     */
+    public static Map<String, Object> decodeMap(String body) {
+        return GSON.fromJson(body, MAP_TYPE);
+    }
+
+    /**
+     * 判断响应类是否按字段绑定（标注了@TypedResponse）
+     *
+     * @param clazz 响应类
+     * @return 是否按字段绑定
+     */
+    public static boolean isTyped(Class<? extends ResultResponse> clazz) {
+        return binding(clazz).typedAdapter != null;
+    }
+
+    /**
+     * 使用缓存的构造器创建响应对象
+     *
+     * @param clazz 响应类
+     * @param <T> 响应类型
+     * @return 新的响应对象
+     * @throws ReflectiveOperationException 构造失败
+     */
+    public static <T extends ResultResponse> T newInstance(Class<T> clazz) throws ReflectiveOperationException {
+        return binding(clazz).newInstance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Binding<T> binding(Class<T> clazz) {
+        return (Binding<T>) BINDINGS.get(clazz);
+    }
+
+    /**
+     * 响应类的绑定信息
+     */
+    private static final class Binding<T> {
+        private final Constructor<T> constructor;
+        private final ReflectiveOperationException constructorError;
+        private final TypeAdapter<T> typedAdapter;
+
+        Binding(Class<T> type) {
+            Constructor<T> found = null;
+            ReflectiveOperationException error = null;
+            try {
+                found = type.getDeclaredConstructor();
+                found.setAccessible(true);
+            } catch (NoSuchMethodException | SecurityException e) {
+                error = new NoSuchMethodException(type.getName() + "缺少无参构造器");
+            }
+            this.constructor = found;
+            this.constructorError = error;
+            this.typedAdapter = type.isAnnotationPresent(TypedResponse.class) ? GSON.getAdapter(type) : null;
+        }
+
+        T newInstance() throws ReflectiveOperationException {
+            if (constructor == null) {
+                throw constructorError;
+            }
+            return constructor.newInstance();
+        }
+    }
+}
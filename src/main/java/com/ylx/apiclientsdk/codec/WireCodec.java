@@ -0,0 +1,63 @@
+package com.ylx.apiclientsdk.codec;
+
+import com.ylx.apiclientsdk.exception.ErrorResponse;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 报文编码
+ *
+ * 负责把请求参数编码为请求体，以及把响应体解码为响应对象；
+ * 解码结果与JSON一致：标注了@TypedResponse的响应类按字段绑定，否则按Map模式放入data
+ *
+ * @author ylx
+ */
+public interface WireCodec {
+
+    /**
+     * 媒体类型，用于Content-Type和Accept，例如 application/json
+     *
+     * @return 媒体类型
+     */
+    String getMediaType();
+
+    /**
+     * 判断响应的Content-Type是否属于本编码
+     *
+     * @param contentType 响应的Content-Type，可能带有charset等参数
+     * @return 是否属于本编码
+     */
+    boolean matches(String contentType);
+
+    /**
+     * 编码请求体，签名与发送使用返回的同一份字节
+     *
+     * @param request 请求对象
+     * @return 请求体
+     */
+    byte[] encodeRequest(BaseRequest<?, ?> request);
+
+    /**
+     * 从响应流解码响应对象
+     *
+     * @param clazz 响应类
+     * @param body 响应体
+     * @param <T> 响应类型
+     * @return 响应对象
+     * @throws IOException 读取或解析失败
+     * @throws ReflectiveOperationException 响应类无法实例化
+     */
+    <T extends ResultResponse> T decode(Class<T> clazz, InputStream body) throws IOException, ReflectiveOperationException;
+
+    /**
+     * 解码非200响应中的错误信息
+     *
+     * @param body 响应体
+     * @return 错误信息
+     * @throws IOException 读取或解析失败
+     */
+    ErrorResponse decodeError(InputStream body) throws IOException;
+}
@@ -1,38 +1,276 @@
 package com.ylx.apiclientsdk.config;
 
+import com.ylx.apiclientsdk.async.ApiExecutors;
+import com.ylx.apiclientsdk.async.ExecutorConfig;
+import com.ylx.apiclientsdk.cache.CacheConfig;
+import com.ylx.apiclientsdk.cache.ResponseCache;
 import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.client.CredentialCache;
+import com.ylx.apiclientsdk.loadbalance.LoadBalancer;
+import com.ylx.apiclientsdk.loadbalance.LoadBalancerConfig;
+import com.ylx.apiclientsdk.loadbalance.LoadBalancingTransport;
+import com.ylx.apiclientsdk.codec.CodecConfig;
+import com.ylx.apiclientsdk.codec.CodecNegotiator;
+import com.ylx.apiclientsdk.codec.CompressionConfig;
+import com.ylx.apiclientsdk.codec.ContentCompression;
+import com.ylx.apiclientsdk.logging.AccessLogConfig;
+import com.ylx.apiclientsdk.logging.AccessLogListener;
+import com.ylx.apiclientsdk.metrics.CompositeRequestListener;
+import com.ylx.apiclientsdk.metrics.MicrometerRequestListener;
+import com.ylx.apiclientsdk.metrics.RequestListener;
+import com.ylx.apiclientsdk.model.enums.TransportTypeEnum;
+import com.ylx.apiclientsdk.resilience.QuotaLimiter;
+import com.ylx.apiclientsdk.resilience.RateLimitConfig;
+import com.ylx.apiclientsdk.resilience.RetryConfig;
+import com.ylx.apiclientsdk.resilience.RetryingTransport;
+import com.ylx.apiclientsdk.resilience.RouteGuardConfig;
+import com.ylx.apiclientsdk.resilience.RouteGuards;
 import com.ylx.apiclientsdk.service.ApiService;
+import com.ylx.apiclientsdk.service.ReactiveApiService;
 import com.ylx.apiclientsdk.service.impl.ApiServiceImpl;
+import com.ylx.apiclientsdk.service.impl.ReactiveApiServiceImpl;
+import com.ylx.apiclientsdk.transport.Http2Config;
+import com.ylx.apiclientsdk.transport.Http2Transport;
+import com.ylx.apiclientsdk.transport.HutoolTransport;
+import com.ylx.apiclientsdk.transport.PoolConfig;
+import com.ylx.apiclientsdk.transport.PooledTransport;
+import com.ylx.apiclientsdk.transport.TimeoutConfig;
+import com.ylx.apiclientsdk.transport.Transport;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
-@Configuration
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * API客户端自动配置
+ *
+ * 通过META-INF/spring.factories注册，api.client.enabled=false时整体关闭；
+ * 各Bean都可以由应用自行定义同类型的Bean覆盖
+ *
+ * @author ylx
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @ConfigurationProperties("api.client")
+@ConditionalOnProperty(prefix = "api.client", name = "enabled", havingValue = "true", matchIfMissing = true)
 @Data
-@ComponentScan
+@Slf4j
 public class ApiClientConfig {
+    /**
+     * 是否启用自动配置
+     */
+    private boolean enabled = true;
     private String accessKey;
     private String secretKey;
     /**
      * 网关
      */
     private String host;
+    /**
+     * 多个网关节点地址，配置后请求按loadBalancer的策略分发到各节点；
+     * 未配置host时以第一个节点的地址作为请求URL中的逻辑网关地址
+     */
+    private List<String> hosts = new ArrayList<>();
+    /**
+     * 多网关负载均衡、异常节点摘除与健康检查配置，配置了hosts时生效
+     */
+    @NestedConfigurationProperty
+    private LoadBalancerConfig loadBalancer = new LoadBalancerConfig();
+    /**
+     * 凭证缓存的最大租户数
+     */
+    private long credentialCacheSize = CredentialCache.DEFAULT_MAXIMUM_SIZE;
+    /**
+     * 传输实现，默认使用连接池（pooled）；Java 11及以上可使用多路复用的http2，也可回退为hutool
+     */
+    private TransportTypeEnum transport = TransportTypeEnum.POOLED;
+    /**
+     * 连接池配置
+     */
+    @NestedConfigurationProperty
+    private PoolConfig pool = new PoolConfig();
+    /**
+     * HTTP/2传输配置，transport为http2时生效
+     */
+    @NestedConfigurationProperty
+    private Http2Config http2 = new Http2Config();
+    /**
+     * 默认的连接、读取和总超时配置，总超时可以在请求上覆盖
+     */
+    @NestedConfigurationProperty
+    private TimeoutConfig timeout = new TimeoutConfig();
+    /**
+     * 异步请求线程池配置
+     */
+    @NestedConfigurationProperty
+    private ExecutorConfig executor = new ExecutorConfig();
+    /**
+     * 响应缓存配置
+     */
+    @NestedConfigurationProperty
+    private CacheConfig cache = new CacheConfig();
+    /**
+     * 重试与对冲请求配置
+     */
+    @NestedConfigurationProperty
+    private RetryConfig retry = new RetryConfig();
+    /**
+     * 路由级自适应并发限制与熔断配置
+     */
+    @NestedConfigurationProperty
+    private RouteGuardConfig routeGuard = new RouteGuardConfig();
+    /**
+     * 按accessKey的客户端调用配额配置
+     */
+    @NestedConfigurationProperty
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+    /**
+     * 请求与响应压缩配置
+     */
+    @NestedConfigurationProperty
+    private CompressionConfig compression = new CompressionConfig();
+    /**
+     * 报文编码配置
+     */
+    @NestedConfigurationProperty
+    private CodecConfig codec = new CodecConfig();
+    /**
+     * 访问日志配置
+     */
+    @NestedConfigurationProperty
+    private AccessLogConfig accessLog = new AccessLogConfig();
+    /**
+     * 启动预热配置
+     */
+    @NestedConfigurationProperty
+    private WarmupConfig warmup = new WarmupConfig();
+
     @Bean
+    @ConditionalOnMissingBean
     public ApiClient apiClient() {
         return new ApiClient(accessKey, secretKey);
     }
 
     @Bean
-    public ApiService apiService() {
+    @ConditionalOnMissingBean
+    public Transport apiTransport(ObjectProvider<LoadBalancer> loadBalancers) {
+        Transport delegate;
+        if (transport == TransportTypeEnum.HUTOOL) {
+            delegate = new HutoolTransport();
+        } else if (transport == TransportTypeEnum.HTTP2 && Http2Transport.isSupported()) {
+            delegate = new Http2Transport(http2);
+        } else {
+            if (transport == TransportTypeEnum.HTTP2) {
+                log.warn("HTTP/2传输需要Java 11及以上版本，回退为连接池实现");
+            }
+            delegate = new PooledTransport(pool);
+        }
+        if (!hosts.isEmpty()) {
+            // 重试在负载均衡之外，每次重试都会重新选择节点
+            delegate = new LoadBalancingTransport(delegate, gatewayHost(), hosts, loadBalancer,
+                    loadBalancers.getIfAvailable(() -> LoadBalancer.of(loadBalancer.getStrategy())));
+        }
+        if (retry.isEnabled()) {
+            return new RetryingTransport(delegate, retry);
+        }
+        return delegate;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiService apiService(ApiClient apiClient, Transport apiTransport, ObjectProvider<RequestListener> requestListeners) {
         ApiServiceImpl apiService = new ApiServiceImpl();
-        apiService.setApiClient(new ApiClient(accessKey, secretKey));
-        if (StringUtils.isNotBlank(host)){
-            apiService.setGatewayHost(host);
+        apiService.setApiClient(apiClient);
+        apiService.setTransport(apiTransport);
+        apiService.setTimeout(timeout);
+        apiService.setCredentialCache(new CredentialCache(credentialCacheSize));
+        apiService.setExecutor(ApiExecutors.newExecutor(executor));
+        apiService.setContentCompression(new ContentCompression(compression));
+        apiService.setCodecNegotiator(new CodecNegotiator(codec));
+        if (cache.isEnabled()) {
+            apiService.setResponseCache(new ResponseCache(cache));
+        }
+        if (routeGuard.isEnabled()) {
+            apiService.setRouteGuards(new RouteGuards(routeGuard));
+        }
+        if (rateLimit.isEnabled()) {
+            apiService.setQuotaLimiter(new QuotaLimiter(rateLimit));
+        }
+        apiService.setRequestListener(CompositeRequestListener.of(requestListeners.orderedStream().collect(Collectors.toList())));
+        if (StringUtils.isNotBlank(gatewayHost())){
+            apiService.setGatewayHost(gatewayHost());
         }
         return apiService;
     }
+
+    /**
+     * 请求URL中的网关地址：优先使用host，否则使用hosts中的第一个
+     */
+    private String gatewayHost() {
+        if (StringUtils.isNotBlank(host) || hosts.isEmpty()) {
+            return host;
+        }
+        return hosts.get(0);
+    }
+
+    /**
+     * 启用访问日志时，以监听器的形式异步输出每个请求的结构化日志
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "api.client.access-log", name = "enabled", havingValue = "true")
+    public AccessLogListener accessLogListener() {
+        return new AccessLogListener(accessLog);
+    }
+
+    /**
+     * 启用预热时，在应用对外就绪之前预热签名路径并预先建立网关连接
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "api.client.warmup", name = "enabled", havingValue = "true")
+    public ApiClientWarmup apiClientWarmup(ApiService apiService) {
+        return new ApiClientWarmup(apiService, warmup);
+    }
+
+    /**
+     * classpath中存在Micrometer且容器中有MeterRegistry时，把请求指标输出到MeterRegistry；
+     * 没有MeterRegistry时不注册监听器，请求不会为指标创建事件
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(MeterRegistry.class)
+        public MicrometerRequestListener micrometerRequestListener(MeterRegistry meterRegistry) {
+            return new MicrometerRequestListener(meterRegistry);
+        }
+    }
+
+    /**
+     * classpath中存在Reactive Streams时，提供返回Publisher的ReactiveApiService
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.reactivestreams.Publisher")
+    static class ReactiveConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveApiService reactiveApiService(ApiService apiService) {
+            return new ReactiveApiServiceImpl(apiService);
+        }
+    }
 }
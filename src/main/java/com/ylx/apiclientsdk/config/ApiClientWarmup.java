@@ -0,0 +1,88 @@
+package com.ylx.apiclientsdk.config;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.service.ApiService;
+import com.ylx.apiclientsdk.service.BaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 应用启动时预热API客户端
+ *
+ * 在Web服务器启动之前同步执行预热，预热期间应用的就绪状态为REFUSING_TRAFFIC；
+ * Spring Boot在启动完成后才发布ACCEPTING_TRAFFIC，因此就绪探针只会在预热结束后通过。
+ * 应用自行定义的ApiService不是BaseService的子类时跳过预热
+ *
+ * @author ylx
+ */
+@Slf4j
+public class ApiClientWarmup implements SmartLifecycle, ApplicationEventPublisherAware {
+    /**
+     * 早于Web服务器（WebServerStartStopLifecycle，Integer.MAX_VALUE - 1）启动
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 1024;
+
+    private final ApiService apiService;
+    private final WarmupConfig config;
+    private ApplicationEventPublisher publisher;
+    private volatile boolean running;
+
+    public ApiClientWarmup(ApiService apiService, WarmupConfig config) {
+        this.apiService = apiService;
+        this.config = config;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void start() {
+        if (publisher != null) {
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+        if (!(apiService instanceof BaseService)) {
+            log.warn("{}不支持预热，已跳过", apiService.getClass().getName());
+            running = true;
+            return;
+        }
+        BaseService service = (BaseService) apiService;
+        try {
+            int opened = service.warmUp(config);
+            if (opened < config.getConnections() && StringUtils.isNotBlank(service.getGatewayHost())) {
+                fail("只建立了" + opened + "/" + config.getConnections() + "个网关连接", null);
+            }
+        } catch (ApiException e) {
+            fail(e.getMessage(), e);
+        }
+        running = true;
+    }
+
+    private void fail(String message, Exception cause) {
+        if (config.isFailOnError()) {
+            throw new IllegalStateException("API客户端预热失败：" + message, cause);
+        }
+        log.warn("API客户端预热未完成：{}", message);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
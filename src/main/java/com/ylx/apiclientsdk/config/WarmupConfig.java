@@ -0,0 +1,36 @@
+package com.ylx.apiclientsdk.config;
+
+import lombok.Data;
+
+/**
+ * 启动预热配置
+ *
+ * @author ylx
+ */
+@Data
+public class WarmupConfig {
+    /**
+     * 是否在应用启动时预热，预热完成前应用不会对外报告就绪
+     */
+    private boolean enabled = false;
+    /**
+     * 参数编码、签名和报文编解码路径在本地执行的次数，用于完成类加载和JIT编译，不发送请求
+     */
+    private int iterations = 2_000;
+    /**
+     * 预先建立的网关连接数（含DNS解析和TLS握手），不应超过连接池的单路由连接数上限
+     */
+    private int connections = 4;
+    /**
+     * 建立连接时请求的路径，不携带签名，网关返回的任何状态码都视为连接可用
+     */
+    private String path = "/";
+    /**
+     * 预热的总超时时间（毫秒），超时后放弃剩余的预热
+     */
+    private long timeout = 10_000;
+    /**
+     * 预热失败（有连接未能建立）时是否中止应用启动，默认只输出警告
+     */
+    private boolean failOnError = false;
+}
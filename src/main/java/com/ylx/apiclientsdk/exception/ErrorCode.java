@@ -35,7 +35,23 @@ public enum ErrorCode {
     /**
      * 操作错误
      */
-    OPERATION_ERROR(50001, "操作失败");
+    OPERATION_ERROR(50001, "操作失败"),
+    /**
+     * 超过调用配额
+     */
+    TOO_MANY_REQUESTS_ERROR(42900, "请求过于频繁"),
+    /**
+     * 请求并发数超过限制
+     */
+    CONCURRENCY_LIMIT_ERROR(42901, "请求并发数超过限制"),
+    /**
+     * 服务熔断中
+     */
+    CIRCUIT_OPEN_ERROR(50300, "服务熔断中，请稍后重试"),
+    /**
+     * 请求超时
+     */
+    TIMEOUT_ERROR(50400, "请求超时");
 
     /**
      * 错误码
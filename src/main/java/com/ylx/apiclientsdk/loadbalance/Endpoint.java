@@ -0,0 +1,256 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个网关节点及其运行状态
+ *
+ * 延迟按Peak EWMA统计：比当前值高的采样立即生效，低的采样按距上次更新的时间指数衰减地并入，
+ * 没有新采样时估计值随时间衰减到0，被冷落的慢节点过一段时间后会重新得到试探流量。
+ * 估计值和更新时间保存在不可变对象中，记录采样时CAS替换，读取时按当前时间计算衰减，都不加锁
+ *
+ * @author ylx
+ */
+public final class Endpoint {
+    // 还没有延迟采样但已有请求在进行中的节点的负载，保证优先选择空闲节点
+    private static final double PENALTY = 1e15;
+    // 故障至少按该延迟（纳秒）计入，避免快速失败（如连接被拒绝）的节点因延迟低而被优先选择
+    private static final long FAILURE_LATENCY = TimeUnit.SECONDS.toNanos(1);
+
+    private final String url;
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    // 延迟EWMA及其更新时间
+    private final AtomicReference<Latency> latency = new AtomicReference<>(new Latency(0, System.nanoTime()));
+
+    // 摘除截止时间（System.nanoTime），0表示未被摘除
+    private volatile long ejectedUntil;
+    // 以下两个字段只在LoadBalancingTransport持有锁时访问
+    private int ejections;
+    private long lastEjectionEnd;
+
+    // 主动健康检查的结果，以下两个计数只在检查线程中访问
+    private volatile boolean healthy = true;
+    private int probeSuccesses;
+    private int probeFailures;
+
+    Endpoint(String url, long ewmaDecayMillis) {
+        this.url = url;
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, ewmaDecayMillis));
+    }
+
+    /**
+     * 节点地址，不以/结尾
+     *
+     * @return 节点地址
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * 正在进行的请求数，响应关闭后才减少
+     *
+     * @return 未完成的请求数
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * 当前的延迟估计
+     *
+     * @return 延迟EWMA（毫秒）
+     */
+    public double getLatencyEwmaMillis() {
+        return latency.get().decayed(System.nanoTime(), decayNanos) / 1_000_000.0;
+    }
+
+    /**
+     * 节点的负载：延迟估计 ×（未完成请求数 + 1），用于两次随机选择时比较
+     *
+     * @return 负载，越小越优先
+     */
+    public double load() {
+        int active = outstanding.get();
+        double cost = latency.get().decayed(System.nanoTime(), decayNanos);
+        if (cost == 0 && active > 0) {
+            return PENALTY + active;
+        }
+        return cost * (active + 1);
+    }
+
+    /**
+     * 发往该节点的请求总数
+     *
+     * @return 请求数
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * 该节点发生故障（网络异常或故障状态码）的请求总数
+     *
+     * @return 故障数
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * 是否通过了主动健康检查，未启用健康检查时总是true
+     *
+     * @return 是否健康
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * 当前是否因连续故障被摘除
+     *
+     * @return 是否被摘除
+     */
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long now) {
+        long until = ejectedUntil;
+        return until != 0 && now - until < 0;
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && !isEjected(now);
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * 记录一次请求的结果
+     *
+     * @param elapsedNanos 收到响应头（或失败）的耗时
+     * @param failed 是否为故障
+     * @return 当前的连续故障次数
+     */
+    int record(long elapsedNanos, boolean failed) {
+        observe(failed ? Math.max(elapsedNanos, FAILURE_LATENCY) : elapsedNanos);
+        if (!failed) {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return 0;
+        }
+        failures.increment();
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    private void observe(double rtt) {
+        while (true) {
+            Latency current = latency.get();
+            long now = System.nanoTime();
+            double ewma;
+            if (rtt > current.ewma) {
+                ewma = rtt;
+            } else {
+                double weight = current.weight(now, decayNanos);
+                ewma = current.ewma * weight + rtt * (1 - weight);
+            }
+            if (latency.compareAndSet(current, new Latency(ewma, now - current.stamp < 0 ? current.stamp : now))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 摘除节点，摘除时长按最近的摘除次数指数增长
+     *
+     * @return 本次摘除的时长（纳秒）
+     */
+    long eject(long now, long baseNanos, long maxNanos) {
+        if (ejections > 0 && now - lastEjectionEnd > maxNanos) {
+            ejections = 0;
+        }
+        long duration = baseNanos;
+        for (int i = 0; i < ejections && duration < maxNanos; i++) {
+            duration <<= 1;
+        }
+        duration = Math.min(duration, maxNanos);
+        ejections++;
+        lastEjectionEnd = now + duration;
+        ejectedUntil = lastEjectionEnd;
+        consecutiveFailures.set(0);
+        return duration;
+    }
+
+    /**
+     * 记录一次主动健康检查的结果
+     *
+     * @return 健康状态是否发生了变化
+     */
+    boolean probed(boolean success, int healthyThreshold, int unhealthyThreshold) {
+        if (success) {
+            probeFailures = 0;
+            if (!healthy && ++probeSuccesses >= healthyThreshold) {
+                probeSuccesses = 0;
+                healthy = true;
+                return true;
+            }
+        } else {
+            probeSuccesses = 0;
+            if (healthy && ++probeFailures >= unhealthyThreshold) {
+                probeFailures = 0;
+                healthy = false;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+
+    /**
+     * 延迟EWMA（纳秒）及其更新时间
+     */
+    private static final class Latency {
+        private final double ewma;
+        private final long stamp;
+
+        Latency(double ewma, long stamp) {
+            this.ewma = ewma;
+            this.stamp = stamp;
+        }
+
+        /**
+         * 已有估计值在now时的权重，按距上次更新的时间指数衰减
+         */
+        double weight(long now, double decayNanos) {
+            return Math.exp(-Math.max(now - stamp, 0) / decayNanos);
+        }
+
+        /**
+         * 没有新采样时估计值在now时衰减后的值
+         */
+        double decayed(long now, double decayNanos) {
+            return ewma * weight(now, decayNanos);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 最少未完成请求：选择正在进行的请求最少的节点，相同时随机选择
+ *
+ * @author ylx
+ */
+public class LeastOutstandingBalancer implements LoadBalancer {
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        Endpoint best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        int ties = 0;
+        for (Endpoint endpoint : candidates) {
+            int outstanding = endpoint.getOutstanding();
+            if (outstanding < bestOutstanding) {
+                best = endpoint;
+                bestOutstanding = outstanding;
+                ties = 1;
+            } else if (outstanding == bestOutstanding && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                // 蓄水池抽样，在并列的节点中等概率选择
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+}
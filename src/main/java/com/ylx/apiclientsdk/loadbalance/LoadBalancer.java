@@ -0,0 +1,44 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import com.ylx.apiclientsdk.model.enums.LoadBalanceStrategyEnum;
+
+import java.util.List;
+
+/**
+ * 负载均衡策略，从可用的网关节点中为一次请求选择一个
+ *
+ * 实现需要是线程安全的。可以实现该接口并作为Bean注册，自动配置会用它替换内置的策略
+ *
+ * @author ylx
+ */
+public interface LoadBalancer {
+
+    /**
+     * 选择一个节点
+     *
+     * @param candidates 可用的节点，至少有两个
+     * @return 选中的节点
+     */
+    Endpoint choose(List<Endpoint> candidates);
+
+    /**
+     * 创建内置的负载均衡策略
+     *
+     * @param strategy 策略
+     * @return 负载均衡策略
+     */
+    static LoadBalancer of(LoadBalanceStrategyEnum strategy) {
+        if (strategy == null) {
+            return new PowerOfTwoChoicesBalancer();
+        }
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingBalancer();
+            case ROUND_ROBIN:
+                return new RoundRobinBalancer();
+            case P2C_EWMA:
+            default:
+                return new PowerOfTwoChoicesBalancer();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import com.ylx.apiclientsdk.model.enums.LoadBalanceStrategyEnum;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 多网关负载均衡、异常节点摘除与健康检查配置
+ *
+ * @author ylx
+ */
+@Data
+public class LoadBalancerConfig {
+    /**
+     * 负载均衡策略
+     */
+    private LoadBalanceStrategyEnum strategy = LoadBalanceStrategyEnum.P2C_EWMA;
+    /**
+     * 延迟EWMA的衰减时间（毫秒），越小越快反映节点最近的延迟变化；
+     * 延迟的峰值会立即计入，之后按该时间衰减，过大时一次偶发的慢请求会长时间影响节点的选择
+     */
+    private long ewmaDecay = 2_000;
+    /**
+     * 视为节点故障的响应状态码，连接失败等网络异常总是视为故障
+     */
+    private List<Integer> failureStatuses = Arrays.asList(502, 503, 504);
+    /**
+     * 连续故障达到该次数时摘除节点，小于等于0表示不摘除
+     */
+    private int consecutiveFailures = 5;
+    /**
+     * 第一次摘除的时长（毫秒），同一节点再次被摘除时翻倍
+     */
+    private long baseEjectionTime = 30_000;
+    /**
+     * 单次摘除的最长时长（毫秒）；节点超过该时长未被摘除时，摘除时长重新从baseEjectionTime开始
+     */
+    private long maxEjectionTime = 300_000;
+    /**
+     * 同时被摘除的节点占全部节点的最大百分比
+     */
+    private int maxEjectionPercent = 50;
+    /**
+     * 主动健康检查的间隔（毫秒），小于等于0表示不做主动健康检查；默认关闭，开启时必须同时配置probePath
+     */
+    private long probeInterval = 0;
+    /**
+     * 健康检查请求的路径，应为网关上无需签名的健康检查接口，请求不携带签名，状态码小于500即视为健康
+     */
+    private String probePath;
+    /**
+     * 健康检查请求的超时时间（毫秒）
+     */
+    private int probeTimeout = 2_000;
+    /**
+     * 不健康的节点连续检查成功该次数后恢复
+     */
+    private int healthyThreshold = 2;
+    /**
+     * 健康的节点连续检查失败该次数后标记为不健康
+     */
+    private int unhealthyThreshold = 3;
+}
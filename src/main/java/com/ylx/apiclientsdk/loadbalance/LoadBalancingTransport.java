@@ -0,0 +1,286 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import com.ylx.apiclientsdk.async.ApiExecutors;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+import com.ylx.apiclientsdk.transport.Transport;
+import com.ylx.apiclientsdk.transport.TransportRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 在多个网关节点之间分发请求的传输层装饰器
+ *
+ * BaseService按逻辑网关地址（gatewayHost）拼接URL，本类把该前缀替换为负载均衡策略选中的节点地址，
+ * 其他地址的请求原样交给被装饰的传输实现。每个节点统计未完成的请求数和延迟EWMA供策略使用；
+ * 连续发生网络异常或故障状态码的节点会被暂时摘除（被动异常检测），启用主动健康检查时，
+ * 后台线程定期探测每个节点，不健康的节点在恢复前不会被选中。没有可用节点时忽略摘除和健康状态，
+ * 在全部节点中选择，避免因误判而完全不可用。
+ * 重试由外层的RetryingTransport负责，每次重试都会重新选择节点
+ *
+ * @author ylx
+ */
+@Slf4j
+public class LoadBalancingTransport implements Transport, Closeable {
+    private final Transport delegate;
+    private final LoadBalancerConfig config;
+    private final LoadBalancer balancer;
+    private final String logicalHost;
+    private final List<Endpoint> endpoints;
+    private final Set<Integer> failureStatuses;
+    private final ScheduledExecutorService prober;
+
+    public LoadBalancingTransport(Transport delegate, List<String> hosts, LoadBalancerConfig config) {
+        this(delegate, null, hosts, config, LoadBalancer.of(config.getStrategy()));
+    }
+
+    /**
+     * @param delegate 实际执行请求的传输实现
+     * @param logicalHost 请求URL中的逻辑网关地址，为null时使用第一个节点的地址
+     * @param hosts 网关节点地址
+     * @param config 负载均衡配置
+     * @param balancer 负载均衡策略
+     */
+    public LoadBalancingTransport(Transport delegate, String logicalHost, List<String> hosts, LoadBalancerConfig config,
+                                  LoadBalancer balancer) {
+        if (hosts == null || hosts.isEmpty()) {
+            throw new IllegalArgumentException("至少需要配置一个网关地址");
+        }
+        this.delegate = delegate;
+        this.config = config;
+        this.balancer = balancer;
+        List<Endpoint> list = new ArrayList<>(hosts.size());
+        for (String host : hosts) {
+            list.add(new Endpoint(normalize(host), config.getEwmaDecay()));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.logicalHost = logicalHost != null ? normalize(logicalHost) : list.get(0).getUrl();
+        this.failureStatuses = new HashSet<>(config.getFailureStatuses());
+        if (config.getProbeInterval() > 0) {
+            if (config.getProbePath() == null || config.getProbePath().trim().isEmpty()) {
+                throw new IllegalArgumentException("启用主动健康检查时需要配置probePath");
+            }
+            this.prober = Executors.newSingleThreadScheduledExecutor(ApiExecutors.namedDaemonThreadFactory("api-client-probe-"));
+            prober.scheduleWithFixedDelay(this::probeAll, config.getProbeInterval(), config.getProbeInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            this.prober = null;
+        }
+    }
+
+    private static String normalize(String host) {
+        String url = host.trim();
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url;
+    }
+
+    /**
+     * 获取所有节点及其运行状态
+     *
+     * @return 节点列表
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        String url = request.getUrl();
+        if (!isLogical(url)) {
+            return delegate.execute(request);
+        }
+        Endpoint endpoint = choose();
+        TransportRequest routed = request.withUrl(endpoint.getUrl() + url.substring(logicalHost.length()));
+        endpoint.acquire();
+        long start = System.nanoTime();
+        TransportResponse response;
+        try {
+            response = delegate.execute(routed);
+        } catch (IOException | RuntimeException e) {
+            // 调用方取消或截止时间到期导致的中止与节点无关，不计为故障
+            Deadline deadline = request.getDeadline();
+            boolean aborted = deadline != null && (deadline.isCancelled() || deadline.isExpired());
+            onResult(endpoint, System.nanoTime() - start, !aborted);
+            endpoint.release();
+            throw e;
+        }
+        onResult(endpoint, System.nanoTime() - start, failureStatuses.contains(response.getStatus()));
+        return new BalancedResponse(response, endpoint);
+    }
+
+    private boolean isLogical(String url) {
+        if (url == null || !url.startsWith(logicalHost)) {
+            return false;
+        }
+        if (url.length() == logicalHost.length()) {
+            return true;
+        }
+        char next = url.charAt(logicalHost.length());
+        return next == '/' || next == '?';
+    }
+
+    /**
+     * 从可用的节点中选择一个，没有可用节点时依次放宽为健康的节点、全部节点
+     */
+    private Endpoint choose() {
+        List<Endpoint> all = endpoints;
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        long now = System.nanoTime();
+        List<Endpoint> candidates = all;
+        for (int i = 0; i < all.size(); i++) {
+            if (!all.get(i).isAvailable(now)) {
+                candidates = available(now);
+                break;
+            }
+        }
+        return candidates.size() == 1 ? candidates.get(0) : balancer.choose(candidates);
+    }
+
+    private List<Endpoint> available(long now) {
+        List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
+        }
+        if (available.isEmpty()) {
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.isHealthy()) {
+                    available.add(endpoint);
+                }
+            }
+        }
+        return available.isEmpty() ? endpoints : available;
+    }
+
+    private void onResult(Endpoint endpoint, long elapsedNanos, boolean failed) {
+        int failures = endpoint.record(elapsedNanos, failed);
+        if (failed && config.getConsecutiveFailures() > 0 && failures >= config.getConsecutiveFailures()) {
+            eject(endpoint, failures);
+        }
+    }
+
+    /**
+     * 摘除连续故障的节点，同时被摘除的节点数不超过maxEjectionPercent
+     */
+    private synchronized void eject(Endpoint endpoint, int failures) {
+        long now = System.nanoTime();
+        if (endpoint.isEjected(now)) {
+            return;
+        }
+        int ejected = 0;
+        for (Endpoint e : endpoints) {
+            if (e.isEjected(now)) {
+                ejected++;
+            }
+        }
+        if (ejected >= endpoints.size() * config.getMaxEjectionPercent() / 100) {
+            return;
+        }
+        long duration = endpoint.eject(now, TimeUnit.MILLISECONDS.toNanos(config.getBaseEjectionTime()),
+                TimeUnit.MILLISECONDS.toNanos(config.getMaxEjectionTime()));
+        log.warn("网关节点{}连续{}次故障，摘除{}ms", endpoint.getUrl(), failures, TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+
+    /**
+     * 依次探测每个节点，状态码小于500视为健康
+     */
+    private void probeAll() {
+        String path = config.getProbePath().trim();
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        for (Endpoint endpoint : endpoints) {
+            boolean success;
+            TransportRequest probe = new TransportRequest(RequestMethodEnum.GET, endpoint.getUrl() + path, new HashMap<>(), null);
+            probe.setConnectTimeout(config.getProbeTimeout());
+            probe.setReadTimeout(config.getProbeTimeout());
+            probe.setDeadline(Deadline.after(config.getProbeTimeout()));
+            try (TransportResponse response = delegate.execute(probe)) {
+                success = response.getStatus() < 500;
+            } catch (Exception e) {
+                log.debug("健康检查{}失败: {}", endpoint.getUrl(), e.toString());
+                success = false;
+            }
+            if (endpoint.probed(success, config.getHealthyThreshold(), config.getUnhealthyThreshold())) {
+                if (endpoint.isHealthy()) {
+                    log.info("网关节点{}恢复健康", endpoint.getUrl());
+                } else {
+                    log.warn("网关节点{}健康检查失败，暂停分发请求", endpoint.getUrl());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    /**
+     * 关闭时减少节点未完成请求数的响应
+     */
+    private static class BalancedResponse implements TransportResponse {
+        private final TransportResponse response;
+        private final Endpoint endpoint;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        BalancedResponse(TransportResponse response, Endpoint endpoint) {
+            this.response = response;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public int getStatus() {
+            return response.getStatus();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.getHeader(name);
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public long getConnectNanos() {
+            return response.getConnectNanos();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    endpoint.release();
+                }
+            }
+        }
+    }
+}
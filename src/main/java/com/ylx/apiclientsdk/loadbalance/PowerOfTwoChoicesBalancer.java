@@ -0,0 +1,28 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 两次随机选择：随机取两个不同的节点，选择负载（延迟EWMA ×（未完成请求数 + 1））较小的一个
+ *
+ * 只比较两个节点，不需要遍历全部节点，也避免了所有客户端同时涌向同一个“最优”节点
+ *
+ * @author ylx
+ */
+public class PowerOfTwoChoicesBalancer implements LoadBalancer {
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = candidates.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return a.load() <= b.load() ? a : b;
+    }
+}
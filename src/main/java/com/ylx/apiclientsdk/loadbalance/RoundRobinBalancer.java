@@ -0,0 +1,18 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轮询：依次选择各个节点，不考虑节点的延迟和负载
+ *
+ * @author ylx
+ */
+public class RoundRobinBalancer implements LoadBalancer {
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public Endpoint choose(List<Endpoint> candidates) {
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+}
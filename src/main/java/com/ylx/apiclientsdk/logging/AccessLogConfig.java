@@ -0,0 +1,32 @@
+package com.ylx.apiclientsdk.logging;
+
+import lombok.Data;
+
+/**
+ * 访问日志配置
+ *
+ * @author ylx
+ */
+@Data
+public class AccessLogConfig {
+    /**
+     * 是否启用访问日志
+     */
+    private boolean enabled = false;
+    /**
+     * 输出日志使用的logger名称，成功的请求以INFO级别输出，失败的请求以WARN级别输出
+     */
+    private String loggerName = "com.ylx.apiclientsdk.access";
+    /**
+     * 成功请求的采样比例（0~1），失败和慢请求不受采样影响
+     */
+    private double sampleRate = 1.0;
+    /**
+     * 慢请求阈值（毫秒），总耗时不低于该值的请求总是输出，0表示不区分慢请求
+     */
+    private long slowThreshold = 0;
+    /**
+     * 等待写出的日志条数上限，向上取整为2的幂；写出跟不上时丢弃新的日志并计数，不阻塞请求线程
+     */
+    private int bufferSize = 4096;
+}
@@ -0,0 +1,239 @@
+package com.ylx.apiclientsdk.logging;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.metrics.RequestEvent;
+import com.ylx.apiclientsdk.metrics.RequestListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 结构化访问日志
+ *
+ * 作为RequestListener在请求结束时被调用。请求线程上只做级别判断、采样和一次入队：
+ * logger未开启对应级别或未被采样时直接返回，不格式化也不分配对象；入队只保存事件引用，
+ * 格式化与写出由单独的守护线程完成。缓冲区满时丢弃日志并计数，请求线程不会因日志而阻塞。
+ *
+ * 每条日志为一行key=value：时间、路径、方法、状态码、结果、各阶段耗时、收发字节数和缓存命中，
+ * accessKey只保留前4位，签名等请求头不会出现在日志中。失败的请求以WARN级别输出并带上失败类型、错误码和异常信息；
+ * 异常信息中的accessKey同样脱敏，URL的查询字符串被省略，不会把请求参数写入日志
+ *
+ * @author ylx
+ */
+public class AccessLogListener implements RequestListener, AutoCloseable {
+    private final Logger logger;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final EventRingBuffer buffer;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    // 只由写出线程使用
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    public AccessLogListener() {
+        this(new AccessLogConfig());
+    }
+
+    public AccessLogListener(AccessLogConfig config) {
+        this.logger = LoggerFactory.getLogger(config.getLoggerName());
+        this.sampleRate = config.getSampleRate();
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowThreshold());
+        this.buffer = new EventRingBuffer(Math.max(config.getBufferSize(), 2));
+        this.writer = new Thread(this::drainLoop, "api-access-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onRequestComplete(RequestEvent event) {
+        if (!event.isSuccess()) {
+            if (!logger.isWarnEnabled()) {
+                return;
+            }
+        } else if (!logger.isInfoEnabled() || !sampled(event)) {
+            return;
+        }
+        if (closed || !buffer.offer(event, System.currentTimeMillis())) {
+            dropped.increment();
+            return;
+        }
+        if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * 成功的请求按比例采样，慢请求总是输出
+     */
+    private boolean sampled(RequestEvent event) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+        if (slowThresholdNanos > 0 && event.getTotalNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void drainLoop() {
+        while (true) {
+            while (buffer.poll(this::write)) {
+                // 持续写出直到缓冲区为空
+            }
+            if (closed) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            waiting = true;
+            if (buffer.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            waiting = false;
+        }
+    }
+
+    private void write(RequestEvent event, long timestamp) {
+        try {
+            StringBuilder sb = format(line, event, timestamp);
+            if (event.isSuccess()) {
+                logger.info(sb.toString());
+            } else {
+                logger.warn(sb.toString());
+            }
+            written.increment();
+        } catch (RuntimeException e) {
+            // 日志写出失败不影响后续日志
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 把请求事件格式化为一行key=value
+     *
+     * @param sb 目标缓冲区，会先被清空
+     * @param event 请求事件
+     * @param timestamp 请求结束的时间戳（毫秒）
+     * @return 目标缓冲区
+     */
+    static StringBuilder format(StringBuilder sb, RequestEvent event, long timestamp) {
+        sb.setLength(0);
+        sb.append("time=").append(Instant.ofEpochMilli(timestamp))
+                .append(" path=").append(event.getPath())
+                .append(" method=").append(event.getMethod())
+                .append(" status=").append(event.getStatus())
+                .append(" outcome=").append(event.isSuccess() ? "success" : event.getErrorType().getValue());
+        millis(sb, " total_ms=", event.getTotalNanos());
+        millis(sb, " ttfb_ms=", event.getTtfbNanos());
+        if (event.getConnectNanos() >= 0) {
+            millis(sb, " connect_ms=", event.getConnectNanos());
+        }
+        millis(sb, " decode_ms=", event.getDecodeNanos());
+        sb.append(" req_bytes=").append(event.getRequestBytes())
+                .append(" rsp_bytes=").append(event.getResponseBytes())
+                .append(" cache_hit=").append(event.isCacheHit());
+        if (event.getAccessKey() != null) {
+            sb.append(" ak=").append(redact(event.getAccessKey()));
+        }
+        Throwable error = event.getError();
+        if (error instanceof ApiException) {
+            sb.append(" error_code=").append(((ApiException) error).getCode());
+        }
+        if (error != null && error.getMessage() != null) {
+            sb.append(" error=\"");
+            appendMessage(sb, error.getMessage(), event.getAccessKey());
+            sb.append('"');
+        }
+        return sb;
+    }
+
+    /**
+     * 写入脱敏后的异常信息：accessKey只保留前4位，URL的查询字符串替换为?...，引号和换行被替换
+     */
+    static void appendMessage(StringBuilder sb, String message, String accessKey) {
+        String text = message;
+        if (accessKey != null && !accessKey.isEmpty() && text.contains(accessKey)) {
+            text = text.replace(accessKey, redact(accessKey));
+        }
+        boolean inUrl = false;
+        boolean inQuery = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '"' || c == '\'') {
+                inUrl = false;
+                inQuery = false;
+            } else if (inQuery) {
+                continue;
+            } else if (inUrl && c == '?') {
+                inQuery = true;
+                sb.append("?...");
+                continue;
+            } else if (!inUrl && c == ':' && text.startsWith("://", i)) {
+                inUrl = true;
+            }
+            sb.append(c == '"' ? '\'' : (c == '\n' || c == '\r' ? ' ' : c));
+        }
+    }
+
+    private static void millis(StringBuilder sb, String key, long nanos) {
+        // 保留1位小数
+        long tenths = (nanos + 50_000) / 100_000;
+        sb.append(key).append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * 脱敏accessKey：只保留前4位
+     *
+     * @param accessKey 访问密钥
+     * @return 脱敏后的访问密钥
+     */
+    static String redact(String accessKey) {
+        if (accessKey.length() <= 4) {
+            return "****";
+        }
+        return accessKey.substring(0, 4) + "****";
+    }
+
+    /**
+     * 因缓冲区已满或写出失败而丢弃的日志条数
+     *
+     * @return 丢弃的条数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 已写出的日志条数
+     *
+     * @return 写出的条数
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * 停止接收新的日志，写出缓冲区中剩余的日志后结束写出线程
+     * 在Spring中作为Bean的销毁方法被自动调用
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
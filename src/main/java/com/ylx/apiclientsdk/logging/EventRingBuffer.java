@@ -0,0 +1,106 @@
+package com.ylx.apiclientsdk.logging;
+
+import com.ylx.apiclientsdk.metrics.RequestEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 多生产者、单消费者的有界环形缓冲区
+ *
+ * 槽位在创建时一次性分配，入队只写入事件引用和时间戳，不分配对象；
+ * 每个槽位的序号标记它是否可写或可读，生产者之间只竞争一个写入位置的CAS，满时立即返回false
+ *
+ * @author ylx
+ */
+final class EventRingBuffer {
+    private final int mask;
+    private final RequestEvent[] events;
+    private final long[] timestamps;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 只由消费者线程读写
+    private long head;
+
+    EventRingBuffer(int capacity) {
+        int size = 2;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.events = new RequestEvent[size];
+        this.timestamps = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一个事件
+     *
+     * @param event 请求事件
+     * @param timestamp 请求结束的时间戳（毫秒）
+     * @return 缓冲区已满时返回false
+     */
+    boolean offer(RequestEvent event, long timestamp) {
+        long position = tail.get();
+        int index;
+        for (;;) {
+            index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        events[index] = event;
+        timestamps[index] = timestamp;
+        // 序号的写入对消费者发布槽位内容
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 取出下一个事件，只能由消费者线程调用
+     *
+     * @param sink 接收事件的方法
+     * @return 没有可读的事件时返回false
+     */
+    boolean poll(Sink sink) {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+        RequestEvent event = events[index];
+        long timestamp = timestamps[index];
+        events[index] = null;
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        sink.accept(event, timestamp);
+        return true;
+    }
+
+    /**
+     * 是否没有可读的事件，只能由消费者线程调用
+     *
+     * @return 是否为空
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * 事件的接收方法
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(RequestEvent event, long timestamp);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ylx.apiclientsdk.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 组合多个请求监听器，依次通知，单个监听器的异常不影响其他监听器
+ *
+ * @author ylx
+ */
+@Slf4j
+public class CompositeRequestListener implements RequestListener {
+    private final RequestListener[] listeners;
+
+    public CompositeRequestListener(List<? extends RequestListener> listeners) {
+        this.listeners = new ArrayList<>(listeners).toArray(new RequestListener[0]);
+    }
+
+    @Override
+    public void onRequestComplete(RequestEvent event) {
+        for (RequestListener listener : listeners) {
+            try {
+                listener.onRequestComplete(event);
+            } catch (RuntimeException e) {
+                log.warn("请求监听器{}执行失败", listener.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 将监听器列表合并为一个监听器
+     *
+     * @param listeners 监听器列表
+     * @return 列表为空时返回null，只有一个时直接返回该监听器
+     */
+    public static RequestListener of(List<? extends RequestListener> listeners) {
+        if (listeners == null || listeners.isEmpty()) {
+            return null;
+        }
+        return listeners.size() == 1 ? listeners.get(0) : new CompositeRequestListener(listeners);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ylx.apiclientsdk.metrics;
+
+import com.ylx.apiclientsdk.model.enums.RequestErrorTypeEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 将请求事件输出到Micrometer
+ *
+ * 每个路径的指标对象只在第一次出现时注册一次，之后的记录不再查找注册表。
+ * path标签去掉查询字符串，不同的路径最多maxPaths个，之后出现的新路径都记为other，
+ * 避免动态拼接的路径导致指标数量无限增长。
+ * 只有在classpath中存在Micrometer且容器中有MeterRegistry时才会被自动配置
+ *
+ * 指标：
+ * api.client.requests（Timer，标签path/outcome）、
+ * api.client.phase（Timer，标签path/phase）、
+ * api.client.request.bytes / api.client.response.bytes（DistributionSummary，标签path）、
+ * api.client.errors（Counter，标签path/type）
+ *
+ * @author ylx
+ */
+public class MicrometerRequestListener implements RequestListener {
+    /**
+     * 默认的path标签最大取值数
+     */
+    public static final int DEFAULT_MAX_PATHS = 100;
+    // 超过maxPaths后新路径使用的标签值
+    static final String OTHER_PATH = "other";
+
+    private final MeterRegistry registry;
+    private final int maxPaths;
+    private final ConcurrentMap<String, PathMeters> meters = new ConcurrentHashMap<>();
+    private volatile PathMeters other;
+
+    public MicrometerRequestListener(MeterRegistry registry) {
+        this(registry, DEFAULT_MAX_PATHS);
+    }
+
+    /**
+     * @param registry 指标注册表
+     * @param maxPaths path标签的最大取值数，超过后的新路径记为other
+     */
+    public MicrometerRequestListener(MeterRegistry registry, int maxPaths) {
+        this.registry = registry;
+        this.maxPaths = maxPaths;
+    }
+
+    @Override
+    public void onRequestComplete(RequestEvent event) {
+        PathMeters pathMeters = meters.get(event.getPath());
+        if (pathMeters == null) {
+            pathMeters = pathMeters(event.getPath());
+        }
+        pathMeters.record(registry, event);
+    }
+
+    private PathMeters pathMeters(String rawPath) {
+        String path = normalize(rawPath);
+        PathMeters pathMeters = meters.get(path);
+        if (pathMeters == null) {
+            if (meters.size() >= maxPaths) {
+                return other();
+            }
+            pathMeters = meters.computeIfAbsent(path, key -> new PathMeters(registry, key));
+        }
+        return pathMeters;
+    }
+
+    private PathMeters other() {
+        PathMeters current = other;
+        if (current == null) {
+            // 并发时可能重复创建，MeterRegistry对相同名称和标签返回同一个对象
+            current = new PathMeters(registry, OTHER_PATH);
+            other = current;
+        }
+        return current;
+    }
+
+    /**
+     * 去掉查询字符串和结尾的/
+     */
+    static String normalize(String path) {
+        int queryStart = path.indexOf('?');
+        String normalized = queryStart < 0 ? path : path.substring(0, queryStart);
+        while (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * 单个路径的指标对象
+     */
+    private static final class PathMeters {
+        private final Timer params;
+        private final Timer sign;
+        private final Timer connect;
+        private final Timer ttfb;
+        private final Timer decode;
+        private final DistributionSummary requestBytes;
+        private final DistributionSummary responseBytes;
+        private final String path;
+        // 按结果分别计时，下标0为成功，其余为失败类型的ordinal+1，首次出现时注册
+        private final AtomicReferenceArray<Timer> requests = new AtomicReferenceArray<>(RequestErrorTypeEnum.values().length + 1);
+        private final AtomicReferenceArray<Counter> errors = new AtomicReferenceArray<>(RequestErrorTypeEnum.values().length);
+
+        PathMeters(MeterRegistry registry, String path) {
+            this.path = path;
+            this.params = phase(registry, path, "params");
+            this.sign = phase(registry, path, "sign");
+            this.connect = phase(registry, path, "connect");
+            this.ttfb = phase(registry, path, "ttfb");
+            this.decode = phase(registry, path, "decode");
+            this.requestBytes = DistributionSummary.builder("api.client.request.bytes").baseUnit("bytes")
+                    .tag("path", path).register(registry);
+            this.responseBytes = DistributionSummary.builder("api.client.response.bytes").baseUnit("bytes")
+                    .tag("path", path).register(registry);
+        }
+
+        private static Timer phase(MeterRegistry registry, String path, String phase) {
+            return Timer.builder("api.client.phase").tag("path", path).tag("phase", phase).register(registry);
+        }
+
+        void record(MeterRegistry registry, RequestEvent event) {
+            RequestErrorTypeEnum errorType = event.getErrorType();
+            int outcome = errorType == null ? 0 : errorType.ordinal() + 1;
+            Timer request = requests.get(outcome);
+            if (request == null) {
+                // 并发时可能重复注册，MeterRegistry对相同名称和标签返回同一个对象
+                request = Timer.builder("api.client.requests").tag("path", path)
+                        .tag("outcome", errorType == null ? "success" : errorType.getValue()).register(registry);
+                requests.set(outcome, request);
+            }
+            request.record(event.getTotalNanos(), TimeUnit.NANOSECONDS);
+            params.record(event.getParamsNanos(), TimeUnit.NANOSECONDS);
+            sign.record(event.getSignNanos(), TimeUnit.NANOSECONDS);
+            if (event.getConnectNanos() >= 0) {
+                connect.record(event.getConnectNanos(), TimeUnit.NANOSECONDS);
+            }
+            ttfb.record(event.getTtfbNanos(), TimeUnit.NANOSECONDS);
+            decode.record(event.getDecodeNanos(), TimeUnit.NANOSECONDS);
+            requestBytes.record(event.getRequestBytes());
+            responseBytes.record(event.getResponseBytes());
+            if (errorType != null) {
+                Counter counter = errors.get(errorType.ordinal());
+                if (counter == null) {
+                    counter = Counter.builder("api.client.errors").tag("path", path).tag("type", errorType.getValue())
+                            .register(registry);
+                    errors.set(errorType.ordinal(), counter);
+                }
+                counter.increment();
+            }
+        }
+    }
+}
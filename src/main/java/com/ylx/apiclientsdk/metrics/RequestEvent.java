@@ -0,0 +1,89 @@
+package com.ylx.apiclientsdk.metrics;
+
+import com.ylx.apiclientsdk.model.enums.RequestErrorTypeEnum;
+import lombok.Data;
+
+/**
+ * 请求事件
+ * 各阶段耗时单位均为纳秒，未经历的阶段为0；连接耗时为-1表示复用了连接池中的连接或传输实现不支持统计。
+ * 流式请求在收到响应头时即结束统计，不包含解析阶段和响应体字节数
+ *
+ * @author ylx
+ */
+@Data
+public class RequestEvent {
+    /**
+     * 请求路径
+     */
+    private final String path;
+    /**
+     * 请求方法
+     */
+    private final String method;
+    /**
+     * 本次调用使用的accessKey，解析凭证失败时为null
+     */
+    private String accessKey;
+    /**
+     * HTTP状态码，没有收到响应时为0
+     */
+    private int status;
+    /**
+     * 发送的字节数（POST为压缩前的请求体，GET为查询字符串）
+     */
+    private long requestBytes;
+    /**
+     * 读取的响应体字节数（解压后）
+     */
+    private long responseBytes;
+    /**
+     * 参数转换耗时（setRequestParams及写入查询字符串或请求体）
+     */
+    private long paramsNanos;
+    /**
+     * 签名耗时（生成请求头）
+     */
+    private long signNanos;
+    /**
+     * 建立连接耗时
+     */
+    private long connectNanos = -1;
+    /**
+     * 从发送请求到收到响应头的耗时（包含建立连接）
+     */
+    private long ttfbNanos;
+    /**
+     * 读取并解析响应体的耗时
+     */
+    private long decodeNanos;
+    /**
+     * 请求总耗时
+     */
+    private long totalNanos;
+    /**
+     * 是否命中响应缓存
+     */
+    private boolean cacheHit;
+    /**
+     * 失败类型，成功时为null
+     */
+    private RequestErrorTypeEnum errorType;
+    /**
+     * 失败时的异常
+     */
+    private Throwable error;
+
+    public RequestEvent(String path, String method) {
+        this.path = path;
+        this.method = method;
+    }
+
+    /**
+     * 是否成功
+     *
+     * @return 没有失败类型时返回true
+     */
+    public boolean isSuccess() {
+        return errorType == null;
+    }
+}
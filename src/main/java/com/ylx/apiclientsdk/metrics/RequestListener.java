@@ -0,0 +1,17 @@
+package com.ylx.apiclientsdk.metrics;
+
+/**
+ * 请求监听器
+ * 每个请求结束（成功或失败）后被调用一次，回调在请求线程中同步执行，实现必须足够轻量且不能抛出异常
+ *
+ * @author ylx
+ */
+public interface RequestListener {
+
+    /**
+     * 请求结束
+     *
+     * @param event 请求事件，包含各阶段耗时、状态码、收发字节数和失败类型
+     */
+    void onRequestComplete(RequestEvent event);
+}
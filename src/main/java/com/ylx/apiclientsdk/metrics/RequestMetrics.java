@@ -0,0 +1,133 @@
+package com.ylx.apiclientsdk.metrics;
+
+import com.ylx.apiclientsdk.model.enums.RequestErrorTypeEnum;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的请求指标汇总
+ * 按请求路径分别统计各阶段耗时直方图、收发字节数和各类失败次数，不依赖任何监控系统
+ *
+ * @author ylx
+ */
+public class RequestMetrics implements RequestListener {
+    private final ConcurrentMap<String, PathMetrics> paths = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequestComplete(RequestEvent event) {
+        PathMetrics metrics = paths.get(event.getPath());
+        if (metrics == null) {
+            metrics = paths.computeIfAbsent(event.getPath(), key -> new PathMetrics());
+        }
+        metrics.record(event);
+    }
+
+    /**
+     * 获取指定路径的指标
+     *
+     * @param path 请求路径
+     * @return 指标，该路径没有请求过时返回null
+     */
+    public PathMetrics get(String path) {
+        return paths.get(path);
+    }
+
+    /**
+     * 获取全部路径的指标
+     *
+     * @return 以请求路径为键的只读视图
+     */
+    public Map<String, PathMetrics> getAll() {
+        return Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * 单个请求路径的指标
+     */
+    public static final class PathMetrics {
+        private final LatencyHistogram params = new LatencyHistogram();
+        private final LatencyHistogram sign = new LatencyHistogram();
+        private final LatencyHistogram connect = new LatencyHistogram();
+        private final LatencyHistogram ttfb = new LatencyHistogram();
+        private final LatencyHistogram decode = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder[] errors = new LongAdder[RequestErrorTypeEnum.values().length];
+
+        PathMetrics() {
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = new LongAdder();
+            }
+        }
+
+        void record(RequestEvent event) {
+            params.record(event.getParamsNanos());
+            sign.record(event.getSignNanos());
+            // 复用连接时没有建连阶段，不计入连接耗时
+            connect.record(event.getConnectNanos());
+            ttfb.record(event.getTtfbNanos());
+            decode.record(event.getDecodeNanos());
+            total.record(event.getTotalNanos());
+            requestBytes.add(event.getRequestBytes());
+            responseBytes.add(event.getResponseBytes());
+            if (event.isCacheHit()) {
+                cacheHits.increment();
+            }
+            if (event.getErrorType() != null) {
+                errors[event.getErrorType().ordinal()].increment();
+            }
+        }
+
+        public LatencyHistogram getParams() {
+            return params;
+        }
+
+        public LatencyHistogram getSign() {
+            return sign;
+        }
+
+        public LatencyHistogram getConnect() {
+            return connect;
+        }
+
+        public LatencyHistogram getTtfb() {
+            return ttfb;
+        }
+
+        public LatencyHistogram getDecode() {
+            return decode;
+        }
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        public long getCacheHits() {
+            return cacheHits.sum();
+        }
+
+        /**
+         * 获取指定类型的失败次数
+         *
+         * @param errorType 失败类型
+         * @return 失败次数
+         */
+        public long getErrors(RequestErrorTypeEnum errorType) {
+            return errors[errorType.ordinal()].sum();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ylx.apiclientsdk.model.enums;
+
+/**
+ * 报文编码枚举类
+ * @author ylx
+ */
+public enum CodecTypeEnum {
+    DEFAULT("默认","default"),
+    JSON("JSON","json"),
+    MSGPACK("MessagePack","msgpack");
+    private final String text;
+    private final String value;
+    CodecTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ylx.apiclientsdk.model.enums;
+
+/**
+ * 负载均衡策略枚举类
+ * @author ylx
+ */
+public enum LoadBalanceStrategyEnum {
+    P2C_EWMA("两次随机选择（延迟EWMA）","p2c-ewma"),
+    LEAST_OUTSTANDING("最少未完成请求","least-outstanding"),
+    ROUND_ROBIN("轮询","round-robin");
+    private final String text;
+    private final String value;
+    LoadBalanceStrategyEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ylx.apiclientsdk.model.enums;
+
+/**
+ * 超过调用配额时的处理方式枚举类
+ * @author ylx
+ */
+public enum RateLimitModeEnum {
+    WAIT("等待令牌","wait"),
+    FAIL_FAST("立即失败","fail_fast");
+    private final String text;
+    private final String value;
+    RateLimitModeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
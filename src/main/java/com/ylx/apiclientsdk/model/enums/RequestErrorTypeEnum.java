@@ -0,0 +1,29 @@
+package com.ylx.apiclientsdk.model.enums;
+
+/**
+ * 请求失败类型枚举类
+ * @author ylx
+ */
+public enum RequestErrorTypeEnum {
+    CLIENT_ERROR("客户端错误(4xx)","client_error"),
+    SERVER_ERROR("服务端错误(5xx)","server_error"),
+    TIMEOUT("超时","timeout"),
+    NETWORK("网络异常","network"),
+    REJECTED("被客户端限流或熔断拒绝","rejected"),
+    DECODE("响应解析失败","decode"),
+    OTHER("其他异常","other");
+    private final String text;
+    private final String value;
+    RequestErrorTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ylx.apiclientsdk.model.enums;
+
+/**
+ * 传输实现枚举类
+ * @author ylx
+ */
+public enum TransportTypeEnum {
+    POOLED("连接池","pooled"),
+    HTTP2("HTTP/2","http2"),
+    HUTOOL("hutool","hutool");
+    private final String text;
+    private final String value;
+    TransportTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -1,8 +1,12 @@
 package com.ylx.apiclientsdk.model.request;
 
+import cn.hutool.core.annotation.PropIgnore;
 import cn.hutool.json.JSONUtil;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.ylx.apiclientsdk.annotation.ApiRequest;
+import com.ylx.apiclientsdk.codec.ParamsWriter;
+import com.ylx.apiclientsdk.codec.ParamsWriters;
+import com.ylx.apiclientsdk.codec.ResponseDecoder;
+import com.ylx.apiclientsdk.model.enums.CodecTypeEnum;
 import com.ylx.apiclientsdk.model.response.ResultResponse;
 
 import java.util.HashMap;
@@ -18,24 +22,83 @@ import java.util.Map;
  * @param <T> 响应结果的类型，继承自ResultResponse
  */
 public abstract class BaseRequest<O,T extends ResultResponse> {
+    // 标注@PropIgnore的属性是请求本身的状态，请求类以自身作为参数对象（没有生成编码器）时不会被hutool转换为参数
     // 存储请求参数的Map，使用Object作为泛型类型以提高灵活性
+    @PropIgnore
     private Map<String,Object> requestParams = new HashMap<>();
+    // 通过编译期生成的编码器写入的参数对象，为null时使用requestParams
+    private O params;
+    // 参数对象对应的编码器
+    private ParamsWriter<O> paramsWriter;
+    // 最近一次setRequestParams的耗时（纳秒），供请求监听器统计参数转换阶段
+    @PropIgnore
+    private long paramsNanos;
+    // 本次请求的总超时（毫秒），大于0时覆盖@ApiRequest和客户端配置的总超时
+    @PropIgnore
+    private long timeout;
 
     /**
      * 获取请求的方法（如GET，POST等）
-     * 该方法由子类具体实现
+     * 默认读取类上的@ApiRequest注解，没有注解的子类需要覆盖该方法
      *
      * @return 请求的方法
      */
-    public abstract String getMethod();
+    public String getMethod() {
+        return getApiRequest().method().getValue();
+    }
 
     /**
      * 获取请求的路径
-     * 该方法由子类具体实现
+     * 默认读取类上的@ApiRequest注解，没有注解的子类需要覆盖该方法
      *
      * @return 请求的路径
      */
-    public abstract String getPath();
+    public String getPath() {
+        return getApiRequest().path();
+    }
+
+    /**
+     * 获取请求使用的报文编码
+     * 默认读取类上的@ApiRequest注解，没有注解或未指定时使用客户端配置的首选编码
+     *
+     * @return 报文编码
+     */
+    @PropIgnore
+    public CodecTypeEnum getCodec() {
+        ApiRequest apiRequest = getClass().getAnnotation(ApiRequest.class);
+        return apiRequest != null ? apiRequest.codec() : CodecTypeEnum.DEFAULT;
+    }
+
+    /**
+     * 获取请求的总超时
+     * 优先使用setTimeout设置的值，其次读取类上的@ApiRequest注解
+     *
+     * @return 总超时（毫秒），0表示使用客户端配置的总超时
+     */
+    public long getTimeout() {
+        if (timeout > 0) {
+            return timeout;
+        }
+        ApiRequest apiRequest = getClass().getAnnotation(ApiRequest.class);
+        return apiRequest != null ? apiRequest.timeout() : 0;
+    }
+
+    /**
+     * 设置本次请求的总超时，从发起调用开始计算，覆盖排队、重试和读取响应体的全过程
+     *
+     * @param timeout 总超时（毫秒），小于等于0表示使用默认值
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    private ApiRequest getApiRequest() {
+        ApiRequest apiRequest = getClass().getAnnotation(ApiRequest.class);
+        if (apiRequest == null) {
+            throw new IllegalStateException(getClass().getName() + "未标注@ApiRequest，需要覆盖getMethod/getPath");
+        }
+        return apiRequest;
+    }
 
     /**
      * 获取响应对象的类类型
@@ -47,22 +110,80 @@ public abstract class BaseRequest<O,T extends ResultResponse> {
 
     /**
      * 获取请求参数
+     * 如果参数是通过生成的编码器设置的，会在第一次调用时转换为Map，之后对Map的修改都会生效
      *
      * @return 请求参数的Map对象
      */
     public Map<String, Object> getRequestParams(){
+        if (paramsWriter != null) {
+            StringBuilder sb = new StringBuilder();
+            paramsWriter.writeJson(params, sb);
+            this.requestParams = ResponseDecoder.decodeMap(sb.toString());
+            this.params = null;
+            this.paramsWriter = null;
+        }
         return requestParams;
     }
 
     /**
      * 设置请求参数
-     * 该方法使用Gson库将传入的请求参数对象转换为Map存储
+     * 如果请求类标注了@ApiRequest并生成了参数编码器，直接保存参数对象，发送时由编码器写入；
+     * 否则使用Gson库将传入的请求参数对象转换为Map存储
      *
      * @param params 请求参数对象
      */
     public void setRequestParams(O params){
-        // 使用Gson将传入的请求参数对象转换为JSON字符串，再转换为Map
-        this.requestParams = new Gson().fromJson(JSONUtil.toJsonStr(params), new TypeToken<Map<String,Object>>(){}.getType());
+        long start = System.nanoTime();
+        ParamsWriter<O> writer = ParamsWriters.lookup(getClass());
+        if (writer != null && params != null) {
+            this.params = params;
+            this.paramsWriter = writer;
+        } else {
+            // 将传入的请求参数对象转换为JSON字符串，再使用共享的Gson实例转换为Map
+            this.requestParams = ResponseDecoder.decodeMap(JSONUtil.toJsonStr(params));
+        }
+        this.paramsNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * 获取最近一次setRequestParams的耗时
+     *
+     * @return 耗时（纳秒），未设置过参数时为0
+     */
+    public long getParamsNanos() {
+        return paramsNanos;
+    }
+
+    /**
+     * 将请求参数写入查询字符串（不含开头的?），参数名和值按RFC 3986做百分号编码，值为null的参数会被忽略
+     *
+     * @param sb 目标缓冲区
+     * @return 是否写入了至少一个参数
+     */
+    public boolean writeQuery(StringBuilder sb) {
+        if (paramsWriter != null) {
+            return paramsWriter.writeQuery(params, sb);
+        }
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : requestParams.entrySet()) {
+            if (entry.getValue() != null) {
+                first = ParamsWriters.query(sb, first, ParamsWriters.queryKey(entry.getKey()), entry.getValue());
+            }
+        }
+        return !first;
+    }
+
+    /**
+     * 将请求参数以JSON的形式写入请求体
+     *
+     * @param sb 目标缓冲区
+     */
+    public void writeJson(StringBuilder sb) {
+        if (paramsWriter != null) {
+            paramsWriter.writeJson(params, sb);
+        } else {
+            sb.append(JSONUtil.toJsonStr(requestParams));
+        }
     }
 }
 
@@ -0,0 +1,17 @@
+package com.ylx.apiclientsdk.model.request;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 批量请求选项
+ * 用于控制批量请求的并发数和整体截止时间
+ */
+@Data
+@Accessors(chain = true) // Lombok 注解，用于简化方法链调用
+public class BatchOptions {
+    // 同时进行中的请求数上限
+    private int concurrency = 16;
+    // 整个批次的超时时间（毫秒），小于等于0时使用TimeoutConfig.totalTimeout；超时未完成的请求会被取消并记为失败
+    private long timeout = 0;
+}
@@ -1,17 +1,35 @@
 package com.ylx.apiclientsdk.model.request;
 
+import com.ylx.apiclientsdk.annotation.ApiRequest;
+import com.ylx.apiclientsdk.annotation.CacheableRequest;
 import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
 import com.ylx.apiclientsdk.model.response.ResultResponse;
 
+/**
+ * IpInfoRequest 类用于查询IP信息，参数类型为其自身
+ * 请求方法与路径由 @ApiRequest 声明，参数通过编译期生成的 IpInfoRequestParamsWriter 写入
+ * 查询结果可以被客户端缓存（需要在服务上配置ResponseCache）
+ */
+@ApiRequest(path = "/ipInfo", method = RequestMethodEnum.GET)
+@CacheableRequest
 public class IpInfoRequest extends BaseRequest<IpInfoRequest , ResultResponse>{
-    @Override
-    public String getMethod() {
-        return RequestMethodEnum.GET.getValue();
+    // 需要查询的IP地址
+    private String ip;
+
+    /**
+     * 获取需要查询的IP地址
+     * @return IP地址
+     */
+    public String getIp() {
+        return ip;
     }
 
-    @Override
-    public String getPath() {
-        return "/ipInfo";
+    /**
+     * 设置需要查询的IP地址
+     * @param ip IP地址
+     */
+    public void setIp(String ip) {
+        this.ip = ip;
     }
 
     @Override
@@ -0,0 +1,31 @@
+package com.ylx.apiclientsdk.model.response;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * BatchResult类用于封装批量请求中单个请求的结果
+ * 单个请求失败不会影响整个批次，失败原因保存在error中
+ *
+ * @param <T> 响应结果的类型，继承自ResultResponse
+ */
+@Data
+@AllArgsConstructor
+public class BatchResult<T extends ResultResponse> {
+    // 该请求在输入列表中的下标
+    private int index;
+    // 请求成功时的响应
+    private T response;
+    // 请求失败时的异常
+    private ApiException error;
+
+    /**
+     * 判断该请求是否成功
+     *
+     * @return 成功返回true
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
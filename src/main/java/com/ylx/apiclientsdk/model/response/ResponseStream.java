@@ -0,0 +1,133 @@
+package com.ylx.apiclientsdk.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ResponseStream类用于逐个读取响应体中JSON数组的元素
+ * 元素在迭代时才从连接中读取并解析，整个响应不会同时驻留在内存中；
+ * 读完最后一个元素或调用close时释放连接，建议配合try-with-resources使用
+ *
+ * @param <E> 数组元素的类型
+ */
+public class ResponseStream<E> implements Iterator<E>, Closeable {
+    // 底层的传输层响应
+    private final TransportResponse response;
+    // 响应体的JSON读取器
+    private final JsonReader reader;
+    // 元素的解析器
+    private final TypeAdapter<E> adapter;
+    // 是否已经定位到数组内部
+    private boolean inArray;
+    // 是否已经关闭
+    private boolean closed;
+
+    /**
+     * 构造函数，定位到需要迭代的数组
+     *
+     * @param response 传输层响应，由本对象负责关闭
+     * @param reader 响应体的JSON读取器
+     * @param adapter 元素的解析器
+     * @param arrayField 顶层对象中数组字段的名称，为null时表示响应体本身就是数组
+     * @throws IOException 读取失败
+     */
+    public ResponseStream(TransportResponse response, JsonReader reader, TypeAdapter<E> adapter, String arrayField) throws IOException {
+        this.response = response;
+        this.reader = reader;
+        this.adapter = adapter;
+        try {
+            this.inArray = locate(arrayField);
+            if (!inArray) {
+                close();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private boolean locate(String arrayField) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_ARRAY && arrayField == null) {
+            reader.beginArray();
+            return true;
+        }
+        if (token != JsonToken.BEGIN_OBJECT || arrayField == null) {
+            return false;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(arrayField) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (reader.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return adapter.read(reader);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 关闭响应并释放连接，可以重复调用
+     * 同时关闭读取器，释放解压响应体占用的资源
+     *
+     * @throws IOException 关闭失败
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            reader.close();
+        } finally {
+            response.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            // 读取已经失败，关闭异常不再向外抛出
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.ylx.apiclientsdk.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @ApiRequest注解处理器
+ *
+ * 为标注了@ApiRequest的BaseRequest子类生成参数编码器：从继承声明BaseRequest<O, T>中取出参数类型O，
+ * 按O的字段（含父类字段，不含BaseRequest自身）生成直接调用getter的查询字符串与JSON写入代码。
+ * 同时检查本次编译的所有BaseRequest非抽象子类：既没有标注@ApiRequest、也没有覆盖getMethod/getPath的类
+ * 在运行时无法得到路由，直接报编译错误
+ *
+ * @author ylx
+ */
+public class ApiRequestProcessor extends AbstractProcessor {
+    private static final String API_REQUEST = "com.ylx.apiclientsdk.annotation.ApiRequest";
+    private static final String BASE_REQUEST = "com.ylx.apiclientsdk.model.request.BaseRequest";
+    private static final String PARAMS_WRITER = "com.ylx.apiclientsdk.codec.ParamsWriter";
+    private static final String PARAMS_WRITERS = "com.ylx.apiclientsdk.codec.ParamsWriters";
+    private static final String SUFFIX = "ParamsWriter";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // "*"使处理器在每一轮都能看到未标注@ApiRequest的请求类
+        return new HashSet<>(Arrays.asList(API_REQUEST, "*"));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(API_REQUEST);
+        if (annotation == null) {
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            checkRoute(type);
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@ApiRequest只能标注在类上");
+                continue;
+            }
+            TypeElement requestType = (TypeElement) element;
+            TypeMirror paramsType = findParamsType(requestType);
+            if (paramsType == null) {
+                error(element, "@ApiRequest标注的类必须继承BaseRequest<O, T>并指定具体的参数类型O");
+                continue;
+            }
+            try {
+                writeSource(requestType, (DeclaredType) paramsType);
+            } catch (IOException e) {
+                error(element, "生成参数编码器失败: " + e.getMessage());
+            }
+        }
+        // 支持"*"时不能声明占有注解，否则其他处理器（如Lombok）将看不到它们
+        return false;
+    }
+
+    /**
+     * 检查类及其成员类：BaseRequest的非抽象子类必须标注@ApiRequest，或在继承链上覆盖getMethod和getPath
+     */
+    private void checkRoute(TypeElement type) {
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            checkRoute(member);
+        }
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || hasApiRequest(type)) {
+            return;
+        }
+        boolean method = false;
+        boolean path = false;
+        TypeElement current = type;
+        while (current != null) {
+            if (current.getQualifiedName().contentEquals(BASE_REQUEST)) {
+                if (!method || !path) {
+                    error(type, "继承BaseRequest的类必须标注@ApiRequest，或覆盖getMethod和getPath");
+                }
+                return;
+            }
+            for (ExecutableElement m : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (m.getParameters().isEmpty() && !m.getModifiers().contains(Modifier.ABSTRACT)) {
+                    method |= m.getSimpleName().contentEquals("getMethod");
+                    path |= m.getSimpleName().contentEquals("getPath");
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+    }
+
+    private boolean hasApiRequest(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(API_REQUEST)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 沿继承链找到BaseRequest<O, T>，返回具体的参数类型O
+     */
+    private TypeMirror findParamsType(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) superclass;
+            TypeElement superElement = (TypeElement) declared.asElement();
+            if (superElement.getQualifiedName().contentEquals(BASE_REQUEST)) {
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (arguments.isEmpty() || arguments.get(0).getKind() != TypeKind.DECLARED) {
+                    return null;
+                }
+                return arguments.get(0);
+            }
+            superclass = superElement.getSuperclass();
+        }
+        return null;
+    }
+
+    /**
+     * 收集参数类型的属性：属性名到读取表达式
+     */
+    private Map<String, Property> collectProperties(TypeElement paramsElement, TypeElement requestType) {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = paramsElement;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")
+                && !current.getQualifiedName().contentEquals(BASE_REQUEST)) {
+            hierarchy.add(0, current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        for (TypeElement type : hierarchy) {
+            boolean lombokGetters = hasLombokGetter(type);
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String name = field.getSimpleName().toString();
+                String getter = findGetter(type, field, lombokGetters || hasLombokGetter(field));
+                String access;
+                if (getter != null) {
+                    access = "params." + getter + "()";
+                } else if (!modifiers.contains(Modifier.PRIVATE) && samePackage(type, requestType)) {
+                    access = "params." + name;
+                } else {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "字段" + name + "没有可访问的getter，生成的参数编码器将忽略该字段", field);
+                    continue;
+                }
+                properties.put(name, new Property(name, field.asType(), access));
+            }
+        }
+        return properties;
+    }
+
+    private String findGetter(TypeElement type, VariableElement field, boolean lombok) {
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        String getter = (isBoolean ? "is" : "get") + capitalized;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getParameters().isEmpty() && method.getModifiers().contains(Modifier.PUBLIC)
+                    && (method.getSimpleName().contentEquals(getter)
+                    || method.getSimpleName().contentEquals("get" + capitalized))) {
+                return method.getSimpleName().toString();
+            }
+        }
+        // Lombok的getter在本轮处理时可能还没有生成，按Lombok的命名规则引用
+        return lombok ? getter : null;
+    }
+
+    private boolean hasLombokGetter(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = mirror.getAnnotationType().toString();
+            if ("lombok.Data".equals(name) || "lombok.Getter".equals(name) || "lombok.Value".equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean samePackage(TypeElement a, TypeElement b) {
+        return packageOf(a).equals(packageOf(b));
+    }
+
+    private String packageOf(TypeElement type) {
+        Element element = type;
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return ((PackageElement) element).getQualifiedName().toString();
+    }
+
+    private void writeSource(TypeElement requestType, DeclaredType paramsType) throws IOException {
+        String packageName = packageOf(requestType);
+        String writerName = requestType.getSimpleName() + SUFFIX;
+        String paramsName = processingEnv.getTypeUtils().erasure(paramsType).toString();
+        Map<String, Property> properties = collectProperties((TypeElement) paramsType.asElement(), requestType);
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import ").append(PARAMS_WRITERS).append(";\n\n");
+        src.append("/**\n * 由ApiRequestProcessor根据").append(requestType.getSimpleName()).append("生成，请勿修改\n */\n");
+        src.append("public final class ").append(writerName).append(" implements ")
+                .append(PARAMS_WRITER).append("<").append(paramsName).append("> {\n");
+        // 查询字符串中的参数名在类初始化时编码一次
+        int keyIndex = 0;
+        for (Property property : properties.values()) {
+            src.append("    private static final String Q").append(keyIndex++).append(" = ParamsWriters.queryKey(\"")
+                    .append(property.name).append("\");\n");
+        }
+        src.append("\n");
+
+        src.append("    @Override\n    public boolean writeQuery(").append(paramsName).append(" params, StringBuilder sb) {\n");
+        src.append("        boolean first = true;\n");
+        writeProperties(src, properties, "query");
+        src.append("        return !first;\n    }\n\n");
+
+        src.append("    @Override\n    public void writeJson(").append(paramsName).append(" params, StringBuilder sb) {\n");
+        src.append("        boolean first = true;\n        sb.append('{');\n");
+        writeProperties(src, properties, "json");
+        src.append("        sb.append('}');\n    }\n}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? writerName : packageName + "." + writerName, requestType);
+        try (Writer writer = file.openWriter()) {
+            writer.write(src.toString());
+        }
+    }
+
+    private void writeProperties(StringBuilder src, Map<String, Property> properties, String method) {
+        int index = 0;
+        int keyIndex = 0;
+        for (Property property : properties.values()) {
+            String key = "query".equals(method) ? "Q" + keyIndex++ : "\"" + property.name + "\"";
+            String call = "first = ParamsWriters." + method + "(sb, first, " + key + ", ";
+            if (property.type.getKind().isPrimitive()) {
+                src.append("        ").append(call).append(property.access).append(");\n");
+            } else {
+                String local = "v" + index++;
+                src.append("        Object ").append(local).append(" = ").append(property.access).append(";\n");
+                src.append("        if (").append(local).append(" != null) {\n");
+                if (isString(property.type)) {
+                    src.append("            ").append(call).append("(String) ").append(local).append(");\n");
+                } else {
+                    src.append("            ").append(call).append(local).append(");\n");
+                }
+                src.append("        }\n");
+            }
+        }
+    }
+
+    private boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.lang.String");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * 参数类型的一个属性
+     */
+    private static final class Property {
+        private final String name;
+        private final TypeMirror type;
+        private final String access;
+
+        Property(String name, TypeMirror type, String access) {
+            this.name = name;
+            this.type = type;
+            this.access = access;
+        }
+    }
+}
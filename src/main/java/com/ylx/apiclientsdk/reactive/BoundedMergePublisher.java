@@ -0,0 +1,269 @@
+package com.ylx.apiclientsdk.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 把上游的每个元素映射为一次异步调用，并按完成顺序发出结果的Publisher
+ *
+ * 同时存在的调用数（执行中的加上已完成、等待下游需求的）不超过maxInFlight：
+ * 下游第一次request时向上游请求maxInFlight个元素，此后每向下游发出一个结果才向上游补充一个，
+ * 下游不再请求时上游也随之停止，不会无限制地发起调用或堆积结果。
+ * 任一调用失败或上游出错时立即以该异常结束，同时取消上游和其余进行中的调用；下游取消时同样取消两者
+ *
+ * @param <R> 上游元素类型
+ * @param <T> 结果类型
+ * @author ylx
+ */
+public class BoundedMergePublisher<R, T> implements Publisher<T> {
+    private final Publisher<? extends R> upstream;
+    private final Function<? super R, ? extends CompletableFuture<? extends T>> call;
+    private final int maxInFlight;
+
+    /**
+     * @param upstream 上游
+     * @param call 对每个上游元素发起调用的方法
+     * @param maxInFlight 同时存在的调用数上限
+     */
+    public BoundedMergePublisher(Publisher<? extends R> upstream,
+                                 Function<? super R, ? extends CompletableFuture<? extends T>> call,
+                                 int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight必须大于0: " + maxInFlight);
+        }
+        this.upstream = Objects.requireNonNull(upstream, "upstream");
+        this.call = call;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        upstream.subscribe(new MergeSubscriber<>(subscriber, call, maxInFlight));
+    }
+
+    /**
+     * 同时作为上游的订阅者和下游的订阅关系；向下游发信号、向上游请求都在drain中串行进行
+     */
+    private static final class MergeSubscriber<R, T> implements Subscriber<R>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final Function<? super R, ? extends CompletableFuture<? extends T>> call;
+        private final int maxInFlight;
+
+        private final Queue<T> results = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<? extends T>> inFlight = ConcurrentHashMap.newKeySet();
+        // 下游尚未满足的需求
+        private final AtomicLong requested = new AtomicLong();
+        // 待向上游请求的元素数
+        private final AtomicLong upstreamDemand = new AtomicLong();
+        // 执行中的调用数
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        MergeSubscriber(Subscriber<? super T> downstream,
+                        Function<? super R, ? extends CompletableFuture<? extends T>> call,
+                        int maxInFlight) {
+            this.downstream = downstream;
+            this.call = call;
+            this.maxInFlight = maxInFlight;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (cancelled || error.get() != null) {
+                return;
+            }
+            CompletableFuture<? extends T> future;
+            try {
+                future = Objects.requireNonNull(call.apply(item), "call返回了null");
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            active.incrementAndGet();
+            inFlight.add(future);
+            if (cancelled || error.get() != null) {
+                future.cancel(true);
+            }
+            future.whenComplete((value, e) -> {
+                inFlight.remove(future);
+                if (e != null) {
+                    active.decrementAndGet();
+                    fail(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    return;
+                }
+                if (value != null) {
+                    // 先入队再减少计数，drain看到计数为0时一定也能看到结果
+                    results.offer(value);
+                } else {
+                    upstreamDemand.incrementAndGet();
+                }
+                active.decrementAndGet();
+                drain();
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            upstreamDone = true;
+            fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request的数量必须大于0: " + n));
+                return;
+            }
+            long current;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+            } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            if (started.compareAndSet(false, true)) {
+                upstreamDemand.addAndGet(maxInFlight);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            cancelInFlight();
+            if (wip.getAndIncrement() == 0) {
+                results.clear();
+            }
+        }
+
+        private void fail(Throwable t) {
+            // 已取消时进行中的调用会以CancellationException结束，不再作为错误处理
+            if (!cancelled && error.compareAndSet(null, t)) {
+                upstream.cancel();
+                cancelInFlight();
+            }
+            drain();
+        }
+
+        private void cancelInFlight() {
+            for (CompletableFuture<? extends T> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (terminated || cancelled) {
+                    results.clear();
+                    return;
+                }
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    // 先读计数再取结果，见onNext中的入队顺序
+                    boolean done = upstreamDone && active.get() == 0;
+                    T value = results.poll();
+                    if (value == null) {
+                        if (done) {
+                            complete();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(value);
+                    emitted++;
+                }
+                if (emitted == r) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    if (upstreamDone && active.get() == 0 && results.isEmpty()) {
+                        complete();
+                        return;
+                    }
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                // 每发出一个结果就空出一个调用名额
+                long demand = upstreamDemand.getAndSet(0) + emitted;
+                if (demand > 0 && !upstreamDone) {
+                    upstream.request(demand);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                results.clear();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                terminated = true;
+                results.clear();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void complete() {
+            terminated = true;
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ylx.apiclientsdk.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 发出单个异步结果的Publisher
+ *
+ * 冷发布：每个订阅者在第一次request时才发起一次调用，没有需求之前不占用线程和连接；
+ * 取消订阅会取消对应的Future（CancellableFuture会同时取消排队中或执行中的请求）
+ *
+ * @param <T> 结果类型
+ * @author ylx
+ */
+public class FuturePublisher<T> implements Publisher<T> {
+    private final Supplier<? extends CompletableFuture<? extends T>> call;
+
+    /**
+     * @param call 发起调用的方法，每次订阅执行一次
+     */
+    public FuturePublisher(Supplier<? extends CompletableFuture<? extends T>> call) {
+        this.call = call;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new FutureSubscription<>(subscriber, call));
+    }
+
+    private static final class FutureSubscription<T> implements Subscription {
+        private static final int IDLE = 0;
+        private static final int STARTED = 1;
+        private static final int TERMINATED = 2;
+
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<? extends CompletableFuture<? extends T>> call;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private volatile CompletableFuture<? extends T> future;
+
+        FutureSubscription(Subscriber<? super T> subscriber, Supplier<? extends CompletableFuture<? extends T>> call) {
+            this.subscriber = subscriber;
+            this.call = call;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (state.getAndSet(TERMINATED) != TERMINATED) {
+                    cancelFuture();
+                    subscriber.onError(new IllegalArgumentException("request的数量必须大于0: " + n));
+                }
+                return;
+            }
+            if (!state.compareAndSet(IDLE, STARTED)) {
+                return;
+            }
+            CompletableFuture<? extends T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                if (state.compareAndSet(STARTED, TERMINATED)) {
+                    subscriber.onError(e);
+                }
+                return;
+            }
+            future = started;
+            if (state.get() == TERMINATED) {
+                // 在future赋值之前被取消时，cancel看不到future，由这里取消
+                started.cancel(true);
+                return;
+            }
+            started.whenComplete((value, error) -> {
+                if (!state.compareAndSet(STARTED, TERMINATED)) {
+                    return;
+                }
+                if (error != null) {
+                    subscriber.onError(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else {
+                    if (value != null) {
+                        subscriber.onNext(value);
+                    }
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (state.getAndSet(TERMINATED) != TERMINATED) {
+                cancelFuture();
+            }
+        }
+
+        private void cancelFuture() {
+            CompletableFuture<? extends T> current = future;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于AIMD的自适应并发限制
+ *
+ * 请求成功且耗时正常时并发上限加法增长（每个上限周期+1），失败或耗时超过长期平均耗时的容忍倍数时乘法缩减；
+ * 只有在实际并发接近上限时才增长，避免低负载下上限无意义地膨胀。全部状态使用CAS更新
+ *
+ * @author ylx
+ */
+public class AdaptiveLimiter {
+    private final RouteGuardConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 当前并发上限，以double的位形式保存
+    private final AtomicLong limitBits;
+    // 长期平均耗时（纳秒，EWMA），以double的位形式保存，0表示尚无样本
+    private final AtomicLong rttBits = new AtomicLong(Double.doubleToLongBits(0));
+    private static final double RTT_ALPHA = 0.05;
+
+    public AdaptiveLimiter(RouteGuardConfig config) {
+        this.config = config;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(config.getInitialLimit()));
+    }
+
+    /**
+     * 尝试占用一个并发名额
+     *
+     * @return 成功返回true，已达到上限返回false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放并发名额并根据结果调整上限
+     *
+     * @param rttNanos 请求耗时（纳秒）
+     * @param dropped 请求是否失败或被视为拥塞
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        double rtt = updateRtt(rttNanos);
+        boolean congested = dropped || (rtt > 0 && rttNanos > rtt * config.getLatencyTolerance());
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (congested) {
+                next = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+            } else if (current * 2 >= limit) {
+                next = Math.min(config.getMaxLimit(), limit + 1.0 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double updateRtt(long rttNanos) {
+        while (true) {
+            long bits = rttBits.get();
+            double rtt = Double.longBitsToDouble(bits);
+            double next = rtt == 0 ? rttNanos : rtt + RTT_ALPHA * (rttNanos - rtt);
+            if (rttBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return rtt;
+            }
+        }
+    }
+
+    /**
+     * 获取当前并发上限
+     *
+     * @return 并发上限
+     */
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * 获取当前并发数
+     *
+     * @return 并发数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
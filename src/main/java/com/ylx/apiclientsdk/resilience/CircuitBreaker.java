@@ -0,0 +1,158 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 熔断器
+ *
+ * 关闭状态下按时间窗口统计失败率，超过阈值后打开，打开期间请求直接失败；
+ * 打开持续时间结束后进入半开状态，只放行有限个试探请求，全部成功则关闭，任一失败则重新打开。
+ * 每次进入半开状态时递增代数，试探请求领取名额时得到当前代数，结果只计入同一代的半开统计，
+ * 关闭状态下放行的请求或上一轮试探请求迟到的结果不会被当作试探结果。
+ * 状态与计数均使用原子变量，不加锁
+ *
+ * @author ylx
+ */
+public class CircuitBreaker {
+    public static final int CLOSED = 0;
+    public static final int OPEN = 1;
+    public static final int HALF_OPEN = 2;
+    // acquire的返回值：拒绝请求
+    public static final int REJECTED = -1;
+    // acquire的返回值：关闭状态下放行，不占用试探名额
+    public static final int NO_TRIAL = 0;
+
+    private final RouteGuardConfig config;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    // 半开状态下剩余的试探名额与已成功的试探数
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    // 进入半开状态的次数，用于区分试探请求所属的轮次
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public CircuitBreaker(RouteGuardConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 判断是否放行请求
+     *
+     * 返回值需原样传给{@link #onSuccess(int)}、{@link #onFailure(int)}或{@link #release(int)}
+     *
+     * @return 熔断中返回REJECTED；关闭状态下放行返回NO_TRIAL；半开状态下领到试探名额时返回当前代数（大于0）
+     */
+    public int acquire() {
+        int current = state.get();
+        if (current == CLOSED) {
+            return NO_TRIAL;
+        }
+        if (current == OPEN) {
+            if (System.currentTimeMillis() - openedAt.get() < config.getBreakerOpenDuration()) {
+                return REJECTED;
+            }
+            if (state.compareAndSet(OPEN, HALF_OPEN)) {
+                halfOpenSuccesses.set(0);
+                generation.incrementAndGet();
+                halfOpenPermits.set(config.getBreakerHalfOpenCalls());
+            }
+        }
+        // 半开状态，领取试探名额
+        while (true) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                return REJECTED;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return generation.get();
+            }
+        }
+    }
+
+    /**
+     * 归还未实际发出的请求占用的试探名额，如被并发限制拒绝的请求
+     *
+     * @param permit acquire的返回值
+     */
+    public void release(int permit) {
+        if (permit > 0 && isCurrentTrial(permit)) {
+            halfOpenPermits.incrementAndGet();
+        }
+    }
+
+    /**
+     * 记录请求成功
+     *
+     * @param permit acquire的返回值
+     */
+    public void onSuccess(int permit) {
+        if (permit <= 0) {
+            record(false);
+            return;
+        }
+        if (isCurrentTrial(permit) && halfOpenSuccesses.incrementAndGet() >= config.getBreakerHalfOpenCalls()
+                && state.compareAndSet(HALF_OPEN, CLOSED)) {
+            resetWindow(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 记录请求失败
+     *
+     * @param permit acquire的返回值
+     */
+    public void onFailure(int permit) {
+        if (permit <= 0) {
+            record(true);
+            return;
+        }
+        if (isCurrentTrial(permit)) {
+            open(HALF_OPEN);
+        }
+    }
+
+    private boolean isCurrentTrial(int permit) {
+        return state.get() == HALF_OPEN && generation.get() == permit;
+    }
+
+    private void record(boolean failed) {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= config.getBreakerWindow() && windowStart.compareAndSet(start, now)) {
+            calls.set(0);
+            failures.set(0);
+        }
+        int total = calls.incrementAndGet();
+        int failed0 = failed ? failures.incrementAndGet() : failures.get();
+        if (failed && total >= config.getBreakerMinimumCalls()
+                && (double) failed0 / total >= config.getBreakerFailureRate()) {
+            open(CLOSED);
+        }
+    }
+
+    private void open(int from) {
+        if (state.compareAndSet(from, OPEN)) {
+            openedAt.set(System.currentTimeMillis());
+            halfOpenPermits.set(0);
+        }
+    }
+
+    private void resetWindow(long now) {
+        windowStart.set(now);
+        calls.set(0);
+        failures.set(0);
+    }
+
+    /**
+     * 获取当前状态
+     *
+     * @return CLOSED、OPEN或HALF_OPEN
+     */
+    public int getState() {
+        return state.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单个路由的耗时采样
+ * 保存最近固定数量的耗时样本，每积累一批样本重新计算一次分位数，读取分位数没有额外开销
+ *
+ * @author ylx
+ */
+public class LatencyTracker {
+    private static final int SIZE = 256;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    // 记录过的样本总数，使用long避免长时间运行后溢出为负数
+    private final AtomicLong count = new AtomicLong();
+    // 最近一次计算出的分位数（毫秒），样本不足时为-1
+    private volatile long cachedPercentile = -1;
+
+    public LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param millis 耗时（毫秒）
+     */
+    public void record(long millis) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n & (SIZE - 1)), millis);
+        if ((n + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute((int) Math.max(1, Math.min(n + 1, SIZE)));
+        }
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+        cachedPercentile = copy[Math.max(0, index)];
+    }
+
+    /**
+     * 获取耗时分位数
+     *
+     * @return 分位数（毫秒），样本不足时返回-1
+     */
+    public long getPercentile() {
+        return cachedPercentile;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ylx.apiclientsdk.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.exception.ErrorCode;
+import com.ylx.apiclientsdk.model.enums.RateLimitModeEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 按accessKey的客户端调用配额
+ *
+ * 每个accessKey拥有独立的令牌桶，不同accessKey之间没有共享的竞争点；
+ * 令牌桶保存在有上限的Caffeine缓存中，长时间未使用的accessKey会被回收（空闲的令牌桶本就是满的，回收不影响配额）
+ *
+ * @author ylx
+ */
+public class QuotaLimiter {
+    private final RateLimitConfig config;
+    private final Cache<String, TokenBucket> buckets;
+
+    public QuotaLimiter(RateLimitConfig config) {
+        this.config = config;
+        long idleNanos = Math.max(TimeUnit.SECONDS.toNanos(1),
+                (long) (TimeUnit.SECONDS.toNanos(1) * Math.max(1, config.getBurst()) / config.getRate()));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumKeys())
+                .expireAfterAccess(idleNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * 预约一个令牌，不阻塞
+     *
+     * @param accessKey 访问密钥
+     * @return 需要等待的纳秒数，0表示立即可用
+     * @throws ApiException 如果超过配额且按配置不能等待
+     */
+    public long reserve(String accessKey) throws ApiException {
+        long maxWait = config.getMode() == RateLimitModeEnum.FAIL_FAST ? 0 : TimeUnit.MILLISECONDS.toNanos(config.getMaxWait());
+        long wait = bucket(accessKey).reserve(maxWait);
+        if (wait < 0) {
+            // 异常信息会进入日志和监控，不包含accessKey
+            throw new ApiException(ErrorCode.TOO_MANY_REQUESTS_ERROR, "超过客户端调用配额");
+        }
+        return wait;
+    }
+
+    /**
+     * 领取一个令牌，WAIT模式下在当前线程等待到令牌可用
+     *
+     * @param accessKey 访问密钥
+     * @throws ApiException 如果超过配额且按配置不能等待，或等待被中断
+     */
+    public void acquire(String accessKey) throws ApiException {
+        acquire(accessKey, null);
+    }
+
+    /**
+     * 领取一个令牌，WAIT模式下在当前线程等待到令牌可用
+     *
+     * 等待计入调用的截止时间：需要等待的时间不短于剩余时间时直接失败，不再等待；
+     * 等待期间调用被取消时立即返回失败
+     *
+     * @param accessKey 访问密钥
+     * @param deadline 调用的截止时间与取消信号，为null时不限制
+     * @throws ApiException 如果超过配额且按配置不能等待、等待会超过截止时间，或等待被中断、被取消
+     */
+    public void acquire(String accessKey, Deadline deadline) throws ApiException {
+        long wait = reserve(accessKey);
+        if (wait <= 0) {
+            return;
+        }
+        if (deadline != null && wait >= deadline.remainingNanos()) {
+            throw new ApiException(ErrorCode.TIMEOUT_ERROR, "等待调用配额会超过截止时间");
+        }
+        Thread waiter = Thread.currentThread();
+        Runnable wake = () -> LockSupport.unpark(waiter);
+        if (deadline != null) {
+            deadline.onCancel(wake);
+        }
+        try {
+            long until = System.nanoTime() + wait;
+            while (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new ApiException(ErrorCode.OPERATION_ERROR, "等待调用配额时被中断");
+                }
+                if (deadline != null && deadline.isCancelled()) {
+                    throw new ApiException(ErrorCode.OPERATION_ERROR, "等待调用配额时请求已取消");
+                }
+                wait = until - System.nanoTime();
+            }
+        } finally {
+            if (deadline != null) {
+                deadline.removeCancelHook(wake);
+            }
+        }
+    }
+
+    private TokenBucket bucket(String accessKey) {
+        TokenBucket bucket = buckets.getIfPresent(accessKey);
+        return bucket != null ? bucket : buckets.get(accessKey, key -> new TokenBucket(config.getRate(), config.getBurst()));
+    }
+}
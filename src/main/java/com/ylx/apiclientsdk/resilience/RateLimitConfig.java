@@ -0,0 +1,37 @@
+package com.ylx.apiclientsdk.resilience;
+
+import com.ylx.apiclientsdk.model.enums.RateLimitModeEnum;
+import lombok.Data;
+
+/**
+ * 客户端调用配额配置，按accessKey限制请求速率
+ *
+ * @author ylx
+ */
+@Data
+public class RateLimitConfig {
+    /**
+     * 是否启用客户端配额限制
+     */
+    private boolean enabled = false;
+    /**
+     * 每个accessKey每秒允许的请求数
+     */
+    private double rate = 50;
+    /**
+     * 每个accessKey允许的突发请求数
+     */
+    private int burst = 50;
+    /**
+     * 同步请求超过配额时的处理方式；异步请求始终以定时调度代替阻塞等待，FAIL_FAST时直接失败
+     */
+    private RateLimitModeEnum mode = RateLimitModeEnum.WAIT;
+    /**
+     * WAIT模式下最长等待时间（毫秒），需要等待更久时直接失败
+     */
+    private long maxWait = 1_000;
+    /**
+     * 最多跟踪的accessKey数量
+     */
+    private long maximumKeys = 10_000;
+}
@@ -0,0 +1,76 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 全局重试预算
+ *
+ * 每个正常请求存入ratio个令牌，每次重试取出一个令牌，另外每秒补充minPerSecond个令牌；
+ * 网关大面积故障时令牌很快耗尽，重试随之停止，避免重试风暴。全部操作基于CAS，没有锁
+ *
+ * @author ylx
+ */
+public class RetryBudget {
+    // 令牌以千分之一为单位保存，避免浮点运算
+    private static final long UNIT = 1000;
+
+    private final long depositPerRequest;
+    private final long minPerSecond;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+    private final AtomicLong lastRefillSecond = new AtomicLong();
+
+    public RetryBudget(double ratio, int minPerSecond) {
+        this.depositPerRequest = Math.max(0, (long) (ratio * UNIT));
+        this.minPerSecond = Math.max(0, minPerSecond) * UNIT;
+        // 最多积累10秒的保底额度和1000个请求的存入额度，防止长时间空闲后出现重试突发
+        this.maxBalance = this.minPerSecond * 10 + depositPerRequest * 1000;
+        this.balance.set(this.minPerSecond);
+    }
+
+    /**
+     * 记录一次正常请求
+     */
+    public void onRequest() {
+        deposit(depositPerRequest);
+    }
+
+    /**
+     * 尝试取出一次重试的额度
+     *
+     * @return 预算充足返回true
+     */
+    public boolean tryAcquire() {
+        refill();
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    private void refill() {
+        long second = System.currentTimeMillis() / 1000;
+        long last = lastRefillSecond.get();
+        if (second != last && lastRefillSecond.compareAndSet(last, second)) {
+            deposit(minPerSecond);
+        }
+    }
+
+    private void deposit(long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(maxBalance, current + amount);
+            if (current == next || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ylx.apiclientsdk.resilience;
+
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 重试与对冲请求配置
+ *
+ * @author ylx
+ */
+@Data
+public class RetryConfig {
+    /**
+     * 是否启用重试层，默认关闭：开启后幂等的GET请求遇到可重试的状态码或异常时会被再次发送
+     */
+    private boolean enabled = false;
+    /**
+     * 最大尝试次数（包含第一次），1表示不重试
+     */
+    private int maxAttempts = 3;
+    /**
+     * 第一次重试前的基础退避时间（毫秒）
+     */
+    private long initialBackoff = 50;
+    /**
+     * 退避时间上限（毫秒）
+     */
+    private long maxBackoff = 2_000;
+    /**
+     * 退避时间的增长倍数
+     */
+    private double multiplier = 2.0;
+    /**
+     * 抖动比例，实际退避时间在[backoff * (1 - jitter), backoff]之间随机
+     */
+    private double jitter = 0.5;
+    /**
+     * 可以重试的HTTP状态码
+     */
+    private List<Integer> retryableStatuses = Arrays.asList(429, 502, 503, 504);
+    /**
+     * 重试预算比例：重试次数最多为正常请求数的该比例，避免网关故障时重试放大流量
+     */
+    private double budgetRatio = 0.1;
+    /**
+     * 每秒至少允许的重试次数，保证低流量时也能重试
+     */
+    private int minRetriesPerSecond = 10;
+    /**
+     * 是否对GET请求启用对冲：第一次请求超过延迟阈值仍未返回时，再发送一次相同请求，取先返回的结果
+     */
+    private boolean hedgeEnabled = false;
+    /**
+     * 对冲延迟取该路由最近请求耗时的分位数
+     */
+    private double hedgePercentile = 0.95;
+    /**
+     * 对冲延迟的下限（毫秒），样本不足时也使用该值
+     */
+    private long hedgeMinDelay = 20;
+    /**
+     * 同时进行的对冲请求数上限，达到上限时不再发送对冲请求
+     */
+    private int maxConcurrentHedges = 16;
+}
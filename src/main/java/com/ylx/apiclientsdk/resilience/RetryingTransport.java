@@ -0,0 +1,372 @@
+package com.ylx.apiclientsdk.resilience;
+
+import com.ylx.apiclientsdk.async.ApiExecutors;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+import com.ylx.apiclientsdk.transport.Transport;
+import com.ylx.apiclientsdk.transport.TransportRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+
+import javax.net.ssl.SSLException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 带重试与对冲请求的传输层装饰器
+ *
+ * 按状态码和异常类型判断是否重试：连接建立失败时请求尚未发出，任何方法都可以重试；
+ * 读取超时、无响应和可重试状态码只对幂等的GET请求重试。重试之间按指数退避并加入随机抖动，
+ * 响应头带有Retry-After时至少等待该时间，要求等待的时间超过最大退避时间或截止时间时直接返回该响应；
+ * 所有重试共享一个全局预算。
+ * 启用对冲后，GET请求超过该路由耗时分位数仍未返回时会再发送一次，先返回的结果生效，另一个请求会被中止。
+ * 第一次请求在调用线程中发送，对冲请求在有界的线程池中发送，并和重试一样从预算中扣除，
+ * 线程池已满或预算不足时不发送对冲请求。
+ * 请求带有截止时间时，剩余时间不足以完成退避等待的重试不再进行，等待对冲结果也不会超过截止时间
+ *
+ * @author ylx
+ */
+@Slf4j
+public class RetryingTransport implements Transport, Closeable {
+    private final Transport delegate;
+    private final RetryConfig config;
+    private final RetryBudget budget;
+    private final Set<Integer> retryableStatuses;
+    // 每个路由（不含查询字符串的URL）的耗时采样，用于计算对冲延迟
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    // 对冲请求使用独立的有界线程池，避免与异步请求线程池互相等待
+    private final ThreadPoolExecutor hedgeExecutor;
+
+    public RetryingTransport(Transport delegate, RetryConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+        this.budget = new RetryBudget(config.getBudgetRatio(), config.getMinRetriesPerSecond());
+        this.retryableStatuses = new HashSet<>(config.getRetryableStatuses());
+        this.hedgeExecutor = config.isHedgeEnabled() ? newHedgeExecutor(config.getMaxConcurrentHedges()) : null;
+    }
+
+    /**
+     * 对冲线程池：线程数不超过上限且不排队，全部线程忙碌时拒绝，空闲线程超时后退出
+     */
+    private static ThreadPoolExecutor newHedgeExecutor(int maxConcurrentHedges) {
+        int max = Math.max(1, maxConcurrentHedges);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(max, max, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                ApiExecutors.namedDaemonThreadFactory("api-client-hedge-"), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        boolean idempotent = request.getMethod() == RequestMethodEnum.GET;
+        boolean hedge = idempotent && hedgeExecutor != null;
+        budget.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            TransportResponse response;
+            try {
+                response = hedge ? executeHedged(request) : executeTimed(request);
+            } catch (IOException e) {
+                long delay = backoff(attempt, -1);
+                if (!isRetryable(e, idempotent) || !canRetry(attempt, request.getDeadline(), delay)) {
+                    throw e;
+                }
+                log.debug("请求失败，准备第{}次重试: {}", attempt, e.toString());
+                sleep(delay);
+                continue;
+            }
+            if (!idempotent || !retryableStatuses.contains(response.getStatus())) {
+                return response;
+            }
+            long retryAfter = retryAfter(response.getHeader("Retry-After"));
+            // 服务端要求的等待时间超过了最大退避时间，交给调用方决定何时重试
+            if (retryAfter > config.getMaxBackoff()) {
+                return response;
+            }
+            long delay = backoff(attempt, retryAfter);
+            if (!canRetry(attempt, request.getDeadline(), delay)) {
+                return response;
+            }
+            response.close();
+            log.debug("响应状态{}，准备第{}次重试", response.getStatus(), attempt);
+            sleep(delay);
+        }
+    }
+
+    /**
+     * 是否还能重试：未超过最大次数、截止时间前还来得及退避后再发送一次，且重试预算充足
+     */
+    private boolean canRetry(int attempt, Deadline deadline, long delay) {
+        if (attempt >= config.getMaxAttempts()) {
+            return false;
+        }
+        if (deadline != null && (deadline.isCancelled() || deadline.remainingMillis() <= delay)) {
+            return false;
+        }
+        return budget.tryAcquire();
+    }
+
+    /**
+     * 判断异常是否可以重试
+     */
+    private boolean isRetryable(IOException e, boolean idempotent) {
+        if (e instanceof UnknownHostException || e instanceof SSLException) {
+            return false;
+        }
+        // 连接没有建立，请求一定没有发出
+        if (e instanceof ConnectException || e instanceof ConnectTimeoutException
+                || e instanceof HttpHostConnectException || e instanceof NoRouteToHostException) {
+            return true;
+        }
+        if (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)) {
+            return false;
+        }
+        return idempotent && (e instanceof SocketTimeoutException || e instanceof NoHttpResponseException
+                || e instanceof SocketException);
+    }
+
+    /**
+     * 计算第attempt次失败后的等待时间：指数退避加抖动，且不小于Retry-After
+     *
+     * @param retryAfter Retry-After要求的等待时间（毫秒），调用方保证不超过最大退避时间，没有时为-1
+     */
+    private long backoff(int attempt, long retryAfter) {
+        double base = Math.min(config.getMaxBackoff(),
+                config.getInitialBackoff() * Math.pow(config.getMultiplier(), attempt - 1));
+        double jitter = Math.min(1.0, Math.max(0.0, config.getJitter()));
+        long delay = (long) (base * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+        return Math.max(delay, retryAfter);
+    }
+
+    /**
+     * 解析Retry-After响应头（秒数形式）
+     */
+    private static long retryAfter(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("重试等待被中断");
+        }
+    }
+
+    private TransportResponse executeTimed(TransportRequest request) throws IOException {
+        long start = System.nanoTime();
+        TransportResponse response = delegate.execute(request);
+        if (hedgeExecutor != null) {
+            tracker(request).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return response;
+    }
+
+    /**
+     * 发送对冲请求：在当前线程发送第一次请求，超过延迟阈值仍未返回时在对冲线程池中再发送一次，
+     * 取先成功返回的响应并中止另一个请求。每个请求使用独立的截止时间，与原截止时间同时到期，
+     * 原截止时间被取消时一起取消，中止落后的请求时不影响调用方的截止时间
+     */
+    private TransportResponse executeHedged(TransportRequest request) throws IOException {
+        long delay = Math.max(config.getHedgeMinDelay(), tracker(request).getPercentile());
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.remainingMillis() <= delay) {
+            // 截止时间前来不及发送对冲请求
+            return executeTimed(request);
+        }
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        // 已发出且尚未结束的请求数，全部失败时才以最后一个异常结束；降为0后不再发送对冲请求
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Attempt primary = new Attempt(request);
+        Attempt hedge = new Attempt(request);
+        Runnable hedgeTask = () -> {
+            try {
+                TransportResponse response = executeTimed(hedge.request);
+                if (result.complete(response)) {
+                    primary.abort();
+                } else {
+                    response.close();
+                }
+            } catch (Exception e) {
+                failure.set(e);
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        ScheduledFuture<?> timer = ApiExecutors.scheduler().schedule(() -> {
+            if (result.isDone() || !budget.tryAcquire() || !incrementIfPending(pending)) {
+                return;
+            }
+            try {
+                hedgeExecutor.execute(hedgeTask);
+            } catch (RejectedExecutionException e) {
+                // 对冲线程池已满，不再对冲；第一次请求恰好在此期间失败时由这里结束
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(failure.get());
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        try {
+            TransportResponse response = executeTimed(primary.request);
+            if (result.complete(response)) {
+                timer.cancel(false);
+                hedge.abort();
+                return response;
+            }
+            // 对冲请求已经先返回
+            response.close();
+            return awaitHedged(result, deadline);
+        } catch (IOException | RuntimeException e) {
+            if (result.isDone() && !result.isCompletedExceptionally()) {
+                // 对冲请求先返回并中止了当前请求
+                return awaitHedged(result, deadline);
+            }
+            failure.set(e);
+            if (pending.decrementAndGet() == 0) {
+                timer.cancel(false);
+                result.completeExceptionally(e);
+                throw e;
+            }
+            return awaitHedged(result, deadline);
+        } finally {
+            // 返回后原截止时间的取消不再需要传递给两个请求：胜出的响应由调用方关闭，落后的请求已被中止
+            primary.close();
+            hedge.close();
+        }
+    }
+
+    /**
+     * 计数不为0时加一；为0表示所有请求都已失败，结果已经确定
+     */
+    private static boolean incrementIfPending(AtomicInteger pending) {
+        while (true) {
+            int current = pending.get();
+            if (current == 0) {
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private TransportResponse awaitHedged(CompletableFuture<TransportResponse> result, Deadline deadline) throws IOException {
+        try {
+            if (deadline == null || !deadline.hasLimit()) {
+                return result.get();
+            }
+            return result.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 传输实现会在到期时中止请求，这里只是不再等待
+            closeWhenDone(result);
+            throw new SocketTimeoutException("请求超过截止时间");
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(result);
+            throw new InterruptedIOException("请求被中断");
+        }
+    }
+
+    /**
+     * 对冲中的一次请求，使用可以单独中止的截止时间
+     */
+    private static final class Attempt {
+        private final TransportRequest request;
+        private final Deadline parent;
+        private final Deadline deadline;
+        private final Runnable cancel;
+
+        Attempt(TransportRequest original) {
+            this.parent = original.getDeadline();
+            this.deadline = Deadline.after(parent != null && parent.hasLimit() ? Math.max(1, parent.remainingMillis()) : 0);
+            this.cancel = deadline::cancel;
+            this.request = original.withUrl(original.getUrl());
+            request.setDeadline(deadline);
+            if (parent != null) {
+                parent.onCancel(cancel);
+            }
+        }
+
+        void abort() {
+            deadline.cancel();
+        }
+
+        void close() {
+            if (parent != null) {
+                parent.removeCancelHook(cancel);
+            }
+        }
+    }
+
+    /**
+     * 调用方放弃等待后，之后返回的响应需要被关闭
+     */
+    private static void closeWhenDone(CompletableFuture<TransportResponse> result) {
+        result.thenAccept(response -> {
+            try {
+                response.close();
+            } catch (IOException ignored) {
+                // 调用方已经放弃该响应
+            }
+        });
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+
+    private LatencyTracker tracker(TransportRequest request) {
+        String url = request.getUrl();
+        int queryStart = url.indexOf('?');
+        String route = queryStart < 0 ? url : url.substring(0, queryStart);
+        return latencies.computeIfAbsent(route, key -> new LatencyTracker(config.getHedgePercentile()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdown();
+        }
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ylx.apiclientsdk.resilience;
+
+import lombok.Data;
+
+/**
+ * 路由级并发限制与熔断配置
+ *
+ * @author ylx
+ */
+@Data
+public class RouteGuardConfig {
+    /**
+     * 是否启用路由级并发限制与熔断
+     */
+    private boolean enabled = false;
+    /**
+     * 每个路由的初始并发上限
+     */
+    private int initialLimit = 20;
+    /**
+     * 并发上限的下限
+     */
+    private int minLimit = 1;
+    /**
+     * 并发上限的上限
+     */
+    private int maxLimit = 200;
+    /**
+     * 发生拥塞（失败或耗时超过阈值）时并发上限的缩减比例
+     */
+    private double backoffRatio = 0.9;
+    /**
+     * 耗时超过长期平均耗时的该倍数时视为拥塞
+     */
+    private double latencyTolerance = 2.0;
+    /**
+     * 熔断统计窗口（毫秒）
+     */
+    private long breakerWindow = 10_000;
+    /**
+     * 窗口内至少达到该请求数才会计算失败率
+     */
+    private int breakerMinimumCalls = 20;
+    /**
+     * 触发熔断的失败率
+     */
+    private double breakerFailureRate = 0.5;
+    /**
+     * 熔断打开后的持续时间（毫秒），之后进入半开状态放行少量试探请求
+     */
+    private long breakerOpenDuration = 5_000;
+    /**
+     * 半开状态下放行的试探请求数
+     */
+    private int breakerHalfOpenCalls = 3;
+}
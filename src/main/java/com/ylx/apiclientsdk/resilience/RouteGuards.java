@@ -0,0 +1,51 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按请求路径隔离的并发限制与熔断器
+ * 每个路径拥有独立的并发上限和熔断状态，慢接口只会占满自己的名额，不会拖垮其他接口（舱壁隔离）
+ *
+ * @author ylx
+ */
+public class RouteGuards {
+    private final RouteGuardConfig config;
+    private final ConcurrentMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public RouteGuards(RouteGuardConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 获取路径对应的保护器
+     *
+     * @param path 请求路径
+     * @return 保护器
+     */
+    public Guard forPath(String path) {
+        Guard guard = guards.get(path);
+        return guard != null ? guard : guards.computeIfAbsent(path, key -> new Guard(config));
+    }
+
+    /**
+     * 单个路径的并发限制与熔断器
+     */
+    public static final class Guard {
+        private final AdaptiveLimiter limiter;
+        private final CircuitBreaker breaker;
+
+        Guard(RouteGuardConfig config) {
+            this.limiter = new AdaptiveLimiter(config);
+            this.breaker = new CircuitBreaker(config);
+        }
+
+        public AdaptiveLimiter getLimiter() {
+            return limiter;
+        }
+
+        public CircuitBreaker getBreaker() {
+            return breaker;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ylx.apiclientsdk.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ *
+ * 采用GCRA（通用信元速率算法）实现：只保存一个“理论到达时间”，领取令牌即把它向后推进一个发放间隔，
+ * 整个操作是一次CAS，不需要后台线程补充令牌，也不需要加锁
+ *
+ * @author ylx
+ */
+public class TokenBucket {
+    // 每个令牌的发放间隔（纳秒）
+    private final long interval;
+    // 允许提前领取的时间，burst个令牌中第一个按时发放，其余burst-1个可以提前领取
+    private final long tolerance;
+    // 理论到达时间（System.nanoTime时间轴）
+    private final AtomicLong arrival;
+
+    public TokenBucket(double rate, int burst) {
+        this.interval = Math.max(1L, (long) (1_000_000_000L / rate));
+        this.tolerance = interval * (Math.max(1, burst) - 1);
+        this.arrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @param maxWaitNanos 最长可以接受的等待时间（纳秒），0表示只接受立即可用的令牌
+     * @return 需要等待的纳秒数，0表示立即可用；超过最长等待时间时返回-1且不占用令牌
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long base = current - now > 0 ? current : now;
+            long wait = base - tolerance - now;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (arrival.compareAndSet(current, base + interval)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+}
@@ -3,9 +3,16 @@ package com.ylx.apiclientsdk.service;
 import com.ylx.apiclientsdk.client.ApiClient;
 import com.ylx.apiclientsdk.exception.ApiException;
 import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.request.BatchOptions;
 import com.ylx.apiclientsdk.model.request.IpInfoRequest;
+import com.ylx.apiclientsdk.model.response.BatchResult;
+import com.ylx.apiclientsdk.model.response.ResponseStream;
 import com.ylx.apiclientsdk.model.response.ResultResponse;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * 定义了API服务的基本行为，提供了一种通用的方法来发送请求并处理响应。
  * 该接口的目的是确保所有API交互都遵循统一的模式，以便于错误处理、日志记录和安全性管理。
@@ -60,5 +67,96 @@ public interface ApiService {
      * @throws ApiException 如果API调用出现错误
      */
     ResultResponse getIpInfo(IpInfoRequest request) throws ApiException;
-}
 
+    /**
+     * 使用默认的客户端异步发送一个请求.
+     * 请求在SDK专用的有界线程池中执行，线程池队列已满时返回的Future会以ApiException失败；
+     * 调用返回Future的cancel方法可以取消排队中的请求或中断执行中的请求。
+     *
+     * @param request 请求对象，包含了发送请求所需的所有信息。
+     * @param <O>     请求体的类型参数，由具体实现决定。
+     * @param <T>     响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 异步的响应结果，失败时以ApiException完成。
+     */
+    <O,T extends ResultResponse> CompletableFuture<T> requestAsync(BaseRequest<O, T> request);
+
+    /**
+     * 使用指定的客户端异步发送一个请求.
+     *
+     * @param apiClient 客户端实例，用于发送请求。
+     * @param request   请求对象，包含了发送请求所需的所有信息。
+     * @param <O>       请求体的类型参数，由具体实现决定。
+     * @param <T>       响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 异步的响应结果，失败时以ApiException完成。
+     */
+    <O,T extends ResultResponse> CompletableFuture<T> requestWithClientAsync(ApiClient apiClient, BaseRequest<O, T> request);
+
+    /**
+     * 通过指定的ApiClient异步获取IP信息
+     *
+     * @param apiClient ApiClient实例，用于发送API请求
+     * @param request IpInfoRequest对象，包含获取IP信息所需的参数
+     * @return 异步的IP信息查询结果
+     */
+    CompletableFuture<ResultResponse> getIpInfoWithClientAsync(ApiClient apiClient, IpInfoRequest request);
+
+    /**
+     * 通过默认ApiClient异步获取IP信息
+     *
+     * @param request IpInfoRequest对象，包含获取IP信息所需的参数
+     * @return 异步的IP信息查询结果
+     */
+    CompletableFuture<ResultResponse> getIpInfoAsync(IpInfoRequest request);
+
+    /**
+     * 使用默认的客户端批量发送请求.
+     * 请求在SDK的异步线程池中并发执行，并发数不超过options中的上限，所有请求共享连接池；
+     * 返回结果与输入顺序一一对应，单个请求失败时只记录在对应的结果中，不影响其他请求。
+     *
+     * @param requests 请求列表。
+     * @param options  批量选项，为null时使用默认选项。
+     * @param <T>      响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 与输入顺序一致的结果列表。
+     */
+    <T extends ResultResponse> List<BatchResult<T>> requestBatch(List<? extends BaseRequest<?, T>> requests, BatchOptions options);
+
+    /**
+     * 使用指定的客户端批量发送请求，整个批次使用该客户端的凭证.
+     *
+     * @param apiClient 客户端实例，用于发送请求。
+     * @param requests  请求列表。
+     * @param options   批量选项，为null时使用默认选项。
+     * @param <T>       响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 与输入顺序一致的结果列表。
+     */
+    <T extends ResultResponse> List<BatchResult<T>> requestBatchWithClient(ApiClient apiClient,
+                                                                          List<? extends BaseRequest<?, T>> requests,
+                                                                          BatchOptions options);
+
+    /**
+     * 使用默认的客户端发送请求，并以流的方式逐个读取响应中的JSON数组元素.
+     * 适用于列表类的大响应，元素在迭代时才从连接中读取，调用方需要关闭返回的流以释放连接。
+     *
+     * @param request     请求对象，包含了发送请求所需的所有信息。
+     * @param elementType 数组元素的类型，传入Map.class时按Map解析。
+     * @param arrayField  顶层对象中数组字段的名称，为null时表示响应体本身就是数组。
+     * @param <E>         数组元素的类型。
+     * @return 元素迭代器，同时也是需要关闭的资源。
+     * @throws ApiException 如果请求失败或响应状态不是200。
+     */
+    <E> ResponseStream<E> requestIterator(BaseRequest<?, ?> request, Class<E> elementType, String arrayField) throws ApiException;
+
+    /**
+     * 使用默认的客户端发送请求，并将响应中JSON数组的元素逐个交给consumer处理.
+     * 处理结束（包括consumer抛出异常）后连接会被立即释放。
+     *
+     * @param request     请求对象，包含了发送请求所需的所有信息。
+     * @param elementType 数组元素的类型，传入Map.class时按Map解析。
+     * @param arrayField  顶层对象中数组字段的名称，为null时表示响应体本身就是数组。
+     * @param consumer    元素处理函数。
+     * @param <E>         数组元素的类型。
+     * @return 处理的元素个数。
+     * @throws ApiException 如果请求失败、响应状态不是200或读取响应失败。
+     */
+    <E> long requestStream(BaseRequest<?, ?> request, Class<E> elementType, String arrayField, Consumer<? super E> consumer) throws ApiException;
+}
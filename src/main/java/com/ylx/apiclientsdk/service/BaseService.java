@@ -1,25 +1,78 @@
 package com.ylx.apiclientsdk.service;
 
-import cn.hutool.crypto.SecureUtil;
-import cn.hutool.http.HttpRequest;
-import cn.hutool.http.HttpResponse;
+import cn.hutool.core.io.IoUtil;
 import cn.hutool.json.JSONUtil;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.ylx.apiclientsdk.async.ApiExecutors;
+import com.ylx.apiclientsdk.async.CancellableFuture;
+import com.ylx.apiclientsdk.async.ExecutorConfig;
+import com.ylx.apiclientsdk.cache.CachedResponse;
+import com.ylx.apiclientsdk.cache.ResponseCache;
 import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.client.Credential;
+import com.ylx.apiclientsdk.client.CredentialCache;
+import com.ylx.apiclientsdk.codec.CodecNegotiator;
+import com.ylx.apiclientsdk.codec.ContentCompression;
+import com.ylx.apiclientsdk.codec.ResponseDecoder;
+import com.ylx.apiclientsdk.codec.WireCodec;
+import com.ylx.apiclientsdk.config.WarmupConfig;
 import com.ylx.apiclientsdk.exception.ApiException;
 import com.ylx.apiclientsdk.exception.ErrorCode;
 import com.ylx.apiclientsdk.exception.ErrorResponse;
+import com.ylx.apiclientsdk.metrics.CountingInputStream;
+import com.ylx.apiclientsdk.metrics.RequestEvent;
+import com.ylx.apiclientsdk.metrics.RequestListener;
+import com.ylx.apiclientsdk.model.enums.RequestErrorTypeEnum;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
 import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.request.BatchOptions;
+import com.ylx.apiclientsdk.model.request.CurrencyRequest;
+import com.ylx.apiclientsdk.model.request.IpInfoRequest;
+import com.ylx.apiclientsdk.model.response.BatchResult;
+import com.ylx.apiclientsdk.model.response.ResponseStream;
 import com.ylx.apiclientsdk.model.response.ResultResponse;
+import com.ylx.apiclientsdk.resilience.CircuitBreaker;
+import com.ylx.apiclientsdk.resilience.QuotaLimiter;
+import com.ylx.apiclientsdk.resilience.RouteGuards;
+import com.ylx.apiclientsdk.transport.Deadline;
+import com.ylx.apiclientsdk.transport.PooledTransport;
+import com.ylx.apiclientsdk.transport.TimeoutConfig;
+import com.ylx.apiclientsdk.transport.Transport;
+import com.ylx.apiclientsdk.transport.TransportRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
 import com.ylx.apiclientsdk.util.SignUtils;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.springframework.util.ObjectUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.SocketTimeoutException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 @Slf4j
 @Data
@@ -30,6 +83,205 @@ public abstract class BaseService implements ApiService {
     // gatewayHost存储API网关的主机地址，用于构建请求URL
     private String gatewayHost;
 
+    // transport负责实际的HTTP交换，未设置时使用全局共享的连接池实现
+    private Transport transport;
+
+    // credentialCache缓存各租户派生后的不可变凭证，多租户并发调用时互不影响
+    private CredentialCache credentialCache = new CredentialCache();
+
+    // contentCompression负责请求体压缩与响应体解压，并统计压缩前后的字节数
+    private ContentCompression contentCompression = new ContentCompression();
+
+    // codecNegotiator选择请求的报文编码并按Content-Type解码响应，默认只使用JSON
+    private CodecNegotiator codecNegotiator = new CodecNegotiator();
+
+    // responseCache为null时不缓存，配置后对标注了@CacheableRequest的GET请求生效
+    private ResponseCache responseCache;
+
+    // executor用于执行异步请求，未设置时使用全局共享的有界线程池
+    private ExecutorService executor;
+
+    // routeGuards为null时不限制，配置后按请求路径做自适应并发限制与熔断
+    private RouteGuards routeGuards;
+
+    // quotaLimiter为null时不限制，配置后按accessKey在客户端执行调用配额
+    private QuotaLimiter quotaLimiter;
+
+    // requestListener为null时不统计，配置后每个请求结束时收到各阶段耗时等信息
+    private RequestListener requestListener;
+
+    // timeout为默认的连接、读取和总超时，总超时可以按请求覆盖
+    private TimeoutConfig timeout = new TimeoutConfig();
+
+    // routeTable按请求类缓存解析后的请求方法和URL，gatewayHost改变后重新创建
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile RouteTable routeTable;
+
+    /**
+     * 默认传输实现的延迟加载持有者，只有在未设置transport时才会创建连接池
+     */
+    private static class DefaultTransportHolder {
+        private static final Transport INSTANCE = new PooledTransport();
+    }
+
+    /**
+     * 默认异步线程池的延迟加载持有者，只有在未设置executor时才会创建
+     */
+    private static class DefaultExecutorHolder {
+        private static final ExecutorService INSTANCE = ApiExecutors.newExecutor(new ExecutorConfig());
+    }
+
+    /**
+     * 获取传输实现
+     *
+     * @return 已设置的传输实现，未设置时返回默认的连接池实现
+     */
+    public Transport getTransport() {
+        return transport != null ? transport : DefaultTransportHolder.INSTANCE;
+    }
+
+    /**
+     * 获取异步请求线程池
+     *
+     * @return 已设置的线程池，未设置时返回默认的共享线程池
+     */
+    public ExecutorService getExecutor() {
+        return executor != null ? executor : DefaultExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * 获取当前网关地址对应的路由表
+     *
+     * @return 路由表
+     */
+    private RouteTable routes() {
+        RouteTable table = routeTable;
+        String host = gatewayHost;
+        if (table == null || !table.isFor(host)) {
+            table = new RouteTable(host);
+            routeTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * 关闭通过setExecutor设置的线程池，默认的共享线程池不受影响
+     * 在Spring中作为Bean的销毁方法被自动调用
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 预热客户端，使部署后的首批请求不必承担类加载、JIT编译、DNS解析和TLS握手的开销
+     *
+     * 先在本地反复执行参数编码、签名和报文编解码路径（使用临时凭证，不发送请求，也不影响缓存的签名），
+     * 再并发向网关发送connections个不带签名的请求，把建立好的连接留在连接池中。
+     * 预热不经过路由限流、熔断、配额和请求监听器，不会影响这些组件的统计
+     *
+     * @param config 预热配置
+     * @return 成功建立的连接数
+     * @throws ApiException 本地预热失败
+     */
+    public int warmUp(WarmupConfig config) throws ApiException {
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(config.getTimeout());
+        int iterations = primeRequestPath(config.getIterations(), deadline);
+        int opened = StringUtils.isBlank(gatewayHost) ? 0 : openConnections(config, deadline);
+        log.info("API客户端预热完成：本地执行{}次，建立连接{}/{}个，耗时{}ms", iterations, opened,
+                StringUtils.isBlank(gatewayHost) ? 0 : config.getConnections(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return opened;
+    }
+
+    /**
+     * 在本地执行GET和POST请求的组装路径以及响应解码，参数每次都不同，避免命中签名缓存
+     *
+     * @return 实际执行的次数，到达截止时间后提前结束
+     */
+    private int primeRequestPath(int iterations, Deadline deadline) throws ApiException {
+        Credential credential = new Credential("warmup", "warmup");
+        IpInfoRequest getRequest = new IpInfoRequest();
+        CurrencyRequest postRequest = new CurrencyRequest();
+        postRequest.setMethod(RequestMethodEnum.POST.getValue());
+        postRequest.setPath("/warmup");
+        String getPath = routes().resolve(getRequest).getPath();
+        String postPath = routes().resolve(postRequest).getPath();
+        int i = 0;
+        try {
+            for (; i < iterations && !deadline.isExpired(); i++) {
+                IpInfoRequest params = new IpInfoRequest();
+                params.setIp("10.0." + ((i >> 8) & 255) + "." + (i & 255));
+                getRequest.setRequestParams(params);
+                getHttpRequestByRequestMethod(getRequest, credential, codecNegotiator.select(getRequest, getPath), null, deadline);
+                postRequest.getRequestParams().put("seq", i);
+                WireCodec codec = codecNegotiator.select(postRequest, postPath);
+                getHttpRequestByRequestMethod(postRequest, credential, codec, null, deadline);
+                codec.decode(ResultResponse.class, new ByteArrayInputStream(codec.encodeRequest(postRequest)));
+            }
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ApiException(ErrorCode.SYSTEM_ERROR, "预热失败：" + e.getMessage());
+        }
+        return i;
+    }
+
+    /**
+     * 并发发送预热请求，全部得到响应后再统一关闭，使每个请求占用一个独立的连接
+     *
+     * @return 成功建立的连接数
+     */
+    private int openConnections(WarmupConfig config, Deadline deadline) {
+        Transport transport = getTransport();
+        String host = gatewayHost.endsWith("/") ? gatewayHost.substring(0, gatewayHost.length() - 1) : gatewayHost;
+        String path = config.getPath() == null ? "/" : config.getPath().trim();
+        String url = host + (path.startsWith("/") ? path : "/" + path);
+        List<CompletableFuture<TransportResponse>> futures = new ArrayList<>(config.getConnections());
+        for (int i = 0; i < config.getConnections(); i++) {
+            TransportRequest transportRequest = withTimeouts(new TransportRequest(RequestMethodEnum.GET, url, new HashMap<>(), null), deadline);
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return transport.execute(transportRequest);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, getExecutor()));
+            } catch (RejectedExecutionException e) {
+                log.warn("预热请求被线程池拒绝：{}", e.getMessage());
+                break;
+            }
+        }
+        List<TransportResponse> responses = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<TransportResponse> future : futures) {
+                try {
+                    responses.add(future.get(Math.max(1, deadline.remainingMillis()), TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.thenAccept(BaseService::closeQuietly);
+                } catch (Exception e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof UncheckedIOException) {
+                        cause = cause.getCause();
+                    }
+                    log.warn("预热连接{}失败：{}", url, cause.toString());
+                    // 超时放弃等待的请求在完成后再关闭，避免连接一直被占用
+                    future.thenAccept(BaseService::closeQuietly);
+                }
+            }
+        } finally {
+            for (TransportResponse response : responses) {
+                closeQuietly(response);
+            }
+        }
+        return responses.size();
+    }
+
     /**
      * 检查配置
      *
@@ -53,6 +305,27 @@ public abstract class BaseService implements ApiService {
         }
     }
 
+    /**
+     * 解析本次调用使用的凭证
+     *
+     * 与checkConfig的判断规则一致：传入的ApiClient密钥完整时使用它，否则使用当前对象的ApiClient；
+     * 但不会修改当前对象的状态，并发的多租户调用各自使用自己的凭证
+     *
+     * @param apiClient 本次调用指定的ApiClient，可以为null
+     * @return 本次调用使用的不可变凭证
+     * @throws ApiException 如果没有可用的访问密钥，则抛出ApiException异常
+     */
+    public Credential resolveCredential(ApiClient apiClient) throws ApiException {
+        if (apiClient != null && !StringUtils.isAnyBlank(apiClient.getAccessKey(), apiClient.getSecretKey())) {
+            return credentialCache.get(apiClient);
+        }
+        ApiClient defaultClient = this.apiClient;
+        if (defaultClient == null || StringUtils.isAnyBlank(defaultClient.getAccessKey(), defaultClient.getSecretKey())) {
+            throw new ApiException(ErrorCode.NO_AUTH_ERROR, "请先配置密钥AccessKey/SecretKey");
+        }
+        return credentialCache.get(defaultClient);
+    }
+
 
     /**
      * 执行具体请求操作
@@ -62,134 +335,327 @@ public abstract class BaseService implements ApiService {
      * 如果发生任何异常，将捕获并封装成ApiException，以便调用者可以更方便地处理错误情况
      *
      * @param request 请求对象，包含了请求的具体内容以及期望的返回类型
-     * @return HttpResponse 原生的HTTP响应对象
+     * @param credential 本次调用使用的凭证
+     * @param codec 请求使用的报文编码
+     * @param quotaReserved 是否已预先领取了调用配额
+     * @param event 请求事件，未配置监听器时为null
+     * @param deadline 调用的截止时间与取消信号
+     * @return TransportResponse 传输层响应，调用方读取完毕后需要关闭以释放连接
      * @throws ApiException 如果请求过程中出现错误，封装成ApiException抛出
      */
-    private <O, T extends ResultResponse> HttpResponse doRequest(BaseRequest<O, T> request) throws ApiException {
-        try (HttpResponse httpResponse = getHttpRequestByRequestMethod(request).execute()) {
-            return httpResponse;
+    private <O, T extends ResultResponse> TransportResponse doRequest(BaseRequest<O, T> request, Credential credential, WireCodec codec,
+                                                                      boolean quotaReserved, RequestEvent event, Deadline deadline) throws ApiException {
+        TransportRequest transportRequest = getHttpRequestByRequestMethod(request, credential, codec, event, deadline);
+        try {
+            return execute(request, credential, transportRequest, quotaReserved, event);
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
-            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+            throw failure(e, deadline);
+        }
+    }
+
+    /**
+     * 按协商的报文编码执行请求
+     * 网关拒绝二进制编码（415/406）时关闭该响应，以JSON重新发送一次，重发不再重复领取调用配额
+     *
+     * @param request 请求对象
+     * @param credential 本次调用使用的凭证
+     * @param quotaReserved 是否已预先领取了调用配额
+     * @param event 请求事件，未配置监听器时为null
+     * @param deadline 调用的截止时间与取消信号
+     * @return 传输层响应，调用方读取完毕后需要关闭以释放连接
+     * @throws ApiException 如果请求过程中出现错误
+     */
+    private <O, T extends ResultResponse> TransportResponse doNegotiatedRequest(BaseRequest<O, T> request, Credential credential,
+                                                                                boolean quotaReserved, RequestEvent event,
+                                                                                Deadline deadline) throws ApiException {
+        String path = routes().resolve(request).getPath();
+        WireCodec codec = codecNegotiator.select(request, path);
+        TransportResponse httpResponse = doRequest(request, credential, codec, quotaReserved, event, deadline);
+        if (!codecNegotiator.rejected(path, codec, httpResponse)) {
+            return httpResponse;
+        }
+        closeQuietly(httpResponse);
+        return doRequest(request, credential, CodecNegotiator.json(), true, event, deadline);
+    }
+
+    /**
+     * 通过传输层发送请求
+     *
+     * 配置了quotaLimiter且尚未预先领取配额时，先按accessKey领取调用配额，超过配额时按配置等待或直接失败，
+     * 等待不超过请求的截止时间，调用被取消时立即结束等待；配置了routeGuards时，先经过请求路径对应的熔断器和并发限制，熔断中或并发已满时直接失败，
+     * 不再占用连接；请求结束后按耗时和结果（传输异常、429及5xx视为失败）调整并发上限和熔断状态
+     *
+     * @param request 请求对象，用于确定所属路径
+     * @param credential 本次调用使用的凭证，用于确定所属配额
+     * @param transportRequest 传输层请求
+     * @param quotaReserved 是否已预先领取了调用配额
+     * @param event 请求事件，未配置监听器时为null
+     * @return 传输层响应
+     * @throws ApiException 如果超过调用配额、等待配额会超过截止时间、熔断中或并发数超过限制
+     * @throws IOException 如果传输失败
+     */
+    private TransportResponse execute(BaseRequest<?, ?> request, Credential credential, TransportRequest transportRequest,
+                                      boolean quotaReserved, RequestEvent event) throws ApiException, IOException {
+        QuotaLimiter quota = this.quotaLimiter;
+        if (quota != null && !quotaReserved) {
+            quota.acquire(credential.getAccessKey(), transportRequest.getDeadline());
+        }
+        RouteGuards guards = this.routeGuards;
+        if (guards == null) {
+            return send(transportRequest, event);
+        }
+        String path = routes().resolve(request).getPath();
+        RouteGuards.Guard guard = guards.forPath(path);
+        int permit = guard.getBreaker().acquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            throw new ApiException(ErrorCode.CIRCUIT_OPEN_ERROR, "接口" + path + "熔断中，请稍后重试");
+        }
+        if (!guard.getLimiter().tryAcquire()) {
+            // 未发出的请求不占用半开状态的试探名额
+            guard.getBreaker().release(permit);
+            throw new ApiException(ErrorCode.CONCURRENCY_LIMIT_ERROR, "接口" + path + "并发数超过限制");
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            TransportResponse response = send(transportRequest, event);
+            int status = response.getStatus();
+            failed = status == 429 || status >= 500;
+            return response;
+        } finally {
+            guard.getLimiter().release(System.nanoTime() - start, failed);
+            if (failed) {
+                guard.getBreaker().onFailure(permit);
+            } else {
+                guard.getBreaker().onSuccess(permit);
+            }
+        }
+    }
+
+    /**
+     * 调用传输实现发送请求，配置了监听器时记录收到响应头的耗时、建连耗时和状态码
+     *
+     * @param transportRequest 传输层请求
+     * @param event 请求事件，未配置监听器时为null
+     * @return 传输层响应
+     * @throws IOException 如果传输失败
+     */
+    private TransportResponse send(TransportRequest transportRequest, RequestEvent event) throws IOException {
+        if (event == null) {
+            return getTransport().execute(transportRequest);
+        }
+        long start = System.nanoTime();
+        try {
+            TransportResponse response = getTransport().execute(transportRequest);
+            event.setTtfbNanos(System.nanoTime() - start);
+            event.setConnectNanos(response.getConnectNanos());
+            event.setStatus(response.getStatus());
+            return response;
+        } catch (IOException e) {
+            event.setTtfbNanos(System.nanoTime() - start);
+            boolean timeout = e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException;
+            event.setErrorType(timeout ? RequestErrorTypeEnum.TIMEOUT : RequestErrorTypeEnum.NETWORK);
+            throw e;
         }
     }
 
     /**
      * 根据请求方法获取HTTP响应
      *
-     * 此方法根据提供的请求对象，通过不同的HTTP方法（如GET、POST）构建HttpRequest对象
+     * 此方法根据提供的请求对象，通过不同的HTTP方法（如GET、POST）构建TransportRequest对象
      * 它处理了请求参数的组装、请求头的添加以及请求体的设置
      *
      * @param request 请求对象，包含请求方法、路径等信息
+     * @param credential 本次调用使用的凭证，用于生成签名请求头
+     * @param codec 请求使用的报文编码
+     * @param event 请求事件，未配置监听器时为null，用于记录参数转换和签名耗时
+     * @param deadline 调用的截止时间与取消信号，连同默认的连接和读取超时交给传输层
      * @param <T> 泛型参数，表示返回的响应类型，继承自ResultResponse
      * @param <O> 泛型参数，表示请求的参数类型
-     * @return 返回构建的HttpRequest对象
+     * @return 返回构建的TransportRequest对象
      * @throws ApiException 如果请求参数为空、请求方法不存在、请求路径不存在或不支持该请求方法，则抛出ApiException异常
      */
-    private <T extends ResultResponse, O> HttpRequest getHttpRequestByRequestMethod(BaseRequest<O, T> request) throws ApiException {
+    private <T extends ResultResponse, O> TransportRequest getHttpRequestByRequestMethod(BaseRequest<O, T> request, Credential credential,
+                                                                                         WireCodec codec, RequestEvent event,
+                                                                                         Deadline deadline) throws ApiException {
         // 检查请求参数是否为空
         if (ObjectUtils.isEmpty(request)) {
             throw new ApiException(ErrorCode.OPERATION_ERROR, "请求参数不能为空");
         }
-        // 获取并处理请求路径
-        String path = request.getPath().trim();
-        // 获取并处理请求方法，确保全大写
-        String method = request.getMethod().trim().toUpperCase();
-
-        // 检查请求方法是否存在
-        if (ObjectUtils.isEmpty(method)) {
-            throw new ApiException(ErrorCode.OPERATION_ERROR, "请求方法不存在");
-        }
-        // 检查请求路径是否存在
-        if (ObjectUtils.isEmpty(path)) {
-            throw new ApiException(ErrorCode.OPERATION_ERROR, "请求路径不存在");
-        }
-        // 如果路径以网关主机开头，则移除该部分
-        if (path.startsWith(gatewayHost)) {
-            path = path.substring(gatewayHost.length());
-        }
-        // 记录请求日志
-        log.info("请求路径:{}", path, "请求方法:{}", method, "请求参数:{}", request.getRequestParams());
-        HttpRequest httpRequest;
-        // 根据请求方法选择不同的处理方式
-        switch (method) {
-            case "GET":
-                // 构建GET请求
-                httpRequest = HttpRequest.get(splicingGetRequest(request, path));
-                break;
-            case "POST":
-                // 构建POST请求
-                httpRequest = HttpRequest.post(gatewayHost + path);
-                break;
+        // 请求方法、路径和基础URL按请求类解析一次
+        RouteTable.Route route = routes().resolve(request);
+        // 逐个请求的日志只在DEBUG级别输出，需要访问日志时使用AccessLogListener
+        log.debug("请求路径:{}, 请求方法:{}", route.getPath(), route.getMethod());
+        if (event != null) {
+            event.setAccessKey(credential.getAccessKey());
+        }
+        // 根据请求方法选择不同的处理方式，签名针对实际发送的内容计算
+        long paramsStart = event != null ? System.nanoTime() : 0;
+        switch (route.getMethod()) {
+            case GET:
+                // 构建GET请求，参数拼接在查询字符串中，对查询字符串签名
+                String url = splicingGetRequest(request, route);
+                int queryStart = url.indexOf('?');
+                byte[] query = queryStart < 0 ? new byte[0] : url.substring(queryStart + 1).getBytes(StandardCharsets.UTF_8);
+                long signStart = event != null ? System.nanoTime() : 0;
+                Map<String, String> getHeaders = getHeaders(query, credential);
+                if (event != null) {
+                    recordBuild(event, paramsStart, signStart, query.length);
+                }
+                codecNegotiator.accept(codec, getHeaders);
+                contentCompression.acceptEncoding(getHeaders);
+                return withTimeouts(new TransportRequest(RequestMethodEnum.GET, url, getHeaders, null), deadline);
+            case POST:
+                // 构建POST请求，请求体按选定的编码只序列化一次，签名与发送使用同一份字节
+                byte[] body = codec.encodeRequest(request);
+                signStart = event != null ? System.nanoTime() : 0;
+                Map<String, String> headers = getHeaders(body, credential);
+                if (event != null) {
+                    recordBuild(event, paramsStart, signStart, body.length);
+                }
+                headers.put("Content-Type", codec == CodecNegotiator.json() ? "application/json;charset=UTF-8" : codec.getMediaType());
+                codecNegotiator.accept(codec, headers);
+                contentCompression.acceptEncoding(headers);
+                // 签名针对压缩前的逻辑请求体，压缩只影响实际发送的字节
+                byte[] wire = contentCompression.encodeRequest(body, headers);
+                return withTimeouts(new TransportRequest(RequestMethodEnum.POST, route.getUrl(), headers, wire), deadline);
             default:
                 // 如果不是支持的请求方法，则抛出异常
                 throw new ApiException(ErrorCode.OPERATION_ERROR, "不支持该请求");
         }
-        // 添加请求头，并设置请求体
-        return httpRequest.addHeaders(getHeaders(JSONUtil.toJsonStr(request), apiClient))
-                .body(JSONUtil.toJsonStr(request.getRequestParams()));
+    }
+
+    /**
+     * 为传输层请求设置默认的连接、读取超时和本次调用的截止时间
+     */
+    private TransportRequest withTimeouts(TransportRequest transportRequest, Deadline deadline) {
+        TimeoutConfig config = this.timeout;
+        transportRequest.setConnectTimeout(Math.max(0, config.getConnectTimeout()));
+        transportRequest.setReadTimeout(Math.max(0, config.getReadTimeout()));
+        transportRequest.setDeadline(deadline);
+        return transportRequest;
+    }
+
+    /**
+     * 创建一次调用的截止时间：请求指定的总超时优先，否则使用默认的总超时
+     *
+     * @param request 请求对象
+     * @param limitMillis 外层（如批量请求）剩余的时间（毫秒），小于等于0表示不限制
+     * @return 截止时间
+     */
+    private Deadline newDeadline(BaseRequest<?, ?> request, long limitMillis) {
+        long total = request.getTimeout() > 0 ? request.getTimeout() : timeout.getTotalTimeout();
+        if (limitMillis > 0 && (total <= 0 || limitMillis < total)) {
+            total = limitMillis;
+        }
+        return Deadline.after(total);
+    }
+
+    /**
+     * 把请求过程中的异常转换为ApiException：超时（包括到达截止时间后被中止）为TIMEOUT_ERROR
+     */
+    private static ApiException failure(Exception e, Deadline deadline) {
+        if (e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException
+                || (deadline != null && deadline.isExpired())) {
+            return new ApiException(ErrorCode.TIMEOUT_ERROR, e.getMessage());
+        }
+        return new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+    }
+
+    /**
+     * 记录构建请求阶段的耗时：参数写入计入参数转换阶段（与setRequestParams的耗时累加），生成请求头计入签名阶段
+     */
+    private static void recordBuild(RequestEvent event, long paramsStart, long signStart, int requestBytes) {
+        long now = System.nanoTime();
+        event.setParamsNanos(event.getParamsNanos() + signStart - paramsStart);
+        event.setSignNanos(now - signStart);
+        event.setRequestBytes(requestBytes);
     }
 
     /**
      * 获取请求头
      *
-     * 根据传入的请求体和API客户端信息，生成带有认证和签名的请求头
+     * 根据实际发送的内容和凭证信息，生成带有认证和签名的请求头
      * 这些请求头用于后续的API请求，以确保请求的合法性和完整性
      *
-     * @param body 请求体内容，将被用于生成MD5摘要和签名
-     * @param apiClient 包含访问密钥和私密密钥的API客户端信息
+     * @param body 实际发送的内容（POST为请求体，GET为查询字符串），将被用于生成MD5摘要和签名
+     * @param credential 包含访问密钥和私密密钥的不可变凭证
      * @return 返回包含请求头字段的Map，包括访问密钥、MD5摘要后的请求体、签名和时间戳
      */
-    private Map<String, String> getHeaders(String body, ApiClient apiClient) {
+    private Map<String, String> getHeaders(byte[] body, Credential credential) {
         // 初始化请求头Map
-        Map<String, String> hashMap = new HashMap<>(4);
+        Map<String, String> hashMap = new HashMap<>(8);
         // 放入访问密钥
-        hashMap.put("accessKey", apiClient.getAccessKey());
+        hashMap.put("accessKey", credential.getAccessKey());
         // 对请求体进行MD5摘要
-        String encodeBody = SecureUtil.md5(body);
+        String encodeBody = SignUtils.md5Hex(body);
         // 放入摘要后的请求体
         hashMap.put("body", encodeBody);
         // 生成请求签名并放入Map
-        hashMap.put("sign", SignUtils.genSign(encodeBody, apiClient.getSecretKey()));
+        hashMap.put("sign", SignUtils.genSign(encodeBody, credential));
         // 生成时间戳并放入Map，用于请求的时间验证
-        hashMap.put("timestamp", String.valueOf(System.currentTimeMillis() / 1000));
+        hashMap.put("timestamp", currentTimestamp());
         // 返回构造好的请求头Map
         return hashMap;
     }
 
 
+    /**
+     * 获取当前秒级时间戳字符串
+     * 同一秒内的请求复用同一个字符串，避免每次请求都做数字到字符串的转换
+     *
+     * @return 秒级时间戳字符串
+     */
+    private static String currentTimestamp() {
+        long seconds = System.currentTimeMillis() / 1000;
+        Timestamp cached = lastTimestamp;
+        if (cached.seconds != seconds) {
+            cached = new Timestamp(seconds);
+            lastTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    // 最近一次生成的时间戳
+    private static volatile Timestamp lastTimestamp = new Timestamp(0);
+
+    /**
+     * 秒级时间戳及其字符串形式
+     */
+    private static final class Timestamp {
+        private final long seconds;
+        private final String text;
+
+        Timestamp(long seconds) {
+            this.seconds = seconds;
+            this.text = String.valueOf(seconds);
+        }
+    }
+
     /**
      * 拼接Get请求
      *
      * @param request 请求对象，包含请求参数等信息
-     * @param path    请求路径，通常以/开头
+     * @param route   请求类的路由信息，提供基础URL和缓冲区的建议容量
      * @param <T>     泛型参数，表示返回的响应体类型，继承自ResultResponse
      * @param <O>     泛型参数，表示请求参数的类型
-     * @return 拼接完成的Get请求URL
-     */
-    private <T extends ResultResponse, O> String splicingGetRequest(BaseRequest<O, T> request, String path) {
-        // 初始化URL拼接的StringBuilder，从网关主机开始
-        StringBuilder urlBuilder = new StringBuilder(gatewayHost);
-        // 如果urlBuilder以/结尾，且path以/开头，则去掉urlBuilder的最后一个/
-        if (urlBuilder.toString().endsWith("/") && path.startsWith("/")) {
-            urlBuilder.setLength(urlBuilder.length() - 1);
-        }
-        // 将路径拼接到URL中
-        urlBuilder.append(path);
-        // 如果请求参数不为空，开始拼接查询字符串
-        if (!request.getRequestParams().isEmpty()) {
-            // 以?开始查询字符串
-            urlBuilder.append("?");
-            // 遍历请求参数，以键值对的形式拼接到URL中
-            for (Map.Entry<String, Object> entry : request.getRequestParams().entrySet()) {
-                String key = entry.getKey();
-                String value = entry.getValue().toString();
-                urlBuilder.append(key).append("=").append(value).append("&");
-            }
-            // 删除最后一个&
-            urlBuilder.deleteCharAt(urlBuilder.length() - 1);
+     * @return 拼接完成的Get请求URL，参数名和值经过百分号编码
+     */
+    private <T extends ResultResponse, O> String splicingGetRequest(BaseRequest<O, T> request, RouteTable.Route route) {
+        // 从路由缓存的基础URL开始，按最近的查询字符串长度预留容量
+        StringBuilder urlBuilder = new StringBuilder(route.urlCapacity()).append(route.getUrl());
+        // 以?开始查询字符串，由请求对象直接写入参数，没有参数时去掉?
+        int queryStart = urlBuilder.length();
+        urlBuilder.append('?');
+        if (!request.writeQuery(urlBuilder)) {
+            urlBuilder.setLength(queryStart);
+        } else {
+            route.recordQueryLength(urlBuilder.length() - queryStart - 1);
         }
         // 记录日志，输出拼接完成的URL
-        log.info("GET请求路径：{}", urlBuilder);
+        log.debug("GET请求路径：{}", urlBuilder);
         // 返回拼接完成的URL
         return urlBuilder.toString();
     }
@@ -211,47 +677,249 @@ public abstract class BaseService implements ApiService {
      */
     public <O, T extends ResultResponse> T res(BaseRequest<O, T> request) throws ApiException {
         // 检查API客户端是否已初始化及其密钥是否已配置
-        if (apiClient == null || StringUtils.isAnyBlank(apiClient.getAccessKey(), apiClient.getSecretKey())) {
-            throw new ApiException(ErrorCode.NO_AUTH_ERROR, "请先配置密钥AccessKey/SecretKey");
+        return res(request, resolveCredential(null));
+    }
+
+    /**
+     * 使用指定凭证获取响应数据
+     *
+     * 与res(request)的处理流程相同，凭证只在本次调用中使用，不会修改当前对象的ApiClient，
+     * 因此同一个服务实例可以被多个租户并发调用
+     *
+     * @param request 请求对象，包含请求的所有必要信息以及如何解析响应
+     * @param credential 本次调用使用的凭证
+     * @param <O> 请求的输出类型参数
+     * @param <T> 响应的类型参数，继承自ResultResponse
+     * @return 响应对象，包含从API请求中获取的数据
+     * @throws ApiException 如果发生API相关的异常，如响应解析错误
+     */
+    public <O, T extends ResultResponse> T res(BaseRequest<O, T> request, Credential credential) throws ApiException {
+        return res(request, credential, false, newDeadline(request, 0));
+    }
+
+    /**
+     * 使用指定凭证获取响应数据
+     *
+     * @param request 请求对象
+     * @param credential 本次调用使用的凭证
+     * @param quotaReserved 是否已预先领取了调用配额（异步请求在提交前预约配额）
+     * @param deadline 调用的截止时间与取消信号
+     * @return 响应对象
+     * @throws ApiException 如果发生API相关的异常
+     */
+    private <O, T extends ResultResponse> T res(BaseRequest<O, T> request, Credential credential, boolean quotaReserved,
+                                                Deadline deadline) throws ApiException {
+        RequestListener listener = this.requestListener;
+        if (listener == null) {
+            return exchange(request, credential, quotaReserved, null, deadline);
+        }
+        RequestEvent event = newEvent(request);
+        long start = System.nanoTime();
+        try {
+            return exchange(request, credential, quotaReserved, event, deadline);
+        } catch (ApiException e) {
+            onFailure(event, e);
+            throw e;
+        } finally {
+            event.setTotalNanos(System.nanoTime() - start);
+            notifyListener(listener, event);
+        }
+    }
+
+    /**
+     * 发送请求并解析响应
+     *
+     * @param request 请求对象
+     * @param credential 本次调用使用的凭证
+     * @param quotaReserved 是否已预先领取了调用配额
+     * @param event 请求事件，未配置监听器时为null
+     * @param deadline 调用的截止时间与取消信号，覆盖发送请求和读取解析响应体
+     * @return 响应对象
+     * @throws ApiException 如果发生API相关的异常
+     */
+    private <O, T extends ResultResponse> T exchange(BaseRequest<O, T> request, Credential credential, boolean quotaReserved,
+                                                     RequestEvent event, Deadline deadline) throws ApiException {
+        // 获取响应类，实例化与解析都使用按类缓存的构造器和TypeAdapter
+        Class<T> clazz = request.getResponseClass();
+
+        // 配置了响应缓存且请求类标注了@CacheableRequest的GET请求走缓存
+        ResponseCache cache = this.responseCache;
+        if (cache != null) {
+            long ttl = cache.ttlOf(request.getClass());
+            if (ttl >= 0 && routes().resolve(request).getMethod() == RequestMethodEnum.GET) {
+                return resCached(request, credential, clazz, cache, ttl, quotaReserved, event, deadline);
+            }
         }
 
-        T rsp;
+        // 执行HTTP请求，解析完成后立即关闭响应，使连接归还连接池
+        try (TransportResponse httpResponse = doNegotiatedRequest(request, credential, quotaReserved, event, deadline)) {
+            WireCodec codec = codecNegotiator.forResponse(httpResponse.getHeader("Content-Type"));
+            if (event == null) {
+                try (InputStream body = contentCompression.decodeResponse(httpResponse)) {
+                    return toResponse(clazz, httpResponse.getStatus(), codec, body);
+                }
+            }
+            long decodeStart = System.nanoTime();
+            CountingInputStream body = new CountingInputStream(contentCompression.decodeResponse(httpResponse));
+            try {
+                return toResponse(clazz, httpResponse.getStatus(), codec, body);
+            } finally {
+                body.close();
+                event.setDecodeNanos(System.nanoTime() - decodeStart);
+                event.setResponseBytes(body.getCount());
+            }
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            // 如果请求、实例化或解析失败，抛出异常；读取响应体时到达截止时间视为超时
+            throw failure(e, deadline);
+        }
+    }
+
+    /**
+     * 通过响应缓存获取响应数据
+     *
+     * 缓存中保存的是原始响应体，命中时每次都重新解码，调用方之间不会共享同一个响应对象
+     *
+     * @param request 请求对象
+     * @param credential 本次调用使用的凭证，不同accessKey的缓存互不共享
+     * @param clazz 响应类
+     * @param cache 响应缓存
+     * @param ttl 默认缓存时间（毫秒）
+     * @param quotaReserved 是否已预先领取了调用配额，缓存命中时不消耗配额
+     * @param event 请求事件，未配置监听器时为null
+     * @param deadline 调用的截止时间与取消信号
+     * @return 响应对象
+     * @throws ApiException 如果请求或解析失败
+     */
+    private <O, T extends ResultResponse> T resCached(BaseRequest<O, T> request, Credential credential, Class<T> clazz,
+                                                     ResponseCache cache, long ttl, boolean quotaReserved,
+                                                     RequestEvent event, Deadline deadline) throws ApiException {
+        String path = routes().resolve(request).getPath();
+        WireCodec requestCodec = codecNegotiator.select(request, path);
+        TransportRequest transportRequest = getHttpRequestByRequestMethod(request, credential, requestCodec, event, deadline);
+        if (event != null) {
+            // 只有真正向网关发出请求时才会被改为false
+            event.setCacheHit(true);
+        }
+        String key = ResponseCache.key(credential.getAccessKey(), transportRequest.getMethod().getValue(), transportRequest.getUrl());
         try {
-            // 获取响应类并实例化
-            Class<T> clazz = request.getResponseClass();
-            rsp = clazz.newInstance();
+            CachedResponse cached = cache.get(key, ttl, deadline, etag -> {
+                if (etag != null) {
+                    transportRequest.getHeaders().put("If-None-Match", etag);
+                }
+                TransportResponse response = execute(request, credential, transportRequest, quotaReserved, event);
+                if (codecNegotiator.rejected(path, requestCodec, response)) {
+                    // 网关拒绝二进制编码，以JSON重新发送一次，查询字符串不变，缓存key仍然有效
+                    closeQuietly(response);
+                    TransportRequest jsonRequest = getHttpRequestByRequestMethod(request, credential, CodecNegotiator.json(), null, deadline);
+                    if (etag != null) {
+                        jsonRequest.getHeaders().put("If-None-Match", etag);
+                    }
+                    response = execute(request, credential, jsonRequest, true, event);
+                }
+                try (TransportResponse httpResponse = response;
+                     InputStream decoded = contentCompression.decodeResponse(httpResponse)) {
+                    byte[] body = IoUtil.readBytes(decoded, false);
+                    if (event != null) {
+                        event.setCacheHit(false);
+                        event.setResponseBytes(body.length);
+                    }
+                    return new CachedResponse(httpResponse.getStatus(), body, httpResponse.getHeader("Content-Type"),
+                            httpResponse.getHeader("ETag"), httpResponse.getHeader("Cache-Control"));
+                }
+            });
+            WireCodec codec = codecNegotiator.forResponse(cached.getContentType());
+            if (event == null) {
+                return toResponse(clazz, cached.getStatus(), codec, new ByteArrayInputStream(cached.getBody()));
+            }
+            event.setStatus(cached.getStatus());
+            long decodeStart = System.nanoTime();
+            try {
+                return toResponse(clazz, cached.getStatus(), codec, new ByteArrayInputStream(cached.getBody()));
+            } finally {
+                event.setDecodeNanos(System.nanoTime() - decodeStart);
+            }
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
-            // 如果响应类实例化失败，抛出异常
-            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+            throw failure(e, deadline);
         }
+    }
 
-        // 执行HTTP请求
-        HttpResponse httpResponse = doRequest(request);
-        // 获取响应体
-        String body = httpResponse.body();
-        // 初始化数据容器
-        Map<String, Object> data = new HashMap<>();
+    /**
+     * 创建请求事件，路径和方法取自解析后的路由，带上setRequestParams的耗时
+     */
+    private RequestEvent newEvent(BaseRequest<?, ?> request) throws ApiException {
+        RouteTable.Route route = routes().resolve(request);
+        RequestEvent event = new RequestEvent(route.getPath(), route.getMethod().getValue());
+        event.setParamsNanos(request.getParamsNanos());
+        return event;
+    }
 
+    /**
+     * 记录请求失败，传输层已确定失败类型时不覆盖
+     */
+    private static void onFailure(RequestEvent event, ApiException e) {
+        event.setError(e);
+        if (event.getErrorType() != null) {
+            return;
+        }
+        int code = e.getCode();
+        if (code == ErrorCode.TIMEOUT_ERROR.getCode()) {
+            event.setErrorType(RequestErrorTypeEnum.TIMEOUT);
+        } else if (code == ErrorCode.TOO_MANY_REQUESTS_ERROR.getCode() || code == ErrorCode.CONCURRENCY_LIMIT_ERROR.getCode()
+                || code == ErrorCode.CIRCUIT_OPEN_ERROR.getCode()) {
+            event.setErrorType(RequestErrorTypeEnum.REJECTED);
+        } else if (event.getStatus() == 200) {
+            // 已收到正常响应却失败，说明是解析响应体失败
+            event.setErrorType(RequestErrorTypeEnum.DECODE);
+        } else {
+            event.setErrorType(RequestErrorTypeEnum.OTHER);
+        }
+    }
+
+    /**
+     * 通知监听器，按状态码补充失败类型；监听器抛出的异常不影响请求结果
+     */
+    private static void notifyListener(RequestListener listener, RequestEvent event) {
+        if (event.getErrorType() == null && event.getStatus() >= 400) {
+            event.setErrorType(event.getStatus() >= 500 ? RequestErrorTypeEnum.SERVER_ERROR : RequestErrorTypeEnum.CLIENT_ERROR);
+        }
+        try {
+            listener.onRequestComplete(event);
+        } catch (RuntimeException e) {
+            log.warn("请求监听器执行失败", e);
+        }
+    }
+
+    /**
+     * 将响应状态和响应体转换为响应对象
+     *
+     * 如果状态不是200（OK），则解析错误响应并将其相关信息放入返回对象中；
+     * 如果响应状态是200，则直接从响应体解析
+     *
+     * @param clazz 响应类
+     * @param status HTTP状态码
+     * @param codec 按响应的Content-Type选定的编码
+     * @param body 响应体
+     * @return 响应对象
+     * @throws Exception 如果实例化或解析失败
+     */
+    private <T extends ResultResponse> T toResponse(Class<T> clazz, int status, WireCodec codec, InputStream body) throws Exception {
         // 检查HTTP响应状态
-        if (httpResponse.getStatus() != 200) {
+        if (status != 200) {
             // 如果状态不是200，解析错误响应
-            ErrorResponse errorResponse = JSONUtil.toBean(body, ErrorResponse.class);
+            ErrorResponse errorResponse = codec.decodeError(body);
+            Map<String, Object> data = new HashMap<>();
             data.put("errorMessage", errorResponse.getMessage());
             data.put("code", errorResponse.getCode());
-        } else {
-            try {
-                // 尝试解析为Json对象
-                data = new Gson().fromJson(body, new TypeToken<Map<String, Object>>() {
-                }.getType());
-            } catch (Exception e) {
-                // 如果解析失败，抛出异常
-                throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
-            }
+            T rsp = ResponseDecoder.newInstance(clazz);
+            rsp.setData(data);
+            return rsp;
         }
-
-        // 将解析后的数据放入响应对象
-        rsp.setData(data);
-        return rsp;
+        // 直接从响应流解析，标注了@TypedResponse的响应类按字段绑定，否则解析为Map放入data
+        return codec.decode(clazz, body);
     }
 
 
@@ -270,6 +938,8 @@ public abstract class BaseService implements ApiService {
     public <O, T extends ResultResponse> T request(BaseRequest<O, T> request) throws ApiException {
         try {
             return res(request);
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
             throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
         }
@@ -278,6 +948,7 @@ public abstract class BaseService implements ApiService {
     /**
      * 使用指定的ApiClient执行请求
      * 该方法在调用前会检查ApiClient的配置是否正确，确保请求能够正常发送
+     * 指定的ApiClient只作用于本次调用，不会替换当前对象的默认ApiClient
      * 它是对ApiService接口中定义的requestWithClient方法的实现
      *
      * @param apiClient ApiClient对象，用于发送请求
@@ -289,7 +960,384 @@ public abstract class BaseService implements ApiService {
      */
     @Override
     public <O, T extends ResultResponse> T requestWithClient(ApiClient apiClient, BaseRequest<O, T> request) throws ApiException {
-        checkConfig(apiClient);
-        return request(request);
+        Credential credential = resolveCredential(apiClient);
+        try {
+            return res(request, credential);
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * 在异步线程池中执行任务
+     * 任务抛出的ApiException原样作为Future的失败原因，其他异常封装为ApiException
+     *
+     * @param task 需要异步执行的任务
+     * @param <T> 任务结果类型
+     * @return 可取消的Future
+     */
+    protected <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+        CancellableFuture<T> future = new CancellableFuture<>();
+        submit(future, task);
+        return future;
+    }
+
+    /**
+     * 延迟指定时间后在异步线程池中执行任务
+     * 等待期间不占用请求线程，由共享的定时调度器在到期后提交任务
+     *
+     * @param task 需要异步执行的任务
+     * @param delayNanos 延迟时间（纳秒），不大于0时立即提交
+     * @param <T> 任务结果类型
+     * @return 可取消的Future
+     */
+    protected <T> CompletableFuture<T> supplyAsync(Callable<T> task, long delayNanos) {
+        if (delayNanos <= 0) {
+            return supplyAsync(task);
+        }
+        CancellableFuture<T> future = new CancellableFuture<>();
+        future.setTask(ApiExecutors.scheduler().schedule(() -> submit(future, task), delayNanos, TimeUnit.NANOSECONDS));
+        return future;
+    }
+
+    /**
+     * 把任务提交到异步线程池，并将结果写入future
+     *
+     * @param future 结果
+     * @param task 需要异步执行的任务
+     */
+    private <T> void submit(CancellableFuture<T> future, Callable<T> task) {
+        try {
+            future.setTask(getExecutor().submit(() -> {
+                // 已被取消的任务不再发起请求
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.call());
+                } catch (ApiException e) {
+                    future.completeExceptionally(e);
+                } catch (Throwable e) {
+                    future.completeExceptionally(new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage()));
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new ApiException(ErrorCode.OPERATION_ERROR, "异步请求队列已满"));
+        }
+    }
+
+    /**
+     * 异步执行请求
+     *
+     * 凭证在调用线程中解析；配置了quotaLimiter时同时在调用线程中预约调用配额，
+     * 需要等待的请求交给定时调度器延后提交，而不是占用请求线程阻塞等待。
+     * 截止时间从调用时开始计算，排队和配额等待都会消耗它；取消返回的Future会中止进行中的请求
+     *
+     * @param apiClient 本次调用指定的ApiClient，为null时使用默认ApiClient
+     * @param request 请求对象
+     * @return 异步的响应结果
+     */
+    private <O, T extends ResultResponse> CompletableFuture<T> resAsync(ApiClient apiClient, BaseRequest<O, T> request) {
+        QuotaLimiter quota = this.quotaLimiter;
+        Deadline deadline = newDeadline(request, 0);
+        Credential credential;
+        long delayNanos = 0;
+        try {
+            credential = resolveCredential(apiClient);
+            if (quota != null) {
+                delayNanos = quota.reserve(credential.getAccessKey());
+            }
+            if (delayNanos > 0 && delayNanos >= deadline.remainingNanos()) {
+                throw new ApiException(ErrorCode.TIMEOUT_ERROR, "等待调用配额会超过截止时间");
+            }
+        } catch (ApiException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        boolean quotaReserved = quota != null;
+        CompletableFuture<T> future = supplyAsync(() -> {
+            if (deadline.isExpired()) {
+                throw new ApiException(ErrorCode.TIMEOUT_ERROR, "请求排队超过截止时间");
+            }
+            return res(request, credential, quotaReserved, deadline);
+        }, delayNanos);
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                deadline.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 异步执行请求
+     * 是对ApiService接口中定义的requestAsync方法的实现
+     *
+     * @param request 请求对象，包含请求所需的所有信息
+     * @param <O> 请求的输出类型参数
+     * @param <T> 请求的返回类型参数，必须是ResultResponse的子类
+     * @return 异步的响应结果
+     */
+    @Override
+    public <O, T extends ResultResponse> CompletableFuture<T> requestAsync(BaseRequest<O, T> request) {
+        return resAsync(null, request);
+    }
+
+    /**
+     * 使用指定的ApiClient异步执行请求
+     * 是对ApiService接口中定义的requestWithClientAsync方法的实现
+     *
+     * @param apiClient ApiClient对象，用于发送请求
+     * @param request 请求对象，包含请求所需的所有信息
+     * @param <O> 请求的输出类型参数
+     * @param <T> 请求的返回类型参数，必须是ResultResponse的子类
+     * @return 异步的响应结果
+     */
+    @Override
+    public <O, T extends ResultResponse> CompletableFuture<T> requestWithClientAsync(ApiClient apiClient, BaseRequest<O, T> request) {
+        return resAsync(apiClient, request);
+    }
+
+    /**
+     * 批量执行请求
+     * 是对ApiService接口中定义的requestBatch方法的实现
+     *
+     * @param requests 请求列表
+     * @param options 批量选项，为null时使用默认选项
+     * @param <T> 请求的返回类型参数，必须是ResultResponse的子类
+     * @return 与输入顺序一致的结果列表
+     */
+    @Override
+    public <T extends ResultResponse> List<BatchResult<T>> requestBatch(List<? extends BaseRequest<?, T>> requests, BatchOptions options) {
+        return batch(null, requests, options);
+    }
+
+    /**
+     * 使用指定的ApiClient批量执行请求
+     * 是对ApiService接口中定义的requestBatchWithClient方法的实现
+     *
+     * @param apiClient ApiClient对象，整个批次使用它的凭证
+     * @param requests 请求列表
+     * @param options 批量选项，为null时使用默认选项
+     * @param <T> 请求的返回类型参数，必须是ResultResponse的子类
+     * @return 与输入顺序一致的结果列表
+     */
+    @Override
+    public <T extends ResultResponse> List<BatchResult<T>> requestBatchWithClient(ApiClient apiClient,
+                                                                                 List<? extends BaseRequest<?, T>> requests,
+                                                                                 BatchOptions options) {
+        return batch(apiClient, requests, options);
+    }
+
+    /**
+     * 批量执行请求
+     *
+     * 启动不超过并发上限个工作任务，每个工作任务依次领取下一个未执行的请求，
+     * 这样无论批次多大都只占用固定数量的线程和连接；结果按下标写入，保证与输入顺序一致。
+     * 调用线程自己也作为一个工作任务执行，即使线程池中的线程都在等待（例如在异步回调中发起批量请求），
+     * 批次也总能完成。批次的截止时间默认为TimeoutConfig.totalTimeout，到达后未完成的请求会被中断并记为超时失败
+     *
+     * @param apiClient 本次调用指定的ApiClient，为null时使用默认ApiClient
+     * @param requests 请求列表
+     * @param options 批量选项，为null时使用默认选项
+     * @param <T> 请求的返回类型参数，必须是ResultResponse的子类
+     * @return 与输入顺序一致的结果列表
+     */
+    private <T extends ResultResponse> List<BatchResult<T>> batch(ApiClient apiClient, List<? extends BaseRequest<?, T>> requests,
+                                                                  BatchOptions options) {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BatchOptions batchOptions = options != null ? options : new BatchOptions();
+        // 整个批次共用同一份凭证
+        Credential credential;
+        try {
+            credential = resolveCredential(apiClient);
+        } catch (ApiException e) {
+            List<BatchResult<T>> list = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                list.add(new BatchResult<>(i, null, e));
+            }
+            return list;
+        }
+        int size = requests.size();
+        // 每个请求的截止时间不晚于批次的截止时间，批次超时后进行中的请求会被中止
+        long batchTimeout = batchOptions.getTimeout() > 0 ? batchOptions.getTimeout() : timeout.getTotalTimeout();
+        long batchDeadline = batchTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout) : 0;
+        AtomicReferenceArray<BatchResult<T>> results = new AtomicReferenceArray<>(size);
+        AtomicInteger nextIndex = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(size);
+        Runnable worker = () -> {
+            int index;
+            // 批次到期后不再领取新请求，剩余的请求由调用线程统一记为超时
+            while ((batchDeadline == 0 || batchDeadline - System.nanoTime() > 0)
+                    && (index = nextIndex.getAndIncrement()) < size) {
+                BatchResult<T> result;
+                try {
+                    BaseRequest<?, T> request = requests.get(index);
+                    long limit = batchDeadline != 0 ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(batchDeadline - System.nanoTime())) : 0;
+                    result = new BatchResult<>(index, res(request, credential, false, newDeadline(request, limit)), null);
+                } catch (ApiException e) {
+                    result = new BatchResult<>(index, null, e);
+                } catch (Exception e) {
+                    result = new BatchResult<>(index, null, new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage()));
+                }
+                // 超时后的结果已被标记为失败，不再覆盖
+                if (results.compareAndSet(index, null, result)) {
+                    finished.countDown();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        };
+
+        int workerCount = Math.min(Math.max(1, batchOptions.getConcurrency()), size);
+        // 调用线程占用一个并发名额，其余的工作任务提交到线程池
+        List<Future<?>> workers = new ArrayList<>(workerCount - 1);
+        for (int i = 1; i < workerCount; i++) {
+            try {
+                workers.add(getExecutor().submit(worker));
+            } catch (RejectedExecutionException e) {
+                // 线程池已满时以已提交的工作任务和调用线程继续执行
+                break;
+            }
+        }
+        worker.run();
+
+        ApiException unfinishedError = null;
+        try {
+            if (batchDeadline != 0) {
+                if (!finished.await(Math.max(0, batchDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    unfinishedError = new ApiException(ErrorCode.TIMEOUT_ERROR, "批量请求超过截止时间");
+                }
+            } else {
+                finished.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unfinishedError = new ApiException(ErrorCode.OPERATION_ERROR, "批量请求被中断");
+        }
+        if (unfinishedError != null) {
+            // 先让工作任务停止领取新请求，再中断执行中的请求
+            nextIndex.set(size);
+            for (Future<?> future : workers) {
+                future.cancel(true);
+            }
+        }
+
+        List<BatchResult<T>> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BatchResult<T> result = results.get(i);
+            if (result == null) {
+                results.compareAndSet(i, null, new BatchResult<>(i, null, unfinishedError));
+                result = results.get(i);
+            }
+            list.add(result);
+        }
+        return list;
+    }
+
+    /**
+     * 发送请求并以流的方式读取响应中的JSON数组
+     * 是对ApiService接口中定义的requestIterator方法的实现
+     *
+     * 与res不同，这里不会把响应体一次性读入内存，连接的所有权交给返回的ResponseStream，
+     * 在其读完或被关闭时释放；非200的响应直接读取错误信息并抛出异常
+     *
+     * @param request 请求对象，包含请求所需的所有信息
+     * @param elementType 数组元素的类型
+     * @param arrayField 顶层对象中数组字段的名称，为null时表示响应体本身就是数组
+     * @param <E> 数组元素的类型
+     * @return 元素迭代器
+     * @throws ApiException 如果请求失败或响应状态不是200
+     */
+    @Override
+    public <E> ResponseStream<E> requestIterator(BaseRequest<?, ?> request, Class<E> elementType, String arrayField) throws ApiException {
+        // 流式请求的响应体由调用方逐步读取，监听器在收到响应头后即被通知，不包含解析阶段；
+        // 逐个读取数组元素依赖JSON的流式解析，因此固定使用JSON编码
+        RequestListener listener = this.requestListener;
+        RequestEvent event = listener != null ? newEvent(request) : null;
+        long start = System.nanoTime();
+        TransportResponse httpResponse;
+        try {
+            // 流式请求的响应体可能很大，默认只受连接和读取超时限制，请求指定了总超时时才设置截止时间
+            httpResponse = doRequest(request, resolveCredential(null), CodecNegotiator.json(), false, event, Deadline.after(request.getTimeout()));
+        } catch (ApiException e) {
+            if (event != null) {
+                onFailure(event, e);
+                event.setTotalNanos(System.nanoTime() - start);
+                notifyListener(listener, event);
+            }
+            throw e;
+        }
+        if (event != null) {
+            event.setTotalNanos(System.nanoTime() - start);
+            notifyListener(listener, event);
+        }
+        try {
+            if (httpResponse.getStatus() != 200) {
+                String body;
+                try (InputStream decoded = contentCompression.decodeResponse(httpResponse)) {
+                    body = IoUtil.read(decoded, StandardCharsets.UTF_8);
+                }
+                ErrorResponse errorResponse = JSONUtil.toBean(body, ErrorResponse.class);
+                int code = errorResponse.getCode() != 0 ? errorResponse.getCode() : ErrorCode.OPERATION_ERROR.getCode();
+                throw new ApiException(code, errorResponse.getMessage());
+            }
+            return new ResponseStream<>(httpResponse,
+                    ResponseDecoder.newJsonReader(new InputStreamReader(contentCompression.decodeResponse(httpResponse), StandardCharsets.UTF_8)),
+                    ResponseDecoder.adapter(elementType), arrayField);
+        } catch (ApiException e) {
+            closeQuietly(httpResponse);
+            throw e;
+        } catch (Exception e) {
+            closeQuietly(httpResponse);
+            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * 发送请求并逐个处理响应中JSON数组的元素
+     * 是对ApiService接口中定义的requestStream方法的实现
+     *
+     * @param request 请求对象，包含请求所需的所有信息
+     * @param elementType 数组元素的类型
+     * @param arrayField 顶层对象中数组字段的名称，为null时表示响应体本身就是数组
+     * @param consumer 元素处理函数
+     * @param <E> 数组元素的类型
+     * @return 处理的元素个数
+     * @throws ApiException 如果请求失败、响应状态不是200或读取响应失败
+     */
+    @Override
+    public <E> long requestStream(BaseRequest<?, ?> request, Class<E> elementType, String arrayField, Consumer<? super E> consumer) throws ApiException {
+        long count = 0;
+        try (ResponseStream<E> stream = requestIterator(request, elementType, arrayField)) {
+            while (stream.hasNext()) {
+                consumer.accept(stream.next());
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getCause().getMessage());
+        } catch (IOException e) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * 关闭响应，忽略关闭时的异常
+     *
+     * @param response 传输层响应
+     */
+    private static void closeQuietly(TransportResponse response) {
+        try {
+            response.close();
+        } catch (Exception ignored) {
+            // 已经在处理更早的异常，关闭失败不再向外抛出
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.ylx.apiclientsdk.service;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import org.reactivestreams.Publisher;
+
+/**
+ * 以Reactive Streams的Publisher提供API调用，便于接入Reactor、RxJava等响应式框架.
+ * 调用由ApiService的异步方法完成，签名、编码协商、缓存、重试等行为与同步调用一致；
+ * 返回的Publisher是冷的，订阅并请求数据后才发起调用，取消订阅会取消对应的请求。
+ * @author ylx
+ */
+public interface ReactiveApiService {
+    /**
+     * 使用默认的客户端发送一个请求.
+     *
+     * @param request 请求对象，包含了发送请求所需的所有信息。
+     * @param <O>     请求体的类型参数，由具体实现决定。
+     * @param <T>     响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 发出一个响应结果的Publisher，请求失败时以ApiException结束。
+     */
+    <O, T extends ResultResponse> Publisher<T> request(BaseRequest<O, T> request);
+
+    /**
+     * 使用指定的客户端发送一个请求.
+     *
+     * @param apiClient 客户端实例，用于发送请求。
+     * @param request   请求对象，包含了发送请求所需的所有信息。
+     * @param <O>       请求体的类型参数，由具体实现决定。
+     * @param <T>       响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 发出一个响应结果的Publisher，请求失败时以ApiException结束。
+     */
+    <O, T extends ResultResponse> Publisher<T> requestWithClient(ApiClient apiClient, BaseRequest<O, T> request);
+
+    /**
+     * 使用默认的客户端发送上游中的每个请求，并按完成顺序发出响应结果.
+     * 同时进行的请求数不超过maxInFlight，且只按下游的需求向上游拉取请求；
+     * 任一请求失败时以该ApiException结束，并取消上游和其余进行中的请求。
+     *
+     * @param requests    请求流。
+     * @param maxInFlight 同时进行的请求数上限，必须大于0。
+     * @param <T>         响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 响应结果流。
+     */
+    <T extends ResultResponse> Publisher<T> requestAll(Publisher<? extends BaseRequest<?, T>> requests, int maxInFlight);
+
+    /**
+     * 使用指定的客户端发送上游中的每个请求，并按完成顺序发出响应结果.
+     *
+     * @param apiClient   客户端实例，用于发送请求。
+     * @param requests    请求流。
+     * @param maxInFlight 同时进行的请求数上限，必须大于0。
+     * @param <T>         响应体的类型参数，必须是ResultResponse的子类或实现。
+     * @return 响应结果流。
+     */
+    <T extends ResultResponse> Publisher<T> requestAllWithClient(ApiClient apiClient, Publisher<? extends BaseRequest<?, T>> requests, int maxInFlight);
+}
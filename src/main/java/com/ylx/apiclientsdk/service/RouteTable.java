@@ -0,0 +1,162 @@
+package com.ylx.apiclientsdk.service;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.exception.ErrorCode;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按请求类缓存的路由信息
+ *
+ * 每个请求类的请求方法和完整的基础URL只解析一次：去掉首尾空白、转换为RequestMethodEnum、
+ * 去掉路径中重复的网关地址并与网关地址拼接。getMethod/getPath可以被子类覆盖为按实例变化，
+ * 因此每次查找都会比较原始的方法和路径，不一致时重新解析。路由表与网关地址绑定，网关地址改变后整体替换
+ *
+ * @author ylx
+ */
+final class RouteTable {
+    // 查询字符串缓冲区预留长度的上限，避免个别超长请求让之后的请求都分配大缓冲区
+    private static final int MAX_QUERY_CAPACITY = 8192;
+
+    private final String gatewayHost;
+    private final ConcurrentMap<Class<?>, Route> routes = new ConcurrentHashMap<>();
+
+    RouteTable(String gatewayHost) {
+        this.gatewayHost = gatewayHost;
+    }
+
+    /**
+     * 路由表是否对应该网关地址
+     *
+     * @param host 网关地址
+     * @return 是否对应
+     */
+    boolean isFor(String host) {
+        return gatewayHost == null ? host == null : gatewayHost.equals(host);
+    }
+
+    /**
+     * 获取请求对应的路由
+     *
+     * @param request 请求对象
+     * @return 路由信息
+     * @throws ApiException 如果请求类没有路由信息、请求方法或路径为空，或不支持该请求方法
+     */
+    Route resolve(BaseRequest<?, ?> request) throws ApiException {
+        String method;
+        String path;
+        try {
+            method = request.getMethod();
+            path = request.getPath();
+        } catch (IllegalStateException e) {
+            // 编译期检查覆盖不到的请求类（如匿名类）未标注@ApiRequest
+            throw new ApiException(ErrorCode.OPERATION_ERROR, e.getMessage());
+        }
+        Route route = routes.get(request.getClass());
+        if (route != null && route.rawMethod.equals(method) && route.rawPath.equals(path)) {
+            return route;
+        }
+        route = compile(method, path);
+        routes.put(request.getClass(), route);
+        return route;
+    }
+
+    private Route compile(String rawMethod, String rawPath) throws ApiException {
+        String method = rawMethod == null ? "" : rawMethod.trim();
+        String path = rawPath == null ? "" : rawPath.trim();
+        // 检查请求方法是否存在
+        if (method.isEmpty()) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, "请求方法不存在");
+        }
+        // 检查请求路径是否存在
+        if (path.isEmpty()) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, "请求路径不存在");
+        }
+        RequestMethodEnum methodEnum = null;
+        for (RequestMethodEnum value : RequestMethodEnum.values()) {
+            if (value.getValue().equalsIgnoreCase(method)) {
+                methodEnum = value;
+                break;
+            }
+        }
+        if (methodEnum == null) {
+            throw new ApiException(ErrorCode.OPERATION_ERROR, "不支持该请求");
+        }
+        String host = gatewayHost == null ? "" : gatewayHost;
+        // 如果路径以网关主机开头，则移除该部分
+        String relative = !host.isEmpty() && path.startsWith(host) ? path.substring(host.length()) : path;
+        StringBuilder url = new StringBuilder(host.length() + relative.length() + 1).append(host);
+        boolean hostSlash = host.endsWith("/");
+        boolean pathSlash = relative.startsWith("/");
+        if (hostSlash && pathSlash) {
+            url.setLength(url.length() - 1);
+        } else if (!hostSlash && !pathSlash && !host.isEmpty() && !relative.isEmpty()) {
+            url.append('/');
+        }
+        url.append(relative);
+        return new Route(rawMethod, rawPath, methodEnum, path, url.toString());
+    }
+
+    /**
+     * 一个请求类的路由信息
+     */
+    static final class Route {
+        private final String rawMethod;
+        private final String rawPath;
+        private final RequestMethodEnum method;
+        private final String path;
+        private final String url;
+        // 最近的查询字符串长度，用于预先分配URL缓冲区
+        private volatile int queryCapacity = 64;
+
+        Route(String rawMethod, String rawPath, RequestMethodEnum method, String path, String url) {
+            this.rawMethod = rawMethod;
+            this.rawPath = rawPath;
+            this.method = method;
+            this.path = path;
+            this.url = url;
+        }
+
+        /**
+         * @return 请求方法
+         */
+        RequestMethodEnum getMethod() {
+            return method;
+        }
+
+        /**
+         * @return 去掉首尾空白的请求路径，用作指标、熔断和编码协商的分组key
+         */
+        String getPath() {
+            return path;
+        }
+
+        /**
+         * @return 网关地址与路径拼接后的完整URL，不含查询字符串
+         */
+        String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return 拼接查询字符串时URL缓冲区的建议容量
+         */
+        int urlCapacity() {
+            return url.length() + 1 + queryCapacity;
+        }
+
+        /**
+         * 记录本次查询字符串的长度
+         *
+         * @param length 查询字符串长度
+         */
+        void recordQueryLength(int length) {
+            if (length > queryCapacity) {
+                queryCapacity = Math.min(length, MAX_QUERY_CAPACITY);
+            }
+        }
+    }
+}
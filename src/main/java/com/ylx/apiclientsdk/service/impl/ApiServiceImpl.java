@@ -8,6 +8,8 @@ import com.ylx.apiclientsdk.service.ApiService;
 import com.ylx.apiclientsdk.service.BaseService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 public class ApiServiceImpl extends BaseService implements ApiService {
 
@@ -39,5 +41,27 @@ public class ApiServiceImpl extends BaseService implements ApiService {
         // 使用默认方式发送请求，并返回结果
         return request(request);
     }
-}
 
+    /**
+     * 使用ApiClient异步获取IP信息
+     *
+     * @param apiClient ApiClient实例，用于发送API请求
+     * @param request 包含IP信息请求参数的对象
+     * @return 异步的请求结果
+     */
+    @Override
+    public CompletableFuture<ResultResponse> getIpInfoWithClientAsync(ApiClient apiClient, IpInfoRequest request) {
+        return requestWithClientAsync(apiClient, request);
+    }
+
+    /**
+     * 默认方式异步获取IP信息
+     *
+     * @param request 包含IP信息请求参数的对象
+     * @return 异步的请求结果
+     */
+    @Override
+    public CompletableFuture<ResultResponse> getIpInfoAsync(IpInfoRequest request) {
+        return requestAsync(request);
+    }
+}
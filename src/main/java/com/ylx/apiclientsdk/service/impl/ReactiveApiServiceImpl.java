@@ -0,0 +1,44 @@
+package com.ylx.apiclientsdk.service.impl;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import com.ylx.apiclientsdk.reactive.BoundedMergePublisher;
+import com.ylx.apiclientsdk.reactive.FuturePublisher;
+import com.ylx.apiclientsdk.service.ApiService;
+import com.ylx.apiclientsdk.service.ReactiveApiService;
+import org.reactivestreams.Publisher;
+
+/**
+ * 基于ApiService异步方法的ReactiveApiService实现
+ * 请求在SDK的异步线程池中执行（可开启executor.virtualThreads），返回的Future被取消时会中断对应的请求
+ *
+ * @author ylx
+ */
+public class ReactiveApiServiceImpl implements ReactiveApiService {
+    private final ApiService apiService;
+
+    public ReactiveApiServiceImpl(ApiService apiService) {
+        this.apiService = apiService;
+    }
+
+    @Override
+    public <O, T extends ResultResponse> Publisher<T> request(BaseRequest<O, T> request) {
+        return new FuturePublisher<>(() -> apiService.requestAsync(request));
+    }
+
+    @Override
+    public <O, T extends ResultResponse> Publisher<T> requestWithClient(ApiClient apiClient, BaseRequest<O, T> request) {
+        return new FuturePublisher<>(() -> apiService.requestWithClientAsync(apiClient, request));
+    }
+
+    @Override
+    public <T extends ResultResponse> Publisher<T> requestAll(Publisher<? extends BaseRequest<?, T>> requests, int maxInFlight) {
+        return new BoundedMergePublisher<BaseRequest<?, T>, T>(requests, apiService::requestAsync, maxInFlight);
+    }
+
+    @Override
+    public <T extends ResultResponse> Publisher<T> requestAllWithClient(ApiClient apiClient, Publisher<? extends BaseRequest<?, T>> requests, int maxInFlight) {
+        return new BoundedMergePublisher<BaseRequest<?, T>, T>(requests, request -> apiService.requestWithClientAsync(apiClient, request), maxInFlight);
+    }
+}
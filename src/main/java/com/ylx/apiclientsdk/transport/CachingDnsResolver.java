@@ -0,0 +1,84 @@
+package com.ylx.apiclientsdk.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存解析结果的DNS解析器
+ *
+ * 解析结果缓存refreshInterval后由一个建立连接的线程重新解析，其他线程在此期间继续使用旧的结果；
+ * 重新解析失败时保留旧的结果，DNS短暂不可用不会影响建立新连接。
+ * 一个域名解析出多个地址时，每次按轮转后的顺序返回，新建的连接分散到各个地址上。
+ * 实际的解析仍经过JVM的地址缓存（networkaddress.cache.ttl），刷新间隔不应小于它
+ *
+ * @author ylx
+ */
+@Slf4j
+public class CachingDnsResolver implements DnsResolver {
+    private final long refreshNanos;
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachingDnsResolver(long refreshInterval) {
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long now = System.nanoTime();
+        Entry entry = cache.get(host);
+        if (entry == null) {
+            entry = new Entry(SystemDefaultDnsResolver.INSTANCE.resolve(host), now);
+            cache.put(host, entry);
+        } else if (now - entry.resolvedAt >= refreshNanos && entry.refreshing.compareAndSet(false, true)) {
+            try {
+                entry = new Entry(SystemDefaultDnsResolver.INSTANCE.resolve(host), now);
+            } catch (UnknownHostException e) {
+                log.warn("刷新{}的DNS解析失败，继续使用上次的结果: {}", host, e.getMessage());
+                entry = new Entry(entry.addresses, now);
+            }
+            cache.put(host, entry);
+        }
+        return entry.next();
+    }
+
+    /**
+     * 清空缓存，下次建立连接时重新解析
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private static class Entry {
+        private final InetAddress[] addresses;
+        private final long resolvedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicInteger rotation = new AtomicInteger();
+
+        Entry(InetAddress[] addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+
+        InetAddress[] next() {
+            int length = addresses.length;
+            if (length <= 1) {
+                return addresses.clone();
+            }
+            int offset = Math.floorMod(rotation.getAndIncrement(), length);
+            InetAddress[] rotated = new InetAddress[length];
+            for (int i = 0; i < length; i++) {
+                rotated[i] = addresses[(offset + i) % length];
+            }
+            return rotated;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.ylx.apiclientsdk.transport;
+
+import com.ylx.apiclientsdk.async.ApiExecutors;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次调用的截止时间与取消信号
+ *
+ * 在调用入口创建，随TransportRequest传到传输层：排队、配额等待、重试退避和读取响应体都只能使用剩余的时间。
+ * 传输实现在发出请求时登记中止当前交换的方法，调用被取消或到达截止时间时执行它，直接关闭底层连接，
+ * 而不是等待阻塞中的读写自行返回
+ *
+ * @author ylx
+ */
+public final class Deadline {
+    // 没有截止时间时的expiresAt
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final long expiresAt;
+    private final Set<Runnable> cancelHooks = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 创建从现在起经过指定时间到期的截止时间
+     *
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制，只用于传递取消信号
+     * @return 截止时间
+     */
+    public static Deadline after(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return new Deadline(NO_LIMIT);
+        }
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * 是否有时间限制
+     *
+     * @return 有截止时间时返回true
+     */
+    public boolean hasLimit() {
+        return expiresAt != NO_LIMIT;
+    }
+
+    /**
+     * 剩余时间
+     *
+     * @return 剩余的纳秒数，已到期时小于等于0；没有时间限制时返回Long.MAX_VALUE
+     */
+    public long remainingNanos() {
+        return hasLimit() ? expiresAt - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * 剩余时间
+     *
+     * @return 剩余的毫秒数（向上取整），已到期时小于等于0；没有时间限制时返回Long.MAX_VALUE
+     */
+    public long remainingMillis() {
+        long nanos = remainingNanos();
+        if (nanos == Long.MAX_VALUE) {
+            return nanos;
+        }
+        return nanos <= 0 ? 0 : (nanos + 999_999) / 1_000_000;
+    }
+
+    /**
+     * 把超时时间限制在剩余时间之内
+     *
+     * @param timeoutMillis 配置的超时时间（毫秒），小于等于0表示不限制
+     * @return 实际使用的超时时间（毫秒），至少为1；两者都不限制时返回0
+     */
+    public int clamp(long timeoutMillis) {
+        long remaining = remainingMillis();
+        long limit = timeoutMillis > 0 ? Math.min(timeoutMillis, remaining) : remaining;
+        if (limit == Long.MAX_VALUE) {
+            return 0;
+        }
+        return (int) Math.max(1, Math.min(limit, Integer.MAX_VALUE));
+    }
+
+    /**
+     * 是否已到期
+     *
+     * @return 超过截止时间时返回true
+     */
+    public boolean isExpired() {
+        return hasLimit() && expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 取消调用：执行所有已登记的中止方法
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Runnable hook : cancelHooks) {
+            runQuietly(hook);
+        }
+    }
+
+    /**
+     * 是否已被取消
+     *
+     * @return 调用被取消时返回true
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 登记取消时执行的中止方法，已取消时立即执行
+     *
+     * @param hook 中止方法，应当能在任意线程中执行且不阻塞
+     */
+    public void onCancel(Runnable hook) {
+        cancelHooks.add(hook);
+        if (cancelled && cancelHooks.remove(hook)) {
+            runQuietly(hook);
+        }
+    }
+
+    /**
+     * 交换结束后移除登记的中止方法
+     *
+     * @param hook 中止方法
+     */
+    public void removeCancelHook(Runnable hook) {
+        cancelHooks.remove(hook);
+    }
+
+    private static void runQuietly(Runnable hook) {
+        try {
+            hook.run();
+        } catch (RuntimeException ignored) {
+            // 中止失败时由读写超时兜底
+        }
+    }
+
+    /**
+     * 交换失败时，如果是因为调用被取消或到达截止时间而被中止，转换为对应的异常，便于重试和指标识别
+     *
+     * @param e 交换中的异常
+     * @return 被取消时为InterruptedIOException，到期时为SocketTimeoutException，否则为原异常
+     */
+    public IOException explain(IOException e) {
+        if (cancelled && !(e instanceof InterruptedIOException)) {
+            InterruptedIOException interrupted = new InterruptedIOException("请求已取消");
+            interrupted.initCause(e);
+            return interrupted;
+        }
+        if (isExpired() && !(e instanceof InterruptedIOException)) {
+            SocketTimeoutException timeout = new SocketTimeoutException("请求超过截止时间");
+            timeout.initCause(e);
+            return timeout;
+        }
+        return e;
+    }
+
+    /**
+     * 在调用被取消或到达截止时间时执行中止方法，交换结束（响应关闭或失败）后需要关闭返回的Watch
+     *
+     * @param abort 中止当前交换的方法，通常是关闭底层连接
+     * @return 登记的监视，关闭后不再执行中止方法
+     */
+    public Watch watch(Runnable abort) {
+        return new Watch(abort);
+    }
+
+    /**
+     * 一次交换的中止监视：登记取消信号，有截止时间时在到期时刻由共享的定时调度器执行中止
+     */
+    public final class Watch implements AutoCloseable {
+        private final Runnable abort;
+        private final ScheduledFuture<?> timer;
+
+        private Watch(Runnable abort) {
+            this.abort = abort;
+            onCancel(abort);
+            this.timer = hasLimit()
+                    ? ApiExecutors.scheduler().schedule(() -> runQuietly(abort), Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS)
+                    : null;
+        }
+
+        @Override
+        public void close() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            removeCancelHook(abort);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ylx.apiclientsdk.transport;
+
+import lombok.Data;
+
+/**
+ * HTTP/2传输配置
+ *
+ * @author ylx
+ */
+@Data
+public class Http2Config {
+    /**
+     * 建立连接的超时时间（毫秒），小于等于0表示不限制
+     */
+    private long connectTimeout = 10_000;
+    /**
+     * 处理响应的线程数，所有连接和流共用；小于等于0时使用按需创建的线程池
+     */
+    private int executorThreads = 0;
+}
@@ -0,0 +1,60 @@
+package com.ylx.apiclientsdk.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 基于java.net.http.HttpClient的HTTP/2传输实现
+ *
+ * 本类是多版本JAR中Java 8的版本，只用于判断是否可用：Java 11及以上运行时会加载META-INF/versions/11中的实现，
+ * 多个并发请求以多路复用的流共享少量到网关的HTTP/2连接；Java 8下isSupported返回false，创建实例会失败，
+ * 调用方应回退为PooledTransport
+ *
+ * @author ylx
+ */
+public class Http2Transport implements Transport, Closeable {
+
+    public Http2Transport() {
+        this(new Http2Config());
+    }
+
+    public Http2Transport(Http2Config config) {
+        throw new UnsupportedOperationException("HTTP/2传输需要Java 11及以上版本");
+    }
+
+    /**
+     * 当前运行时是否支持HTTP/2传输
+     *
+     * @return Java 11及以上返回true
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        throw new IOException("HTTP/2传输需要Java 11及以上版本");
+    }
+
+    /**
+     * 以HTTP/2协议完成的响应数
+     *
+     * @return 响应数
+     */
+    public long getHttp2Responses() {
+        return 0;
+    }
+
+    /**
+     * 回退为HTTP/1.1协议完成的响应数
+     *
+     * @return 响应数
+     */
+    public long getHttp1Responses() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,116 @@
+package com.ylx.apiclientsdk.transport;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.http.HttpConnection;
+import cn.hutool.http.HttpException;
+import cn.hutool.http.HttpRequest;
+import cn.hutool.http.HttpResponse;
+import cn.hutool.http.Method;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+
+/**
+ * 基于hutool HttpRequest的传输实现
+ * 每次请求都新建一次HttpURLConnection交换，不做连接池控制，作为连接池实现不可用时的兜底方案。
+ * 响应体在execute中被完整读取，调用被取消或到期时断开连接
+ *
+ * @author ylx
+ */
+public class HutoolTransport implements Transport {
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new SocketTimeoutException("请求超过截止时间");
+        }
+        HttpRequest httpRequest = HttpRequest.of(request.getUrl())
+                .method(Method.valueOf(request.getMethod().getValue()));
+        int connectTimeout = request.effectiveConnectTimeout();
+        int readTimeout = request.effectiveReadTimeout();
+        if (connectTimeout > 0) {
+            httpRequest.setConnectionTimeout(connectTimeout);
+        }
+        if (readTimeout > 0) {
+            httpRequest.setReadTimeout(readTimeout);
+        }
+        if (request.getHeaders() != null) {
+            httpRequest.addHeaders(request.getHeaders());
+        }
+        if (request.getBody() != null) {
+            httpRequest.body(request.getBody());
+        }
+        if (deadline == null) {
+            try {
+                return new HutoolTransportResponse(httpRequest.execute());
+            } catch (HttpException | IORuntimeException e) {
+                throw unwrap(e);
+            }
+        }
+        try (Deadline.Watch ignored = deadline.watch(() -> disconnect(httpRequest))) {
+            return new HutoolTransportResponse(httpRequest.execute());
+        } catch (HttpException | IORuntimeException e) {
+            // 被中止时转换为超时或取消
+            throw deadline.explain(unwrap(e));
+        }
+    }
+
+    /**
+     * hutool把连接和读写异常包装为运行时异常，还原为Transport约定的IOException，
+     * 使重试、失败类型和超时判断能识别SocketTimeoutException、ConnectException等具体类型
+     */
+    private static IOException unwrap(RuntimeException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return (IOException) cause;
+            }
+        }
+        return new IOException(e.getMessage(), e);
+    }
+
+    private static void disconnect(HttpRequest httpRequest) {
+        HttpConnection connection = httpRequest.getConnection();
+        if (connection != null) {
+            connection.disconnectQuietly();
+        }
+    }
+
+    /**
+     * hutool同步模式下响应体在execute时已被完整读取，这里只做适配
+     */
+    private static class HutoolTransportResponse implements TransportResponse {
+        private final HttpResponse httpResponse;
+
+        HutoolTransportResponse(HttpResponse httpResponse) {
+            this.httpResponse = httpResponse;
+        }
+
+        @Override
+        public int getStatus() {
+            return httpResponse.getStatus();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            // hutool读取响应体时已按Content-Encoding自动解压，不再向上层暴露该响应头，避免重复解压
+            if ("Content-Encoding".equalsIgnoreCase(name)) {
+                return null;
+            }
+            return httpResponse.header(name);
+        }
+
+        @Override
+        public InputStream getBody() {
+            byte[] bytes = httpResponse.bodyBytes();
+            return new ByteArrayInputStream(bytes == null ? new byte[0] : bytes);
+        }
+
+        @Override
+        public void close() {
+            httpResponse.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ylx.apiclientsdk.transport;
+
+import lombok.Data;
+
+/**
+ * 连接池配置
+ *
+ * @author ylx
+ */
+@Data
+public class PoolConfig {
+    /**
+     * 连接池最大连接数
+     */
+    private int maxTotal = 200;
+    /**
+     * 每个路由（网关主机）的最大连接数
+     */
+    private int maxPerRoute = 50;
+    /**
+     * 空闲连接的回收时间（毫秒），超过该时间未被使用的连接会被后台线程关闭
+     */
+    private long idleTimeout = 30_000;
+    /**
+     * 连接的最大存活时间（毫秒），小于等于0表示不限制
+     */
+    private long timeToLive = 300_000;
+    /**
+     * 连接空闲超过该时间（毫秒）后，再次使用前先检查连接是否可用
+     */
+    private int validateAfterInactivity = 2_000;
+    /**
+     * TLS会话缓存的大小，用于复用握手结果
+     */
+    private int tlsSessionCacheSize = 1024;
+    /**
+     * TLS会话缓存的超时时间（秒）
+     */
+    private int tlsSessionTimeout = 86_400;
+    /**
+     * DNS解析结果的缓存与刷新间隔（毫秒），小于等于0表示每次建立连接都直接解析
+     */
+    private long dnsRefreshInterval = 30_000;
+}
@@ -0,0 +1,342 @@
+package com.ylx.apiclientsdk.transport;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于Apache HttpClient连接池的传输实现（默认实现）
+ * 与网关之间保持长连接，限制总连接数和单路由连接数，后台线程回收空闲和过期连接，
+ * 所有连接共享同一个SSLContext，从而复用TLS会话，避免每次请求都重新握手。
+ * httpcore在synchronized块内等待空闲连接，会固定虚拟线程的载体线程，因此先按路由和总数用Semaphore领取许可，
+ * 进入HttpClient时连接池一定有可用的名额，等待只发生在Semaphore上。
+ * 连接和读取超时取请求指定的值并限制在截止时间的剩余时间之内；调用被取消或到期时直接中止请求、关闭连接，
+ * 在读取响应体期间同样生效
+ *
+ * @author ylx
+ */
+public class PooledTransport implements Transport, Closeable {
+    // 建立连接耗时在HttpContext中的属性名
+    private static final String CONNECT_NANOS = PooledTransport.class.getName() + ".connectNanos";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final int maxPerRoute;
+    private final Semaphore totalPermits;
+    private final ConcurrentMap<HttpHost, Semaphore> routePermits = new ConcurrentHashMap<>();
+
+    public PooledTransport() {
+        this(new PoolConfig());
+    }
+
+    public PooledTransport(PoolConfig config) {
+        SSLContext sslContext = SSLContexts.createSystemDefault();
+        // 同一个SSLContext的客户端会话缓存会被所有连接共享，重连时可走简化握手
+        sslContext.getClientSessionContext().setSessionCacheSize(config.getTlsSessionCacheSize());
+        sslContext.getClientSessionContext().setSessionTimeout(config.getTlsSessionTimeout());
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimedSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+                .register("https", new TimedSocketFactory(new SSLConnectionSocketFactory(sslContext)))
+                .build();
+        long timeToLive = config.getTimeToLive() > 0 ? config.getTimeToLive() : -1;
+        // 缓存DNS解析结果，域名对应多个地址时新建的连接轮流使用各个地址
+        DnsResolver dnsResolver = config.getDnsRefreshInterval() > 0 ? new CachingDnsResolver(config.getDnsRefreshInterval()) : null;
+        this.connectionManager = new PoolingHttpClientConnectionManager(registry, null, null, dnsResolver,
+                timeToLive, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(config.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+        this.maxPerRoute = config.getMaxPerRoute();
+        this.totalPermits = new Semaphore(config.getMaxTotal());
+        connectionManager.setValidateAfterInactivity(config.getValidateAfterInactivity());
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // 请求不携带用户状态，保证连接可以在不同调用之间复用
+                .disableConnectionState()
+                .disableCookieManagement()
+                // 重试由RetryingTransport统一按预算控制，避免两层重试叠加
+                .disableAutomaticRetries()
+                // 压缩协商与解压由SDK统一处理（ContentCompression），避免重复解压且能统计实际收发字节数
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(config.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        HttpRequestBase httpRequest;
+        switch (request.getMethod()) {
+            case GET:
+                httpRequest = new HttpGet(request.getUrl());
+                break;
+            case POST:
+                HttpPost httpPost = new HttpPost(request.getUrl());
+                if (request.getBody() != null) {
+                    httpPost.setEntity(new ByteArrayEntity(request.getBody()));
+                }
+                httpRequest = httpPost;
+                break;
+            default:
+                throw new IOException("不支持该请求方法: " + request.getMethod());
+        }
+        if (request.getHeaders() != null) {
+            for (Map.Entry<String, String> entry : request.getHeaders().entrySet()) {
+                httpRequest.setHeader(entry.getKey(), entry.getValue());
+            }
+        }
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new SocketTimeoutException("请求超过截止时间");
+        }
+        int connectTimeout = request.effectiveConnectTimeout();
+        int readTimeout = request.effectiveReadTimeout();
+        if (connectTimeout > 0 || readTimeout > 0) {
+            httpRequest.setConfig(RequestConfig.custom()
+                    .setConnectTimeout(connectTimeout > 0 ? connectTimeout : -1)
+                    .setSocketTimeout(readTimeout > 0 ? readTimeout : -1)
+                    .build());
+        }
+        Semaphore route = routePermits.computeIfAbsent(URIUtils.extractHost(httpRequest.getURI()), host -> new Semaphore(maxPerRoute));
+        acquire(route, deadline);
+        try {
+            acquire(totalPermits, deadline);
+        } catch (IOException e) {
+            route.release();
+            throw e;
+        }
+        Permits permits = new Permits(route, totalPermits);
+        Deadline.Watch watch = deadline != null ? deadline.watch(httpRequest::abort) : null;
+        try {
+            HttpClientContext context = HttpClientContext.create();
+            CloseableHttpResponse httpResponse = httpClient.execute(httpRequest, context);
+            Long connectNanos = (Long) context.getAttribute(CONNECT_NANOS);
+            return new PooledTransportResponse(httpResponse, connectNanos != null ? connectNanos : -1, permits, watch);
+        } catch (IOException e) {
+            finish(permits, watch);
+            throw deadline != null ? deadline.explain(e) : e;
+        } catch (RuntimeException e) {
+            finish(permits, watch);
+            throw e;
+        }
+    }
+
+    private static void finish(Permits permits, Deadline.Watch watch) {
+        if (watch != null) {
+            watch.close();
+        }
+        permits.release();
+    }
+
+    /**
+     * 领取许可，有截止时间时最多等待剩余时间
+     */
+    private static void acquire(Semaphore semaphore, Deadline deadline) throws IOException {
+        try {
+            if (deadline == null || !deadline.hasLimit()) {
+                semaphore.acquire();
+            } else if (!semaphore.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ConnectionPoolTimeoutException("等待连接超过截止时间");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待连接时被中断");
+        }
+    }
+
+    /**
+     * 一次请求占用的路由和总数许可，响应关闭后归还，只归还一次
+     */
+    private static class Permits {
+        private final Semaphore route;
+        private final Semaphore total;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permits(Semaphore route, Semaphore total) {
+            this.route = route;
+            this.total = total;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                total.release();
+                route.release();
+            }
+        }
+    }
+
+    /**
+     * 获取连接池，便于监控连接使用情况
+     *
+     * @return 连接池
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * 关闭时只读完较小的剩余响应体，使连接能够归还连接池；剩余内容较多（或长度未知且超过上限）时
+     * 直接关闭连接，避免提前放弃读取的大响应在关闭时被完整下载
+     */
+    private static class PooledTransportResponse implements TransportResponse {
+        // 关闭时最多读取并丢弃的剩余字节数
+        private static final int DRAIN_LIMIT = 8192;
+
+        private final CloseableHttpResponse httpResponse;
+        private final long connectNanos;
+        private final Permits permits;
+        // 读取响应体期间仍然监视取消和截止时间，为null时不限制
+        private final Deadline.Watch watch;
+        // 已交给调用方的响应体，为null表示尚未读取
+        private InputStream body;
+
+        PooledTransportResponse(CloseableHttpResponse httpResponse, long connectNanos, Permits permits, Deadline.Watch watch) {
+            this.httpResponse = httpResponse;
+            this.connectNanos = connectNanos;
+            this.permits = permits;
+            this.watch = watch;
+        }
+
+        @Override
+        public long getConnectNanos() {
+            return connectNanos;
+        }
+
+        @Override
+        public int getStatus() {
+            return httpResponse.getStatusLine().getStatusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            Header header = httpResponse.getFirstHeader(name);
+            return header == null ? null : header.getValue();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                HttpEntity entity = httpResponse.getEntity();
+                body = entity == null ? new ByteArrayInputStream(new byte[0]) : entity.getContent();
+            }
+            return body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drainRemainder();
+            } catch (IOException e) {
+                // 响应体已被调用方关闭或读取失败，连接不再复用
+            } finally {
+                try {
+                    // 响应体已读完时连接已经归还连接池，否则关闭连接
+                    httpResponse.close();
+                } finally {
+                    // 连接已归还或关闭后才放出许可
+                    finish(permits, watch);
+                }
+            }
+        }
+
+        /**
+         * 剩余内容不超过DRAIN_LIMIT时读完并关闭响应体，连接随之归还连接池；否则不再读取
+         */
+        private void drainRemainder() throws IOException {
+            HttpEntity entity = httpResponse.getEntity();
+            if (entity == null) {
+                return;
+            }
+            if (body == null && entity.getContentLength() > DRAIN_LIMIT) {
+                return;
+            }
+            InputStream in = getBody();
+            byte[] buffer = new byte[DRAIN_LIMIT];
+            int drained = 0;
+            while (drained <= DRAIN_LIMIT) {
+                int n = in.read(buffer);
+                if (n < 0) {
+                    // 已读到结尾，关闭不会再读取，连接可以复用
+                    in.close();
+                    return;
+                }
+                drained += n;
+            }
+        }
+    }
+
+    /**
+     * 统计建立连接（含TLS握手）耗时的SocketFactory，耗时写入本次请求的HttpContext
+     * 通过代理建立隧道时的TLS升级直接委托给原SocketFactory
+     */
+    private static class TimedSocketFactory implements LayeredConnectionSocketFactory {
+        private final ConnectionSocketFactory delegate;
+
+        TimedSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            Socket socket = delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+            context.setAttribute(CONNECT_NANOS, System.nanoTime() - start);
+            return socket;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            if (!(delegate instanceof LayeredConnectionSocketFactory)) {
+                throw new IOException("不支持在该协议上建立TLS: " + target);
+            }
+            return ((LayeredConnectionSocketFactory) delegate).createLayeredSocket(socket, target, port, context);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ylx.apiclientsdk.transport;
+
+import lombok.Data;
+
+/**
+ * 超时配置，单位均为毫秒，小于等于0表示不限制
+ *
+ * @author ylx
+ */
+@Data
+public class TimeoutConfig {
+    /**
+     * 建立连接（含TLS握手）的超时时间
+     */
+    private int connectTimeout = 10_000;
+    /**
+     * 两次读取之间的最长等待时间
+     */
+    private int readTimeout = 30_000;
+    /**
+     * 一次调用的总超时时间，从调用开始计算，包含异步排队、配额等待、重试退避和读取解析响应体；
+     * 可以通过BaseRequest.setTimeout或@ApiRequest(timeout)按请求覆盖。流式请求默认不受该限制
+     */
+    private long totalTimeout = 60_000;
+}
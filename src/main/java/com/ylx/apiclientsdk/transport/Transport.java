@@ -0,0 +1,23 @@
+package com.ylx.apiclientsdk.transport;
+
+import java.io.IOException;
+
+/**
+ * HTTP传输层抽象
+ * BaseService只负责组装请求（路径、请求头、签名、请求体），真正的网络交换交给Transport实现，
+ * 以便在连接池、HTTP客户端等实现之间切换
+ *
+ * @author ylx
+ */
+public interface Transport {
+
+    /**
+     * 执行一次HTTP交换
+     * 返回的响应必须由调用方关闭，关闭时连接会被归还到连接池（如果实现支持连接池）
+     *
+     * @param request 传输层请求
+     * @return 传输层响应
+     * @throws IOException 网络异常
+     */
+    TransportResponse execute(TransportRequest request) throws IOException;
+}
@@ -0,0 +1,70 @@
+package com.ylx.apiclientsdk.transport;
+
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 传输层请求，已完成URL拼接与签名，与具体HTTP客户端无关
+ *
+ * @author ylx
+ */
+@Data
+@NoArgsConstructor
+public class TransportRequest {
+    // 请求方法
+    private RequestMethodEnum method;
+    // 完整的请求地址（包含查询字符串）
+    private String url;
+    // 请求头
+    private Map<String, String> headers;
+    // 请求体，GET请求为null
+    private byte[] body;
+    // 建立连接的超时时间（毫秒），0表示使用传输实现的默认值
+    private int connectTimeout;
+    // 两次读取之间的超时时间（毫秒），0表示使用传输实现的默认值
+    private int readTimeout;
+    // 调用的截止时间与取消信号，为null时不限制
+    private Deadline deadline;
+
+    public TransportRequest(RequestMethodEnum method, String url, Map<String, String> headers, byte[] body) {
+        this.method = method;
+        this.url = url;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * 复制请求并替换请求地址，请求头、请求体、超时和截止时间与原请求共用
+     *
+     * @param url 新的请求地址
+     * @return 新的传输层请求
+     */
+    public TransportRequest withUrl(String url) {
+        TransportRequest copy = new TransportRequest(method, url, headers, body);
+        copy.setConnectTimeout(connectTimeout);
+        copy.setReadTimeout(readTimeout);
+        copy.setDeadline(deadline);
+        return copy;
+    }
+
+    /**
+     * 按截止时间的剩余时间限制后的连接超时
+     *
+     * @return 连接超时（毫秒），0表示不限制
+     */
+    public int effectiveConnectTimeout() {
+        return deadline != null ? deadline.clamp(connectTimeout) : connectTimeout;
+    }
+
+    /**
+     * 按截止时间的剩余时间限制后的读取超时
+     *
+     * @return 读取超时（毫秒），0表示不限制
+     */
+    public int effectiveReadTimeout() {
+        return deadline != null ? deadline.clamp(readTimeout) : readTimeout;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ylx.apiclientsdk.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 传输层响应
+ * 响应体以流的形式提供，调用方读取完毕后必须关闭响应以释放连接
+ *
+ * @author ylx
+ */
+public interface TransportResponse extends Closeable {
+
+    /**
+     * 获取HTTP状态码
+     *
+     * @return 状态码
+     */
+    int getStatus();
+
+    /**
+     * 获取响应头
+     *
+     * @param name 响应头名称，不区分大小写
+     * @return 响应头的值，不存在时返回null
+     */
+    String getHeader(String name);
+
+    /**
+     * 获取响应体输入流
+     *
+     * @return 响应体输入流，没有响应体时返回空流
+     * @throws IOException 读取异常
+     */
+    InputStream getBody() throws IOException;
+
+    /**
+     * 获取本次请求建立连接的耗时
+     *
+     * @return 建立连接耗时（纳秒），复用已有连接或传输实现不支持统计时返回-1
+     */
+    default long getConnectNanos() {
+        return -1;
+    }
+}
@@ -1,12 +1,29 @@
 package com.ylx.apiclientsdk.util;
 
+import cn.hutool.crypto.SecureUtil;
 import cn.hutool.crypto.digest.DigestAlgorithm;
 import cn.hutool.crypto.digest.Digester;
+import com.ylx.apiclientsdk.async.VirtualThreads;
+import com.ylx.apiclientsdk.client.Credential;
+
+import java.security.MessageDigest;
 
 /**
  * 签名工具
  */
 public class SignUtils {
+    // 十六进制字符表
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // 每个线程复用的MD5摘要实例，MessageDigest本身不是线程安全的
+    private static final ThreadLocal<MessageDigest> MD5 =
+            ThreadLocal.withInitial(() -> SecureUtil.createMessageDigest(DigestAlgorithm.MD5.getValue()));
+    // 每个线程复用的SHA256摘要实例
+    private static final ThreadLocal<MessageDigest> SHA256 =
+            ThreadLocal.withInitial(() -> SecureUtil.createMessageDigest(DigestAlgorithm.SHA256.getValue()));
+    // 虚拟线程每个任务都是新线程，ThreadLocal无法复用，改为从原型复制摘要实例
+    private static final MessageDigest MD5_PROTOTYPE = SecureUtil.createMessageDigest(DigestAlgorithm.MD5.getValue());
+    private static final MessageDigest SHA256_PROTOTYPE = SecureUtil.createMessageDigest(DigestAlgorithm.SHA256.getValue());
+
     /**
      * 生成签名
      * @param body 请求体内容
@@ -21,4 +38,76 @@ public class SignUtils {
         // 计算签名的摘要并返回摘要的十六进制表示形式
         return md5.digestHex(content);
     }
+
+    /**
+     * 使用预派生的凭证生成签名
+     * 与genSign(body, secretKey)结果一致：body按字符直接送入线程复用的SHA256摘要（body为十六进制摘要，只含ASCII字符），
+     * 再送入凭证中预编码的"." + secretKey字节，不拼接中间字符串；
+     * 相同body的签名会被记录在凭证中，再次出现时直接返回
+     *
+     * @param body 请求体摘要，即请求头中的body字段
+     * @param credential 凭证
+     * @return 生成的签名字符串
+     */
+    public static String genSign(String body, Credential credential) {
+        String sign = credential.getMemoizedSign(body);
+        if (sign != null) {
+            return sign;
+        }
+        MessageDigest digest = digest(SHA256, SHA256_PROTOTYPE);
+        digest.reset();
+        for (int i = 0; i < body.length(); i++) {
+            digest.update((byte) body.charAt(i));
+        }
+        digest.update(credential.getSignSuffix());
+        sign = toHex(digest.digest());
+        credential.memoizeSign(body, sign);
+        return sign;
+    }
+
+    /**
+     * 计算发送内容的MD5摘要
+     * 直接对实际发送的字节做一次摘要，使用线程复用的MessageDigest实例
+     *
+     * @param payload 实际发送的字节
+     * @return 十六进制的MD5摘要
+     */
+    public static String md5Hex(byte[] payload) {
+        MessageDigest digest = digest(MD5, MD5_PROTOTYPE);
+        digest.reset();
+        return toHex(digest.digest(payload));
+    }
+
+    /**
+     * 获取摘要实例：平台线程复用ThreadLocal中的实例，虚拟线程复制原型，避免每个虚拟线程都创建并缓存一份
+     *
+     * @param local 线程复用的实例
+     * @param prototype 原型
+     * @return 当前线程可以使用的摘要实例
+     */
+    private static MessageDigest digest(ThreadLocal<MessageDigest> local, MessageDigest prototype) {
+        if (!VirtualThreads.isVirtual()) {
+            return local.get();
+        }
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return SecureUtil.createMessageDigest(prototype.getAlgorithm());
+        }
+    }
+
+    /**
+     * 将摘要转换为小写十六进制字符串，只分配结果字符串本身
+     *
+     * @param bytes 摘要
+     * @return 十六进制字符串
+     */
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length << 1];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            chars[j++] = HEX_DIGITS[(bytes[i] >>> 4) & 0x0F];
+            chars[j++] = HEX_DIGITS[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
 }
@@ -0,0 +1,274 @@
+package com.ylx.apiclientsdk.transport;
+
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于java.net.http.HttpClient的HTTP/2传输实现（Java 11及以上）
+ *
+ * 同一个网关的并发请求作为多路复用的流共享HTTP/2连接，不再按请求占用连接，也没有连接池层面的排队；
+ * https通过ALPN协商HTTP/2，网关不支持时自动回退为HTTP/1.1。HttpClient在第一个连接建立之前不会合并并发请求，
+ * 因此每个网关的第一个请求单独发出，其余并发请求等它完成后再复用同一个连接。与PooledTransport一致：不跟随重定向、不做自动重试，
+ * 压缩由SDK统一处理；超时异常转换为SocketTimeoutException/ConnectTimeoutException，以便重试和指标统一识别。
+ * 等待响应头的时间受读取超时和截止时间限制；读取响应体期间调用被取消或到期时关闭响应流，对应的HTTP/2流被重置
+ *
+ * @author ylx
+ */
+public class Http2Transport implements Transport, Closeable {
+    // HttpClient自行管理、不允许调用方设置的请求头
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add("Connection");
+        RESTRICTED_HEADERS.add("Content-Length");
+        RESTRICTED_HEADERS.add("Expect");
+        RESTRICTED_HEADERS.add("Host");
+        RESTRICTED_HEADERS.add("Upgrade");
+    }
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    // 每个网关（scheme://host:port）第一个请求的完成信号
+    private final ConcurrentMap<String, CompletableFuture<Void>> firstRequests = new ConcurrentHashMap<>();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder http1Responses = new LongAdder();
+
+    public Http2Transport() {
+        this(new Http2Config());
+    }
+
+    public Http2Transport(Http2Config config) {
+        this.executor = config.getExecutorThreads() > 0
+                ? Executors.newFixedThreadPool(config.getExecutorThreads(), daemonThreads())
+                : Executors.newCachedThreadPool(daemonThreads());
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor);
+        if (config.getConnectTimeout() > 0) {
+            builder.connectTimeout(Duration.ofMillis(config.getConnectTimeout()));
+        }
+        this.httpClient = builder.build();
+    }
+
+    /**
+     * 当前运行时是否支持HTTP/2传输
+     *
+     * @return Java 11及以上返回true
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new SocketTimeoutException("请求超过截止时间");
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()));
+        int readTimeout = request.effectiveReadTimeout();
+        if (readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+        switch (request.getMethod()) {
+            case GET:
+                builder.GET();
+                break;
+            case POST:
+                builder.POST(request.getBody() != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(request.getBody())
+                        : HttpRequest.BodyPublishers.noBody());
+                break;
+            default:
+                throw new IOException("不支持该请求方法: " + request.getMethod());
+        }
+        if (request.getHeaders() != null) {
+            for (Map.Entry<String, String> entry : request.getHeaders().entrySet()) {
+                if (!RESTRICTED_HEADERS.contains(entry.getKey())) {
+                    builder.setHeader(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        HttpRequest httpRequest = builder.build();
+        HttpResponse<InputStream> response;
+        try {
+            response = send(httpRequest, deadline);
+        } catch (HttpConnectTimeoutException e) {
+            throw new ConnectTimeoutException(e.getMessage());
+        } catch (HttpTimeoutException e) {
+            throw new SocketTimeoutException(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("请求被中断");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        } else {
+            http1Responses.increment();
+        }
+        Deadline.Watch watch = deadline != null ? deadline.watch(() -> closeQuietly(response.body())) : null;
+        return new Http2TransportResponse(response, watch);
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // 只用于中止读取
+        }
+    }
+
+    /**
+     * 发送请求，同一网关的第一个请求完成之前，其他请求先等待，避免并发建立多个连接
+     */
+    private HttpResponse<InputStream> send(HttpRequest httpRequest, Deadline deadline) throws IOException, InterruptedException {
+        URI uri = httpRequest.uri();
+        String origin = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        CompletableFuture<Void> first = firstRequests.get(origin);
+        if (first == null) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            first = firstRequests.putIfAbsent(origin, mine);
+            if (first == null) {
+                boolean connected = false;
+                try {
+                    HttpResponse<InputStream> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+                    connected = true;
+                    return response;
+                } finally {
+                    if (!connected) {
+                        // 连接失败时让下一个请求重新作为第一个请求
+                        firstRequests.remove(origin, mine);
+                    }
+                    mine.complete(null);
+                }
+            }
+        }
+        if (!first.isDone()) {
+            try {
+                if (deadline != null && deadline.hasLimit()) {
+                    first.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    first.get();
+                }
+            } catch (ExecutionException e) {
+                // 只作为完成信号，不会异常完成
+            } catch (TimeoutException e) {
+                throw new ConnectTimeoutException("等待连接超过截止时间");
+            }
+        }
+        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * 以HTTP/2协议完成的响应数
+     *
+     * @return 响应数
+     */
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+
+    /**
+     * 回退为HTTP/1.1协议完成的响应数
+     *
+     * @return 响应数
+     */
+    public long getHttp1Responses() {
+        return http1Responses.sum();
+    }
+
+    /**
+     * 关闭处理响应的线程池，HttpClient在不再被引用后释放连接
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "api-http2-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 关闭时只读完较小的剩余响应体：HTTP/2下流正常结束而不是被重置，回退为HTTP/1.1时连接可以复用；
+     * 剩余内容较多时直接关闭，HTTP/2下只重置该流，不会为提前放弃的大响应下载全部内容
+     */
+    private static class Http2TransportResponse implements TransportResponse {
+        // 关闭时最多读取并丢弃的剩余字节数
+        private static final int DRAIN_LIMIT = 8192;
+
+        private final HttpResponse<InputStream> response;
+        // 读取响应体期间监视取消和截止时间，为null时不限制
+        private final Deadline.Watch watch;
+
+        Http2TransportResponse(HttpResponse<InputStream> response, Deadline.Watch watch) {
+            this.response = response;
+            this.watch = watch;
+        }
+
+        @Override
+        public int getStatus() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return response.body();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (InputStream body = response.body()) {
+                byte[] buffer = new byte[DRAIN_LIMIT];
+                int drained = 0;
+                int n;
+                while (drained <= DRAIN_LIMIT && (n = body.read(buffer)) >= 0) {
+                    drained += n;
+                }
+            } finally {
+                if (watch != null) {
+                    watch.close();
+                }
+            }
+        }
+    }
+}
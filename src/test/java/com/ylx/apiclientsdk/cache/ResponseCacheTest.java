@@ -0,0 +1,208 @@
+package com.ylx.apiclientsdk.cache;
+
+import com.ylx.apiclientsdk.transport.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ResponseCache的新鲜期、304验证与并发请求合并
+ *
+ * @author ylx
+ */
+class ResponseCacheTest {
+    private static final String KEY = ResponseCache.key("ak", "GET", "http://gateway/api?b=2&a=1");
+
+    private ResponseCache cache;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(new CacheConfig());
+        pool = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void keyIgnoresQueryOrderButNotAccessKey() {
+        assertEquals(KEY, ResponseCache.key("ak", "GET", "http://gateway/api?a=1&b=2"));
+        assertTrue(!KEY.equals(ResponseCache.key("other", "GET", "http://gateway/api?a=1&b=2")));
+    }
+
+    @Test
+    void freshEntryIsServedFromCache() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCache.Upstream upstream = etag -> {
+            calls.incrementAndGet();
+            return ok("v1", null, "max-age=60");
+        };
+        CachedResponse first = cache.get(KEY, 60_000, null, upstream);
+        CachedResponse second = cache.get(KEY, 60_000, null, upstream);
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void noStoreIsNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCache.Upstream upstream = etag -> {
+            calls.incrementAndGet();
+            return ok("v1", null, "no-store");
+        };
+        cache.get(KEY, 60_000, null, upstream);
+        cache.get(KEY, 60_000, null, upstream);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void staleEntryIsRevalidatedWithEtag() throws Exception {
+        List<String> sentEtags = new ArrayList<>();
+        cache.get(KEY, 60_000, null, etag -> {
+            sentEtags.add(etag);
+            return ok("v1", "\"e1\"", "no-cache");
+        });
+        CachedResponse revalidated = cache.get(KEY, 60_000, null, etag -> {
+            sentEtags.add(etag);
+            return new CachedResponse(304, new byte[0], null, "\"e1\"", "max-age=60");
+        });
+        assertNull(sentEtags.get(0));
+        assertEquals("\"e1\"", sentEtags.get(1));
+        // 304时返回原来缓存的响应体，并按新的max-age续期
+        assertEquals(200, revalidated.getStatus());
+        assertArrayEquals("v1".getBytes(StandardCharsets.UTF_8), revalidated.getBody());
+        assertEquals(1, cache.getRevalidatedCount());
+        assertSame(revalidated, cache.get(KEY, 60_000, null, etag -> {
+            throw new AssertionError("续期后不应再请求网关");
+        }));
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCache.Upstream upstream = etag -> {
+            calls.incrementAndGet();
+            release.await();
+            return ok("shared", null, "no-store");
+        };
+        List<Future<CachedResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> cache.get(KEY, 60_000, null, upstream)));
+        }
+        awaitCoalesced(7);
+        release.countDown();
+        CachedResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<CachedResponse> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void followersReceiveLeaderFailure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<CachedResponse> leader = pool.submit(() -> cache.get(KEY, 60_000, null, etag -> {
+            started.countDown();
+            release.await();
+            throw new IOException("gateway down");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<CachedResponse> follower = pool.submit(() -> cache.get(KEY, 60_000, null, etag -> {
+            throw new AssertionError("合并的请求不应再请求网关");
+        }));
+        awaitCoalesced(1);
+        release.countDown();
+        assertEquals(IOException.class, assertThrows(ExecutionException.class, leader::get).getCause().getClass());
+        assertEquals(IOException.class, assertThrows(ExecutionException.class, follower::get).getCause().getClass());
+    }
+
+    @Test
+    void followerRetriesWhenLeaderHitsItsOwnDeadline() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Deadline leaderDeadline = Deadline.after(0);
+        Future<CachedResponse> leader = pool.submit(() -> cache.get(KEY, 60_000, leaderDeadline, etag -> {
+            started.countDown();
+            release.await();
+            throw leaderDeadline.explain(new IOException("socket closed"));
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicInteger followerCalls = new AtomicInteger();
+        Future<CachedResponse> follower = pool.submit(() -> cache.get(KEY, 60_000, Deadline.after(10_000), etag -> {
+            followerCalls.incrementAndGet();
+            return ok("v2", null, null);
+        }));
+        awaitCoalesced(1);
+        // 发起请求的调用被取消，等待它的调用自己重新请求，而不是共享取消
+        leaderDeadline.cancel();
+        release.countDown();
+        assertEquals(InterruptedIOException.class,
+                assertThrows(ExecutionException.class, leader::get).getCause().getClass());
+        assertArrayEquals("v2".getBytes(StandardCharsets.UTF_8), follower.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, followerCalls.get());
+    }
+
+    @Test
+    void followerWaitIsBoundedByItsDeadline() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool.submit(() -> cache.get(KEY, 60_000, null, etag -> {
+            started.countDown();
+            release.await();
+            return ok("late", null, null);
+        }));
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            // 领导者一直没有返回，跟随者等到自己的截止时间后超时
+            assertThrows(SocketTimeoutException.class, () -> cache.get(KEY, 60_000, Deadline.after(50),
+                    etag -> ok("own", null, null)));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(1, cache.getCoalescedCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getCoalescedCount() < expected) {
+            if (System.nanoTime() > until) {
+                throw new AssertionError("coalesced=" + cache.getCoalescedCount());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static CachedResponse ok(String body, String etag, String cacheControl) {
+        return new CachedResponse(200, body.getBytes(StandardCharsets.UTF_8), "application/json", etag, cacheControl);
+    }
+}
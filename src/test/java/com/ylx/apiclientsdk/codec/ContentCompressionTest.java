@@ -0,0 +1,101 @@
+package com.ylx.apiclientsdk.codec;
+
+import cn.hutool.core.io.IoUtil;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ContentCompression的响应解压与解压流的关闭
+ *
+ * @author ylx
+ */
+class ContentCompressionTest {
+    private final ContentCompression compression = new ContentCompression();
+    private final AtomicBoolean wireClosed = new AtomicBoolean();
+
+    @Test
+    void decodesGzipBody() throws IOException {
+        try (InputStream body = compression.decodeResponse(response(200, "gzip", gzip("{\"ok\":true}")))) {
+            assertEquals("{\"ok\":true}", IoUtil.read(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void closingDecodedStreamReleasesInflaterButNotResponseBody() throws IOException {
+        InputStream body = compression.decodeResponse(response(200, "gzip", gzip("0123456789")));
+        assertEquals('0', body.read());
+        body.close();
+        // 解压流已结束，原响应体留给TransportResponse.close按连接复用策略处理
+        assertThrows(IOException.class, body::read);
+        assertFalse(wireClosed.get());
+    }
+
+    @Test
+    void bodilessGzipResponsesAreNotDecompressed() throws IOException {
+        for (int status : new int[]{200, 204, 304}) {
+            try (InputStream body = compression.decodeResponse(response(status, "gzip", new byte[0]))) {
+                assertEquals(-1, body.read());
+            }
+        }
+        assertFalse(wireClosed.get());
+    }
+
+    @Test
+    void identityBodyIsPassedThrough() throws IOException {
+        try (InputStream body = compression.decodeResponse(response(200, null, "plain".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals("plain", IoUtil.read(body, StandardCharsets.UTF_8));
+        }
+        assertEquals(5, compression.getResponseBytes());
+        assertFalse(wireClosed.get());
+    }
+
+    private TransportResponse response(int status, String encoding, byte[] wire) {
+        InputStream body = new ByteArrayInputStream(wire) {
+            @Override
+            public void close() {
+                wireClosed.set(true);
+            }
+        };
+        return new TransportResponse() {
+            @Override
+            public int getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return "Content-Encoding".equalsIgnoreCase(name) ? encoding : null;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public void close() throws IOException {
+                body.close();
+            }
+        };
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
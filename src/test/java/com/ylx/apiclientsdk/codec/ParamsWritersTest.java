@@ -0,0 +1,99 @@
+package com.ylx.apiclientsdk.codec;
+
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * ParamsWriters的查询字符串百分号编码与JSON转义
+ *
+ * @author ylx
+ */
+class ParamsWritersTest {
+
+    @Test
+    void unreservedCharactersAreKeptAsIs() {
+        assertEquals("name=Az09-._~", query("name", "Az09-._~"));
+        String key = "page_size";
+        assertSame(key, ParamsWriters.queryKey(key));
+    }
+
+    @Test
+    void spacesAndReservedCharactersAreEncoded() {
+        assertEquals("q=a%20b%2Bc%26d%3De%2Ff%3F%23", query("q", "a b+c&d=e/f?#"));
+        assertEquals("q=%25%2A", query("q", "%*"));
+        assertEquals("user%20name", ParamsWriters.queryKey("user name"));
+        assertEquals("a%5B0%5D", ParamsWriters.queryKey("a[0]"));
+    }
+
+    @Test
+    void multiByteCharactersAreEncodedAsUtf8() throws UnsupportedEncodingException {
+        for (String value : new String[]{"中文", "é", "😀", "混合 text+😀"}) {
+            assertEquals("v=" + urlEncode(value), query("v", value));
+        }
+    }
+
+    @Test
+    void unpairedSurrogateIsEncodedAsQuestionMark() {
+        assertEquals("v=a%3Fb", query("v", "a\uD83Db"));
+        assertEquals("v=%3F", query("v", "\uDE00"));
+        assertEquals("v=%3F", query("v", "\uD83D"));
+    }
+
+    @Test
+    void valuesAreJoinedWithAmpersand() {
+        StringBuilder sb = new StringBuilder();
+        boolean first = ParamsWriters.query(sb, true, "a", 1L);
+        assertFalse(first);
+        ParamsWriters.query(sb, first, "b", true);
+        ParamsWriters.query(sb, false, "c", ' ');
+        ParamsWriters.query(sb, false, "d", (Object) 2);
+        ParamsWriters.query(sb, false, "e", (Object) "x y");
+        assertEquals("a=1&b=true&c=%20&d=2&e=x%20y", sb.toString());
+    }
+
+    @Test
+    void jsonStringsAreEscaped() {
+        String value = "quote\" back\\slash\nline\rret\ttab\u0001\u001f中文";
+        StringBuilder sb = new StringBuilder("{");
+        ParamsWriters.json(sb, true, "s", value);
+        sb.append('}');
+        assertEquals("{\"s\":\"quote\\\" back\\\\slash\\nline\\rret\\ttab\\u0001\\u001f中文\"}", sb.toString());
+        assertEquals(value, JSONUtil.parseObj(sb.toString()).getStr("s"));
+    }
+
+    @Test
+    void jsonValuesKeepTheirTypes() {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = ParamsWriters.json(sb, true, "n", 3L);
+        ParamsWriters.json(sb, first, "b", false);
+        ParamsWriters.json(sb, false, "c", '"');
+        ParamsWriters.json(sb, false, "o", (Object) 1.5);
+        ParamsWriters.json(sb, false, "m", (Object) Collections.singletonMap("k", "v"));
+        sb.append('}');
+        assertEquals("{\"n\":3,\"b\":false,\"c\":\"\\\"\",\"o\":1.5,\"m\":{\"k\":\"v\"}}", sb.toString());
+        JSONObject parsed = JSONUtil.parseObj(sb.toString());
+        assertEquals("v", parsed.getJSONObject("m").getStr("k"));
+    }
+
+    private static String query(String key, String value) {
+        StringBuilder sb = new StringBuilder();
+        ParamsWriters.query(sb, true, ParamsWriters.queryKey(key), value);
+        return sb.toString();
+    }
+
+    /**
+     * URLEncoder按表单格式编码，换算为RFC 3986的形式作为对照
+     */
+    private static String urlEncode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8").replace("+", "%20").replace("*", "%2A").replace("%7E", "~");
+    }
+}
@@ -0,0 +1,225 @@
+package com.ylx.apiclientsdk.loadbalance;
+
+import com.ylx.apiclientsdk.model.enums.LoadBalanceStrategyEnum;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+import com.ylx.apiclientsdk.transport.Transport;
+import com.ylx.apiclientsdk.transport.TransportRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LoadBalancingTransport的路由、故障节点摘除与摘除比例上限
+ *
+ * @author ylx
+ */
+class LoadBalancingTransportTest {
+    private static final String GATEWAY = "http://gateway";
+    private static final List<String> HOSTS = Arrays.asList("http://node-a/", "http://node-b", "http://node-c");
+
+    private LoadBalancerConfig config;
+    // 返回503的节点
+    private final Set<String> failing = new HashSet<>();
+    // 抛出网络异常的节点
+    private final Set<String> unreachable = new HashSet<>();
+    private final List<String> routed = new ArrayList<>();
+
+    private final Transport stub = request -> {
+        String url = request.getUrl();
+        synchronized (routed) {
+            routed.add(url);
+        }
+        String host = url.replaceFirst("^(http://[^/?]+).*$", "$1");
+        if (unreachable.contains(host)) {
+            throw new ConnectException("Connection refused: " + host);
+        }
+        return new StubResponse(failing.contains(host) ? 503 : 200);
+    };
+
+    @BeforeEach
+    void setUp() {
+        config = new LoadBalancerConfig();
+        config.setStrategy(LoadBalanceStrategyEnum.ROUND_ROBIN);
+        config.setConsecutiveFailures(3);
+    }
+
+    @Test
+    void rewritesLogicalHostOnly() throws IOException {
+        LoadBalancingTransport transport = transport();
+        call(transport, GATEWAY + "/api/name?x=1");
+        call(transport, GATEWAY + "?x=1");
+        // 前缀相同但不是同一个地址，原样转发
+        call(transport, GATEWAY + "-other/api");
+        call(transport, "http://elsewhere/api");
+
+        assertEquals(Arrays.asList("http://node-a/api/name?x=1", "http://node-b?x=1",
+                "http://gateway-other/api", "http://elsewhere/api"), routed);
+    }
+
+    @Test
+    void ejectsEndpointAfterConsecutiveFailures() throws IOException {
+        failing.add("http://node-c");
+        LoadBalancingTransport transport = transport();
+        for (int i = 0; i < 30; i++) {
+            call(transport, GATEWAY + "/api");
+        }
+        Endpoint c = transport.getEndpoints().get(2);
+        assertTrue(c.isEjected());
+        assertEquals(3, c.getRequests());
+        assertEquals(3, c.getFailures());
+        for (Endpoint endpoint : transport.getEndpoints()) {
+            assertEquals(0, endpoint.getOutstanding());
+        }
+        assertFalse(transport.getEndpoints().get(0).isEjected());
+        assertEquals(27, transport.getEndpoints().get(0).getRequests() + transport.getEndpoints().get(1).getRequests());
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() throws IOException {
+        config.setStrategy(LoadBalanceStrategyEnum.ROUND_ROBIN);
+        LoadBalancingTransport transport = new LoadBalancingTransport(stub, GATEWAY,
+                HOSTS.subList(0, 1), config, LoadBalancer.of(config.getStrategy()));
+        for (int i = 0; i < 10; i++) {
+            failing.add("http://node-a");
+            call(transport, GATEWAY + "/api");
+            call(transport, GATEWAY + "/api");
+            failing.clear();
+            call(transport, GATEWAY + "/api");
+        }
+        Endpoint a = transport.getEndpoints().get(0);
+        assertEquals(20, a.getFailures());
+        assertFalse(a.isEjected());
+    }
+
+    @Test
+    void networkErrorsCountAsFailuresButCancellationDoesNot() {
+        unreachable.add("http://node-a");
+        LoadBalancingTransport transport = new LoadBalancingTransport(stub, GATEWAY,
+                Arrays.asList("http://node-a", "http://node-b"), config, candidates -> candidates.get(0));
+
+        Deadline cancelled = Deadline.after(0);
+        cancelled.cancel();
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ConnectException.class, () -> transport.execute(request(GATEWAY + "/api", cancelled)));
+        }
+        Endpoint a = transport.getEndpoints().get(0);
+        assertEquals(0, a.getFailures());
+        assertFalse(a.isEjected());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ConnectException.class, () -> transport.execute(request(GATEWAY + "/api", null)));
+        }
+        assertEquals(3, a.getFailures());
+        assertTrue(a.isEjected());
+        assertEquals(0, a.getOutstanding());
+    }
+
+    @Test
+    void respectsMaxEjectionPercent() throws IOException {
+        failing.addAll(Arrays.asList("http://node-a", "http://node-b", "http://node-c"));
+        LoadBalancingTransport transport = transport();
+        for (int i = 0; i < 60; i++) {
+            call(transport, GATEWAY + "/api");
+        }
+        int ejected = 0;
+        for (Endpoint endpoint : transport.getEndpoints()) {
+            if (endpoint.isEjected()) {
+                ejected++;
+            }
+        }
+        // 3个节点的50%，最多同时摘除1个
+        assertEquals(1, ejected);
+    }
+
+    @Test
+    void allEndpointsEjectedFallsBackToAll() throws IOException {
+        config.setMaxEjectionPercent(100);
+        failing.addAll(Arrays.asList("http://node-a", "http://node-b", "http://node-c"));
+        LoadBalancingTransport transport = transport();
+        for (int i = 0; i < 9; i++) {
+            call(transport, GATEWAY + "/api");
+        }
+        for (Endpoint endpoint : transport.getEndpoints()) {
+            assertTrue(endpoint.isEjected());
+        }
+        // 没有可用节点时仍然在全部节点中选择，而不是拒绝请求
+        assertEquals(503, call(transport, GATEWAY + "/api"));
+    }
+
+    @Test
+    void probingRequiresProbePath() {
+        config.setProbeInterval(1_000);
+        assertThrows(IllegalArgumentException.class, () -> new LoadBalancingTransport(stub, HOSTS, config));
+    }
+
+    @Test
+    void outstandingIsReleasedOnClose() throws IOException {
+        LoadBalancingTransport transport = transport();
+        TransportResponse response = transport.execute(request(GATEWAY + "/api", null));
+        Endpoint a = transport.getEndpoints().get(0);
+        assertEquals(1, a.getOutstanding());
+        response.close();
+        response.close();
+        assertEquals(0, a.getOutstanding());
+    }
+
+    private LoadBalancingTransport transport() {
+        return new LoadBalancingTransport(stub, GATEWAY, HOSTS, config, LoadBalancer.of(config.getStrategy()));
+    }
+
+    private static int call(Transport transport, String url) throws IOException {
+        try (TransportResponse response = transport.execute(request(url, null))) {
+            return response.getStatus();
+        }
+    }
+
+    private static TransportRequest request(String url, Deadline deadline) {
+        TransportRequest request = new TransportRequest(RequestMethodEnum.GET, url, new HashMap<>(), null);
+        request.setDeadline(deadline);
+        return request;
+    }
+
+    private static class StubResponse implements TransportResponse {
+        private final int status;
+
+        StubResponse(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ylx.apiclientsdk.logging;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.exception.ErrorCode;
+import com.ylx.apiclientsdk.metrics.RequestEvent;
+import com.ylx.apiclientsdk.model.enums.RequestErrorTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AccessLogListener的日志格式与脱敏
+ *
+ * @author ylx
+ */
+class AccessLogListenerTest {
+    private static final String ACCESS_KEY = "ak-1234567890";
+
+    @Test
+    void redactsAccessKey() {
+        assertEquals("ak-1****", AccessLogListener.redact(ACCESS_KEY));
+        assertEquals("****", AccessLogListener.redact("abc"));
+    }
+
+    @Test
+    void failedEventHasCodeAndSanitizedMessage() {
+        RequestEvent event = new RequestEvent("/ipInfo", "GET");
+        event.setAccessKey(ACCESS_KEY);
+        event.setErrorType(RequestErrorTypeEnum.NETWORK);
+        event.setError(new ApiException(ErrorCode.OPERATION_ERROR,
+                "accessKey " + ACCESS_KEY + " 请求http://gateway/ipInfo?ip=10.0.0.1&token=secret失败\n\"重试\""));
+        String line = AccessLogListener.format(new StringBuilder(), event, 0).toString();
+
+        assertTrue(line.contains(" outcome=network"), line);
+        assertTrue(line.contains(" ak=ak-1****"), line);
+        assertTrue(line.contains(" error_code=" + ErrorCode.OPERATION_ERROR.getCode()), line);
+        // 查询字符串一直省略到URL结束（空白或引号）
+        assertTrue(line.endsWith(" error=\"accessKey ak-1**** 请求http://gateway/ipInfo?... '重试'\""), line);
+        assertFalse(line.contains(ACCESS_KEY), line);
+        assertFalse(line.contains("token=secret"), line);
+        assertFalse(line.contains("\n"), line);
+    }
+
+    @Test
+    void messageWithoutUrlIsKept() {
+        StringBuilder sb = new StringBuilder();
+        AccessLogListener.appendMessage(sb, "接口/ipInfo熔断中, 请稍后重试 (a=b?)", null);
+        assertEquals("接口/ipInfo熔断中, 请稍后重试 (a=b?)", sb.toString());
+    }
+
+    @Test
+    void queryIsDroppedUntilTheEndOfTheUrl() {
+        StringBuilder sb = new StringBuilder();
+        AccessLogListener.appendMessage(sb, "GET https://h/p?x=1&y=2 returned 500", null);
+        assertEquals("GET https://h/p?... returned 500", sb.toString());
+    }
+}
@@ -0,0 +1,103 @@
+package com.ylx.apiclientsdk.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 编译期检查：BaseRequest的非抽象子类必须标注@ApiRequest或覆盖getMethod/getPath
+ *
+ * @author ylx
+ */
+class ApiRequestProcessorTest {
+    private static final String HEADER = "package demo;\n"
+            + "import com.ylx.apiclientsdk.annotation.ApiRequest;\n"
+            + "import com.ylx.apiclientsdk.model.request.BaseRequest;\n"
+            + "import com.ylx.apiclientsdk.model.response.ResultResponse;\n";
+    private static final String RESPONSE_CLASS =
+            "public Class<ResultResponse> getResponseClass() { return ResultResponse.class; }\n";
+
+    @TempDir
+    Path out;
+
+    @Test
+    void annotatedRequestCompiles() {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("Annotated", HEADER
+                + "@ApiRequest(path = \"/a\")\n"
+                + "public class Annotated extends BaseRequest<Object, ResultResponse> {\n" + RESPONSE_CLASS + "}\n");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    @Test
+    void requestOverridingRouteCompiles() {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("Overriding", HEADER
+                + "public class Overriding extends BaseRequest<Object, ResultResponse> {\n" + RESPONSE_CLASS
+                + "public String getMethod() { return \"GET\"; }\n"
+                + "public String getPath() { return \"/a\"; }\n}\n");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    @Test
+    void abstractRequestCompiles() {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("Base", HEADER
+                + "public abstract class Base extends BaseRequest<Object, ResultResponse> {\n" + RESPONSE_CLASS + "}\n");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+    }
+
+    @Test
+    void requestWithoutRouteIsRejected() {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("Missing", HEADER
+                + "public class Missing extends BaseRequest<Object, ResultResponse> {\n" + RESPONSE_CLASS
+                + "public String getPath() { return \"/a\"; }\n"
+                + "public static class Nested extends BaseRequest<Object, ResultResponse> {\n" + RESPONSE_CLASS + "}\n}\n");
+
+        // 只覆盖了getPath的外部类和未标注的成员类都报错
+        assertEquals(2, errors.size(), errors.toString());
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///demo/" + className + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"),
+                "-d", out.toString(), "-proc:only");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    Collections.singletonList(file));
+            task.setProcessors(Collections.singletonList(new ApiRequestProcessor()));
+            task.call();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>(diagnostics.getDiagnostics());
+        errors.removeIf(d -> d.getKind() != Diagnostic.Kind.ERROR);
+        return errors;
+    }
+}
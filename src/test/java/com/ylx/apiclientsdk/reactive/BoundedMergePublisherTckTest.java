@@ -0,0 +1,93 @@
+package com.ylx.apiclientsdk.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.example.unicast.AsyncIterablePublisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 用Reactive Streams规范测试（TCK）验证BoundedMergePublisher
+ *
+ * 上游使用规范示例中的异步Publisher，奇数元素的调用在线程池中异步完成，偶数元素同步完成，
+ * 覆盖结果在request调用栈内和其他线程中发出两种情况
+ *
+ * @author ylx
+ */
+public class BoundedMergePublisherTckTest extends PublisherVerification<Long> {
+    private static final long DEFAULT_TIMEOUT_MILLIS = 300;
+    private static final long GC_TIMEOUT_MILLIS = 1_000;
+
+    private ExecutorService executor;
+
+    public BoundedMergePublisherTckTest() {
+        super(new TestEnvironment(DEFAULT_TIMEOUT_MILLIS), GC_TIMEOUT_MILLIS);
+    }
+
+    @BeforeClass
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return new BoundedMergePublisher<Long, Long>(new AsyncIterablePublisher<>(() -> range(elements), executor),
+                this::call, 4);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        Publisher<Long> failing = subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new RuntimeException("上游失败"));
+        };
+        return new BoundedMergePublisher<Long, Long>(failing, this::call, 4);
+    }
+
+    private CompletableFuture<Long> call(Long value) {
+        if ((value & 1) == 0) {
+            return CompletableFuture.completedFuture(value);
+        }
+        return CompletableFuture.supplyAsync(() -> value, executor);
+    }
+
+    private static Iterator<Long> range(long elements) {
+        return new Iterator<Long>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements;
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+}
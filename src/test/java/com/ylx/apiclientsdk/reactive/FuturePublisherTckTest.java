@@ -0,0 +1,59 @@
+package com.ylx.apiclientsdk.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 用Reactive Streams规范测试（TCK）验证FuturePublisher
+ *
+ * FuturePublisher最多发出一个元素；它是冷发布，第一次request之前不发起调用，
+ * 因此没有“订阅后不请求也立即失败”的Publisher，createFailedPublisher返回null跳过相应的用例
+ *
+ * @author ylx
+ */
+public class FuturePublisherTckTest extends PublisherVerification<Integer> {
+    private static final long DEFAULT_TIMEOUT_MILLIS = 300;
+    private static final long GC_TIMEOUT_MILLIS = 1_000;
+
+    private ExecutorService executor;
+
+    public FuturePublisherTckTest() {
+        super(new TestEnvironment(DEFAULT_TIMEOUT_MILLIS), GC_TIMEOUT_MILLIS);
+    }
+
+    @BeforeClass
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterClass
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Publisher<Integer> createPublisher(long elements) {
+        if (elements == 0) {
+            // 结果为null时只发出onComplete
+            return new FuturePublisher<Integer>(() -> CompletableFuture.completedFuture(null));
+        }
+        return new FuturePublisher<>(() -> CompletableFuture.supplyAsync(() -> 42, executor));
+    }
+
+    @Override
+    public Publisher<Integer> createFailedPublisher() {
+        return null;
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1;
+    }
+}
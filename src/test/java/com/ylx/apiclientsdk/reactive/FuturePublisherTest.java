@@ -0,0 +1,118 @@
+package com.ylx.apiclientsdk.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FuturePublisher中规范测试覆盖不到的单元素行为：冷发布、取消与错误传递
+ *
+ * @author ylx
+ */
+class FuturePublisherTest {
+
+    @Test
+    void callStartsOnFirstRequestOnly() {
+        AtomicInteger calls = new AtomicInteger();
+        FuturePublisher<String> publisher = new FuturePublisher<>(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder);
+        assertEquals(0, calls.get());
+
+        recorder.subscription.request(1);
+        recorder.subscription.request(1);
+        assertEquals(1, calls.get());
+        assertEquals("[onNext:ok, onComplete]", recorder.signals.toString());
+    }
+
+    @Test
+    void cancelAfterRequestCancelsTheFuture() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Recorder recorder = new Recorder();
+        new FuturePublisher<>(() -> future).subscribe(recorder);
+        recorder.subscription.request(1);
+        recorder.subscription.cancel();
+
+        assertTrue(future.isCancelled());
+        assertTrue(recorder.signals.isEmpty());
+    }
+
+    @Test
+    void cancelInsideCallCancelsTheReturnedFuture() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Recorder recorder = new Recorder();
+        // 取消与第一次request并发：call返回之前订阅已被取消
+        new FuturePublisher<>(() -> {
+            recorder.subscription.cancel();
+            return future;
+        }).subscribe(recorder);
+        recorder.subscription.request(1);
+
+        assertTrue(future.isCancelled());
+        assertTrue(recorder.signals.isEmpty());
+    }
+
+    @Test
+    void failureIsUnwrapped() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Recorder recorder = new Recorder();
+        new FuturePublisher<>(() -> future.thenApply(String::trim)).subscribe(recorder);
+        recorder.subscription.request(1);
+        future.completeExceptionally(new IOException("gateway down"));
+
+        assertEquals("[onError:java.io.IOException: gateway down]", recorder.signals.toString());
+    }
+
+    @Test
+    void nonPositiveRequestSignalsError() {
+        AtomicInteger calls = new AtomicInteger();
+        Recorder recorder = new Recorder();
+        new FuturePublisher<>(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        }).subscribe(recorder);
+        recorder.subscription.request(0);
+        recorder.subscription.request(1);
+
+        assertEquals(0, calls.get());
+        assertEquals(1, recorder.signals.size());
+        assertTrue(recorder.signals.get(0).startsWith("onError:java.lang.IllegalArgumentException"));
+    }
+
+    private static class Recorder implements Subscriber<String> {
+        private final List<String> signals = new ArrayList<>();
+        private volatile Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(String value) {
+            signals.add("onNext:" + value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            signals.add("onError:" + t);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("onComplete");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ylx.apiclientsdk.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AdaptiveLimiter的并发上限与AIMD调整
+ *
+ * @author ylx
+ */
+class AdaptiveLimiterTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private RouteGuardConfig config;
+    private AdaptiveLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        config = new RouteGuardConfig();
+        config.setInitialLimit(4);
+        config.setMinLimit(2);
+        config.setMaxLimit(5);
+        config.setBackoffRatio(0.5);
+        config.setLatencyTolerance(2.0);
+        limiter = new AdaptiveLimiter(config);
+    }
+
+    @Test
+    void rejectsBeyondLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.release(RTT, false);
+        assertEquals(3, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void dropShrinksLimitDownToMinimum() {
+        limiter.tryAcquire();
+        limiter.release(RTT, true);
+        assertEquals(2.0, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(RTT, true);
+        assertEquals(2.0, limiter.getLimit());
+    }
+
+    @Test
+    void slowResponseCountsAsCongestion() {
+        limiter.tryAcquire();
+        limiter.release(RTT, false);
+        // 耗时超过长期平均耗时的两倍
+        limiter.tryAcquire();
+        limiter.release(RTT * 3, false);
+        assertEquals(2.0, limiter.getLimit());
+    }
+
+    @Test
+    void growsOnlyWhenUtilizedAndNotBeyondMaximum() {
+        // 只有1个请求在进行，远低于上限，不增长
+        limiter.tryAcquire();
+        limiter.release(RTT, false);
+        assertEquals(4.0, limiter.getLimit());
+
+        // 并发达到上限的一半以上时每次成功加1/limit
+        for (int round = 0; round < 50; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(RTT, false);
+            }
+        }
+        assertEquals(5.0, limiter.getLimit());
+    }
+
+    @Test
+    void concurrentAcquireNeverExceedsLimit() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger maxSeen = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limiter.tryAcquire()) {
+                            maxSeen.accumulateAndGet(limiter.getInFlight(), Math::max);
+                            limiter.release(RTT, false);
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(maxSeen.get() <= config.getMaxLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,139 @@
+package com.ylx.apiclientsdk.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CircuitBreaker的状态转换与半开试探名额
+ *
+ * @author ylx
+ */
+class CircuitBreakerTest {
+    private static final long OPEN_DURATION = 50;
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        RouteGuardConfig config = new RouteGuardConfig();
+        config.setBreakerMinimumCalls(4);
+        config.setBreakerFailureRate(0.5);
+        config.setBreakerWindow(60_000);
+        config.setBreakerOpenDuration(OPEN_DURATION);
+        config.setBreakerHalfOpenCalls(2);
+        breaker = new CircuitBreaker(config);
+    }
+
+    @Test
+    void opensWhenFailureRateReached() {
+        breaker.onSuccess(breaker.acquire());
+        breaker.onSuccess(breaker.acquire());
+        breaker.onFailure(breaker.acquire());
+        assertEquals(CircuitBreaker.CLOSED, breaker.getState());
+
+        breaker.onFailure(breaker.acquire());
+        assertEquals(CircuitBreaker.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+    }
+
+    @Test
+    void closesAfterAllTrialsSucceed() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_DURATION + 10);
+
+        int first = breaker.acquire();
+        int second = breaker.acquire();
+        assertTrue(first > 0);
+        assertEquals(first, second);
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+        // 试探名额用完后拒绝
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+
+        breaker.onSuccess(first);
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.CLOSED, breaker.getState());
+        assertEquals(CircuitBreaker.NO_TRIAL, breaker.acquire());
+    }
+
+    @Test
+    void reopensWhenTrialFails() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_DURATION + 10);
+
+        int trial = breaker.acquire();
+        breaker.onFailure(trial);
+        assertEquals(CircuitBreaker.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.acquire());
+    }
+
+    @Test
+    void releasedPermitCanBeAcquiredAgain() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_DURATION + 10);
+
+        // 被并发限制拒绝的试探请求归还名额，不会让熔断器一直停留在半开状态
+        for (int i = 0; i < 10; i++) {
+            int trial = breaker.acquire();
+            assertTrue(trial > 0);
+            breaker.release(trial);
+        }
+        int first = breaker.acquire();
+        int second = breaker.acquire();
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void requestsAdmittedWhileClosedAreNotTrials() throws InterruptedException {
+        int admittedWhileClosed = breaker.acquire();
+        assertEquals(CircuitBreaker.NO_TRIAL, admittedWhileClosed);
+        trip();
+        Thread.sleep(OPEN_DURATION + 10);
+        int trial = breaker.acquire();
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+
+        // 关闭状态下放行的慢请求在半开期间成功返回，不计为试探成功
+        breaker.onSuccess(admittedWhileClosed);
+        breaker.onSuccess(admittedWhileClosed);
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+        // 同样也不会把半开状态重新打开
+        breaker.onFailure(admittedWhileClosed);
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(trial);
+        breaker.onSuccess(breaker.acquire());
+        assertEquals(CircuitBreaker.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void staleTrialsFromEarlierRoundAreIgnored() throws InterruptedException {
+        trip();
+        Thread.sleep(OPEN_DURATION + 10);
+        int stale = breaker.acquire();
+        breaker.onFailure(breaker.acquire());
+        assertEquals(CircuitBreaker.OPEN, breaker.getState());
+
+        Thread.sleep(OPEN_DURATION + 10);
+        int trial = breaker.acquire();
+        assertTrue(trial > stale);
+        // 上一轮的试探结果迟到，不计入本轮
+        breaker.onSuccess(stale);
+        breaker.release(stale);
+        breaker.onSuccess(trial);
+        assertEquals(CircuitBreaker.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(breaker.acquire());
+        assertEquals(CircuitBreaker.CLOSED, breaker.getState());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.acquire());
+        }
+        assertEquals(CircuitBreaker.OPEN, breaker.getState());
+    }
+}
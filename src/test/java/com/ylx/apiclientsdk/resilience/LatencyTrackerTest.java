@@ -0,0 +1,53 @@
+package com.ylx.apiclientsdk.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * LatencyTracker的分位数计算
+ *
+ * @author ylx
+ */
+class LatencyTrackerTest {
+
+    @Test
+    void percentileUnavailableUntilFirstBatch() {
+        LatencyTracker tracker = new LatencyTracker(0.9);
+        for (int i = 0; i < 63; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.getPercentile());
+        tracker.record(63);
+        // 0..63中的p90
+        assertEquals(57, tracker.getPercentile());
+    }
+
+    @Test
+    void keepsOnlyRecentSamples() {
+        LatencyTracker tracker = new LatencyTracker(0.5);
+        for (int i = 0; i < 256; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < 256; i++) {
+            tracker.record(10);
+        }
+        assertEquals(10, tracker.getPercentile());
+    }
+
+    @Test
+    void survivesCounterBeyondIntRange() throws ReflectiveOperationException {
+        LatencyTracker tracker = new LatencyTracker(0.5);
+        Field count = LatencyTracker.class.getDeclaredField("count");
+        count.setAccessible(true);
+        // 模拟长时间运行后记录次数超过int范围
+        ((AtomicLong) count.get(tracker)).set(Integer.MAX_VALUE - 10L);
+        for (int i = 0; i < 256; i++) {
+            tracker.record(5);
+        }
+        assertEquals(5, tracker.getPercentile());
+    }
+}
@@ -0,0 +1,98 @@
+package com.ylx.apiclientsdk.resilience;
+
+import com.ylx.apiclientsdk.async.ApiExecutors;
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.exception.ErrorCode;
+import com.ylx.apiclientsdk.model.enums.RateLimitModeEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * QuotaLimiter按accessKey隔离配额、两种超限模式以及等待时的截止时间和取消
+ *
+ * @author ylx
+ */
+class QuotaLimiterTest {
+
+    @Test
+    void failFastRejectsBeyondBurstPerAccessKey() throws ApiException {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRate(1);
+        config.setBurst(2);
+        config.setMode(RateLimitModeEnum.FAIL_FAST);
+        QuotaLimiter limiter = new QuotaLimiter(config);
+
+        limiter.acquire("a");
+        limiter.acquire("a");
+        ApiException e = assertThrows(ApiException.class, () -> limiter.acquire("a"));
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS_ERROR.getCode(), e.getCode());
+        // 其他accessKey的配额不受影响
+        limiter.acquire("b");
+    }
+
+    @Test
+    void waitModeBlocksUntilTokenIsAvailable() throws ApiException {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRate(20);
+        config.setBurst(1);
+        config.setMode(RateLimitModeEnum.WAIT);
+        config.setMaxWait(1_000);
+        QuotaLimiter limiter = new QuotaLimiter(config);
+
+        limiter.acquire("a");
+        long start = System.nanoTime();
+        limiter.acquire("a");
+        assertTrue(System.nanoTime() - start >= 40_000_000L);
+    }
+
+    @Test
+    void waitModeRejectsBeyondMaxWait() throws ApiException {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRate(1);
+        config.setBurst(1);
+        config.setMode(RateLimitModeEnum.WAIT);
+        config.setMaxWait(100);
+        QuotaLimiter limiter = new QuotaLimiter(config);
+
+        limiter.acquire("a");
+        assertThrows(ApiException.class, () -> limiter.acquire("a"));
+    }
+
+    @Test
+    void waitBeyondDeadlineFailsWithoutWaiting() throws ApiException {
+        QuotaLimiter limiter = new QuotaLimiter(waitConfig());
+        limiter.acquire("a");
+        long start = System.nanoTime();
+        ApiException e = assertThrows(ApiException.class, () -> limiter.acquire("a", Deadline.after(50)));
+        assertEquals(ErrorCode.TIMEOUT_ERROR.getCode(), e.getCode());
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+    }
+
+    @Test
+    void cancelWakesUpWaitingCaller() throws ApiException {
+        QuotaLimiter limiter = new QuotaLimiter(waitConfig());
+        limiter.acquire("a");
+        Deadline deadline = Deadline.after(10_000);
+        ApiExecutors.scheduler().schedule(deadline::cancel, 50, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        ApiException e = assertThrows(ApiException.class, () -> limiter.acquire("a", deadline));
+        assertEquals(ErrorCode.OPERATION_ERROR.getCode(), e.getCode());
+        // 配额要等待约1秒，取消后立即返回
+        assertTrue(System.nanoTime() - start < 500_000_000L);
+    }
+
+    private static RateLimitConfig waitConfig() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRate(1);
+        config.setBurst(1);
+        config.setMode(RateLimitModeEnum.WAIT);
+        config.setMaxWait(5_000);
+        return config;
+    }
+}
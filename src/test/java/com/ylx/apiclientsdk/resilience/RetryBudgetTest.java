@@ -0,0 +1,52 @@
+package com.ylx.apiclientsdk.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RetryBudget的存入与取出
+ *
+ * @author ylx
+ */
+class RetryBudgetTest {
+
+    @Test
+    void startsWithOneSecondOfMinimumRetries() {
+        RetryBudget budget = new RetryBudget(0, 3);
+        // 初始额度为minPerSecond，同一秒内的补充最多再加一次
+        int granted = 0;
+        while (budget.tryAcquire()) {
+            granted++;
+        }
+        assertTrue(granted >= 3 && granted <= 6, "granted=" + granted);
+    }
+
+    @Test
+    void depositsRatioPerRequest() {
+        RetryBudget budget = new RetryBudget(0.5, 0);
+        assertFalse(budget.tryAcquire());
+
+        budget.onRequest();
+        assertFalse(budget.tryAcquire());
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void balanceIsCapped() {
+        RetryBudget budget = new RetryBudget(1, 0);
+        for (int i = 0; i < 5000; i++) {
+            budget.onRequest();
+        }
+        int granted = 0;
+        while (budget.tryAcquire()) {
+            granted++;
+        }
+        // 最多积累1000个请求的存入额度
+        assertEquals(1000, granted);
+    }
+}
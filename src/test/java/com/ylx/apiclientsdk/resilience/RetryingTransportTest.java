@@ -0,0 +1,182 @@
+package com.ylx.apiclientsdk.resilience;
+
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.transport.Deadline;
+import com.ylx.apiclientsdk.transport.TransportRequest;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RetryingTransport对可重试状态码、Retry-After和对冲请求的处理
+ *
+ * @author ylx
+ */
+class RetryingTransportTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private RetryConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new RetryConfig();
+        config.setEnabled(true);
+        config.setMaxAttempts(3);
+        config.setInitialBackoff(1);
+        config.setMaxBackoff(1_000);
+        config.setJitter(0);
+    }
+
+    @Test
+    void retriesRetryableStatusUntilMaxAttempts() throws Exception {
+        RetryingTransport transport = new RetryingTransport(request -> response(503, null), config);
+        try (TransportResponse response = transport.execute(get(null))) {
+            assertEquals(503, response.getStatus());
+        }
+        assertEquals(3, calls.get());
+        // 被重试替代的响应都已关闭
+        assertEquals(3, closed.get());
+    }
+
+    @Test
+    void doesNotRetryPost() throws Exception {
+        RetryingTransport transport = new RetryingTransport(request -> response(503, null), config);
+        TransportRequest post = new TransportRequest(RequestMethodEnum.POST, "http://gateway/api", new HashMap<>(), new byte[0]);
+        transport.execute(post).close();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void returnsResponseWhenRetryAfterExceedsMaxBackoff() throws Exception {
+        RetryingTransport transport = new RetryingTransport(request -> response(503, "5"), config);
+        long start = System.nanoTime();
+        transport.execute(get(null)).close();
+        assertEquals(1, calls.get());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    void returnsResponseWhenRetryAfterExceedsDeadline() throws Exception {
+        config.setMaxBackoff(5_000);
+        RetryingTransport transport = new RetryingTransport(request -> response(503, "2"), config);
+        transport.execute(get(Deadline.after(500))).close();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitsForRetryAfterWithinLimits() throws Exception {
+        config.setMaxAttempts(2);
+        RetryingTransport transport = new RetryingTransport(
+                request -> calls.get() == 0 ? response(503, "1") : response(200, null), config);
+        long start = System.nanoTime();
+        try (TransportResponse response = transport.execute(get(null))) {
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(2, calls.get());
+        assertTrue(System.nanoTime() - start >= 1_000_000_000L);
+    }
+
+    @Test
+    void hedgeWinsAndAbortsSlowFirstAttempt() throws Exception {
+        config.setHedgeEnabled(true);
+        config.setHedgeMinDelay(20);
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> firstThread = new AtomicReference<>();
+        AtomicBoolean firstAborted = new AtomicBoolean();
+        RetryingTransport transport = new RetryingTransport(request -> {
+            if (calls.get() > 0) {
+                return response(200, null);
+            }
+            calls.incrementAndGet();
+            firstThread.set(Thread.currentThread());
+            CountDownLatch aborted = new CountDownLatch(1);
+            request.getDeadline().onCancel(aborted::countDown);
+            try {
+                if (aborted.await(5, TimeUnit.SECONDS)) {
+                    firstAborted.set(true);
+                    throw new InterruptedIOException("请求已取消");
+                }
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return response(200, null);
+        }, config);
+        Deadline deadline = Deadline.after(10_000);
+        long start = System.nanoTime();
+        try (TransportResponse response = transport.execute(get(deadline))) {
+            assertEquals(200, response.getStatus());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        // 第一次请求在调用线程中发送，被胜出的对冲请求中止，调用方的截止时间不受影响
+        assertSame(caller, firstThread.get());
+        assertTrue(firstAborted.get());
+        assertFalse(deadline.isCancelled());
+        assertEquals(2, calls.get());
+        transport.close();
+    }
+
+    @Test
+    void noHedgeWhenBudgetExhausted() throws Exception {
+        config.setHedgeEnabled(true);
+        config.setHedgeMinDelay(10);
+        config.setBudgetRatio(0);
+        config.setMinRetriesPerSecond(0);
+        RetryingTransport transport = new RetryingTransport(request -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return response(200, null);
+        }, config);
+        transport.execute(get(null)).close();
+        assertEquals(1, calls.get());
+        transport.close();
+    }
+
+    private static TransportRequest get(Deadline deadline) {
+        TransportRequest request = new TransportRequest(RequestMethodEnum.GET, "http://gateway/api", new HashMap<>(), null);
+        request.setDeadline(deadline);
+        return request;
+    }
+
+    private TransportResponse response(int status, String retryAfter) {
+        calls.incrementAndGet();
+        return new TransportResponse() {
+            @Override
+            public int getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return "Retry-After".equals(name) ? retryAfter : null;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.ylx.apiclientsdk.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TokenBucket的突发额度、预约等待与并发领取
+ *
+ * @author ylx
+ */
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstIsAvailableImmediately() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.reserve(0));
+        }
+        assertEquals(-1, bucket.reserve(0));
+    }
+
+    @Test
+    void reservationWaitsOneIntervalPerToken() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertEquals(0, bucket.reserve(0));
+
+        long wait = bucket.reserve(10 * SECOND);
+        assertTrue(wait > SECOND / 2 && wait <= SECOND, "wait=" + wait);
+        long next = bucket.reserve(10 * SECOND);
+        assertTrue(next > SECOND && next <= 2 * SECOND, "next=" + next);
+    }
+
+    @Test
+    void rejectedReservationDoesNotConsumeToken() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        bucket.reserve(0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(-1, bucket.reserve(SECOND / 2));
+        }
+        // 被拒绝的预约没有把理论到达时间向后推
+        long wait = bucket.reserve(10 * SECOND);
+        assertTrue(wait <= SECOND, "wait=" + wait);
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.reserve(0) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100, granted.get());
+    }
+}
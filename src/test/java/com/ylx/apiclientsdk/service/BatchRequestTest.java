@@ -0,0 +1,115 @@
+package com.ylx.apiclientsdk.service;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.model.request.BatchOptions;
+import com.ylx.apiclientsdk.model.request.IpInfoRequest;
+import com.ylx.apiclientsdk.model.response.BatchResult;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import com.ylx.apiclientsdk.service.impl.ApiServiceImpl;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 批量请求在线程池被占满时仍能完成，以及按指定ApiClient的凭证发送
+ *
+ * @author ylx
+ */
+class BatchRequestTest {
+    private final Set<String> accessKeys = ConcurrentHashMap.newKeySet();
+    private ExecutorService pool;
+    private ApiServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newSingleThreadExecutor();
+        service = new ApiServiceImpl();
+        service.setApiClient(new ApiClient("default-ak", "default-sk"));
+        service.setGatewayHost("http://gateway");
+        service.setExecutor(pool);
+        service.setTransport(request -> {
+            accessKeys.add(request.getHeaders().get("accessKey"));
+            return ok("{\"ip\":\"127.0.0.1\"}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void batchFromInsideTheOnlyPoolThreadCompletes() throws Exception {
+        // 唯一的线程池线程自己发起批量请求，提交的工作任务无法开始，只能由调用线程完成
+        Future<List<BatchResult<ResultResponse>>> nested = pool.submit(
+                () -> service.requestBatch(requests(5), new BatchOptions().setConcurrency(4)));
+        List<BatchResult<ResultResponse>> results = nested.get(10, TimeUnit.SECONDS);
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertNull(results.get(i).getError());
+            assertEquals("127.0.0.1", results.get(i).getResponse().getData().get("ip"));
+        }
+    }
+
+    @Test
+    void batchWithClientUsesItsCredential() {
+        List<BatchResult<ResultResponse>> results = service.requestBatchWithClient(
+                new ApiClient("tenant-ak", "tenant-sk"), requests(3), null);
+        for (BatchResult<ResultResponse> result : results) {
+            assertNull(result.getError());
+        }
+        assertEquals(1, accessKeys.size());
+        assertEquals("tenant-ak", accessKeys.iterator().next());
+    }
+
+    private static List<IpInfoRequest> requests(int count) {
+        List<IpInfoRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            IpInfoRequest request = new IpInfoRequest();
+            request.setIp("10.0.0." + i);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static TransportResponse ok(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new TransportResponse() {
+            @Override
+            public int getStatus() {
+                return 200;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return "Content-Type".equalsIgnoreCase(name) ? "application/json" : null;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
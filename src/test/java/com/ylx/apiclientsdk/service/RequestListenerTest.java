@@ -0,0 +1,67 @@
+package com.ylx.apiclientsdk.service;
+
+import com.ylx.apiclientsdk.client.ApiClient;
+import com.ylx.apiclientsdk.metrics.RequestEvent;
+import com.ylx.apiclientsdk.model.request.CurrencyRequest;
+import com.ylx.apiclientsdk.service.impl.ApiServiceImpl;
+import com.ylx.apiclientsdk.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 请求事件中的路径和方法取自解析后的路由
+ *
+ * @author ylx
+ */
+class RequestListenerTest {
+
+    @Test
+    void eventUsesResolvedRoute() throws Exception {
+        List<RequestEvent> events = new ArrayList<>();
+        ApiServiceImpl service = new ApiServiceImpl();
+        service.setApiClient(new ApiClient("ak", "sk"));
+        service.setGatewayHost("http://gateway");
+        service.setRequestListener(events::add);
+        service.setTransport(request -> ok("{}"));
+        CurrencyRequest request = new CurrencyRequest();
+        request.setMethod(" post ");
+        request.setPath(" /currency/rate ");
+
+        service.request(request);
+
+        assertEquals(1, events.size());
+        assertEquals("/currency/rate", events.get(0).getPath());
+        assertEquals("POST", events.get(0).getMethod());
+    }
+
+    private static TransportResponse ok(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new TransportResponse() {
+            @Override
+            public int getStatus() {
+                return 200;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return "Content-Type".equalsIgnoreCase(name) ? "application/json" : null;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.ylx.apiclientsdk.service;
+
+import com.ylx.apiclientsdk.exception.ApiException;
+import com.ylx.apiclientsdk.exception.ErrorCode;
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import com.ylx.apiclientsdk.model.request.BaseRequest;
+import com.ylx.apiclientsdk.model.request.IpInfoRequest;
+import com.ylx.apiclientsdk.model.response.ResultResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 路由解析：读取@ApiRequest，以及没有路由信息的请求类返回ApiException
+ *
+ * @author ylx
+ */
+class RouteTableTest {
+
+    @Test
+    void resolvesAnnotatedRequest() throws Exception {
+        RouteTable.Route route = new RouteTable("http://gateway/").resolve(new IpInfoRequest());
+
+        assertEquals(RequestMethodEnum.GET, route.getMethod());
+        assertEquals("/ipInfo", route.getPath());
+        assertEquals("http://gateway/ipInfo", route.getUrl());
+    }
+
+    @Test
+    void requestWithoutRouteFailsWithApiException() {
+        // 匿名类不经过编译期检查
+        BaseRequest<Object, ResultResponse> request = new BaseRequest<Object, ResultResponse>() {
+            @Override
+            public Class<ResultResponse> getResponseClass() {
+                return ResultResponse.class;
+            }
+        };
+
+        ApiException e = assertThrows(ApiException.class, () -> new RouteTable("http://gateway").resolve(request));
+        assertEquals(ErrorCode.OPERATION_ERROR.getCode(), e.getCode());
+    }
+}
@@ -0,0 +1,129 @@
+package com.ylx.apiclientsdk.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deadline的剩余时间、超时收紧与取消信号
+ *
+ * @author ylx
+ */
+class DeadlineTest {
+
+    @Test
+    void noLimitNeverExpires() {
+        Deadline deadline = Deadline.after(0);
+        assertFalse(deadline.hasLimit());
+        assertFalse(deadline.isExpired());
+        assertEquals(Long.MAX_VALUE, deadline.remainingNanos());
+        assertEquals(Long.MAX_VALUE, deadline.remainingMillis());
+        assertEquals(0, deadline.clamp(0));
+        assertEquals(3000, deadline.clamp(3000));
+    }
+
+    @Test
+    void remainingTimeShrinksAndExpires() throws InterruptedException {
+        Deadline deadline = Deadline.after(30);
+        assertTrue(deadline.hasLimit());
+        assertTrue(deadline.remainingMillis() <= 30 && deadline.remainingMillis() > 0);
+        Thread.sleep(40);
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingMillis());
+        // 到期后超时时间至少为1，交给套接字立即超时，而不是0（不限制）
+        assertEquals(1, deadline.clamp(3000));
+        assertEquals(1, deadline.clamp(0));
+    }
+
+    @Test
+    void clampUsesTheShorterTimeout() {
+        Deadline deadline = Deadline.after(60_000);
+        assertEquals(500, deadline.clamp(500));
+        int clamped = deadline.clamp(120_000);
+        assertTrue(clamped <= 60_000 && clamped > 59_000);
+        assertEquals(clamped, deadline.clamp(0), 1000);
+    }
+
+    @Test
+    void cancelRunsRegisteredHooks() {
+        Deadline deadline = Deadline.after(0);
+        AtomicInteger aborted = new AtomicInteger();
+        Runnable removed = aborted::incrementAndGet;
+        deadline.onCancel(aborted::incrementAndGet);
+        deadline.onCancel(() -> {
+            throw new IllegalStateException("中止失败不影响其他中止方法");
+        });
+        deadline.onCancel(removed);
+        deadline.removeCancelHook(removed);
+
+        deadline.cancel();
+        assertTrue(deadline.isCancelled());
+        assertEquals(1, aborted.get());
+
+        // 取消后登记的中止方法立即执行
+        deadline.onCancel(aborted::incrementAndGet);
+        assertEquals(2, aborted.get());
+    }
+
+    @Test
+    void explainMapsAbortReason() throws InterruptedException {
+        IOException failure = new ConnectException("socket closed");
+        assertSame(failure, Deadline.after(0).explain(failure));
+
+        Deadline cancelled = Deadline.after(0);
+        cancelled.cancel();
+        IOException interrupted = cancelled.explain(failure);
+        assertEquals(InterruptedIOException.class, interrupted.getClass());
+        assertSame(failure, interrupted.getCause());
+
+        Deadline expired = Deadline.after(1);
+        Thread.sleep(5);
+        IOException timeout = expired.explain(failure);
+        assertTrue(timeout instanceof SocketTimeoutException);
+        assertSame(failure, timeout.getCause());
+
+        // 已经是超时或中断异常时保持原样
+        SocketTimeoutException readTimeout = new SocketTimeoutException("Read timed out");
+        assertSame(readTimeout, expired.explain(readTimeout));
+    }
+
+    @Test
+    void watchAbortsAtExpiry() throws InterruptedException {
+        CountDownLatch aborted = new CountDownLatch(1);
+        Deadline deadline = Deadline.after(20);
+        try (Deadline.Watch ignored = deadline.watch(aborted::countDown)) {
+            assertTrue(aborted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void closedWatchNoLongerAborts() throws InterruptedException {
+        AtomicInteger aborted = new AtomicInteger();
+        Deadline deadline = Deadline.after(20);
+        deadline.watch(aborted::incrementAndGet).close();
+        deadline.cancel();
+        Thread.sleep(50);
+        assertEquals(0, aborted.get());
+    }
+
+    @Test
+    void watchAbortsOnCancel() {
+        AtomicInteger aborted = new AtomicInteger();
+        Deadline deadline = Deadline.after(0);
+        try (Deadline.Watch ignored = deadline.watch(aborted::incrementAndGet)) {
+            deadline.cancel();
+            assertEquals(1, aborted.get());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ylx.apiclientsdk.transport;
+
+import com.ylx.apiclientsdk.model.enums.RequestMethodEnum;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * HutoolTransport把hutool的运行时异常还原为IOException
+ *
+ * @author ylx
+ */
+class HutoolTransportTest {
+    private final HutoolTransport transport = new HutoolTransport();
+
+    @Test
+    void connectionRefusedIsConnectException() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        TransportRequest request = get("http://127.0.0.1:" + port + "/api");
+        request.setConnectTimeout(1_000);
+        assertThrows(ConnectException.class, () -> transport.execute(request));
+    }
+
+    @Test
+    void readTimeoutIsSocketTimeoutException() throws IOException {
+        // 只接受连接、不返回响应的服务端
+        try (ServerSocket server = new ServerSocket(0)) {
+            TransportRequest request = get("http://127.0.0.1:" + server.getLocalPort() + "/api");
+            request.setReadTimeout(100);
+            assertThrows(SocketTimeoutException.class, () -> transport.execute(request));
+
+            request.setDeadline(Deadline.after(100));
+            request.setReadTimeout(0);
+            assertThrows(SocketTimeoutException.class, () -> transport.execute(request));
+        }
+    }
+
+    private static TransportRequest get(String url) {
+        return new TransportRequest(RequestMethodEnum.GET, url, new HashMap<>(), null);
+    }
+}
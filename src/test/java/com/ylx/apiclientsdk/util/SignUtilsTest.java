@@ -0,0 +1,81 @@
+package com.ylx.apiclientsdk.util;
+
+import cn.hutool.crypto.SecureUtil;
+import com.ylx.apiclientsdk.client.Credential;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 基于凭证的签名和MD5摘要与原有实现结果一致
+ *
+ * @author ylx
+ */
+class SignUtilsTest {
+
+    @Test
+    void credentialSignMatchesLegacySign() {
+        List<String> bodies = Arrays.asList("", "abc", SecureUtil.md5("{\"ip\":\"127.0.0.1\"}"), longBody());
+        for (String secretKey : Arrays.asList("secret", "", "密钥-ü")) {
+            Credential credential = new Credential("ak", secretKey);
+            for (String body : bodies) {
+                assertEquals(SignUtils.genSign(body, secretKey), SignUtils.genSign(body, credential),
+                        "body长度" + body.length() + "，密钥" + secretKey);
+            }
+        }
+    }
+
+    @Test
+    void memoizedSignIsReturnedForTheSameBody() {
+        Credential credential = new Credential("ak", "secret");
+        String body = SecureUtil.md5("payload");
+        assertNull(credential.getMemoizedSign(body));
+
+        String first = SignUtils.genSign(body, credential);
+        String second = SignUtils.genSign(body, credential);
+
+        assertSame(first, second);
+        assertEquals(SignUtils.genSign(body, "secret"), second);
+        // 其他body不受记录的签名影响
+        String other = SecureUtil.md5("other");
+        assertEquals(SignUtils.genSign(other, "secret"), SignUtils.genSign(other, credential));
+    }
+
+    @Test
+    void memoIsPerCredential() {
+        String body = SecureUtil.md5("payload");
+        Credential a = new Credential("ak", "secret-a");
+        Credential b = new Credential("ak", "secret-b");
+
+        assertEquals(SignUtils.genSign(body, "secret-a"), SignUtils.genSign(body, a));
+        assertEquals(SignUtils.genSign(body, "secret-b"), SignUtils.genSign(body, b));
+        assertEquals(SignUtils.genSign(body, "secret-a"), SignUtils.genSign(body, a));
+    }
+
+    @Test
+    void md5HexMatchesHutool() {
+        List<byte[]> payloads = Arrays.asList(new byte[0], "abc".getBytes(StandardCharsets.UTF_8),
+                "{\"name\":\"张三\"}".getBytes(StandardCharsets.UTF_8), longBody().getBytes(StandardCharsets.UTF_8));
+        for (byte[] payload : payloads) {
+            assertEquals(SecureUtil.md5().digestHex(payload), SignUtils.md5Hex(payload));
+        }
+        byte[] random = new byte[10000];
+        new Random(42).nextBytes(random);
+        assertEquals(SecureUtil.md5().digestHex(random), SignUtils.md5Hex(random));
+    }
+
+    private static String longBody() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+}